@@ -3,6 +3,8 @@ package com.gmail.jorgegilcavazos.ballislife.dagger.component;
 import com.gmail.jorgegilcavazos.ballislife.dagger.module.AppModule;
 import com.gmail.jorgegilcavazos.ballislife.dagger.module.BindModule;
 import com.gmail.jorgegilcavazos.ballislife.dagger.module.DataModule;
+import com.gmail.jorgegilcavazos.ballislife.data.firebase.MyMessagingService;
+import com.gmail.jorgegilcavazos.ballislife.data.repository.submissions.SubmissionRepository;
 import com.gmail.jorgegilcavazos.ballislife.features.boxscore.BoxScoreFragment;
 import com.gmail.jorgegilcavazos.ballislife.features.games.GamesFragment;
 import com.gmail.jorgegilcavazos.ballislife.features.gamethread.GameThreadFragment;
@@ -46,4 +48,8 @@ public interface AppComponent {
     void inject(BoxScoreFragment boxScoreFragment);
 
     void inject(VideoPlayerActivity videoPlayerActivity);
+
+    void inject(MyMessagingService myMessagingService);
+
+    SubmissionRepository submissionRepository();
 }
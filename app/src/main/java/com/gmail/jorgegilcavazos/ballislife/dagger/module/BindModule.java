@@ -4,6 +4,10 @@ import com.gmail.jorgegilcavazos.ballislife.data.local.AppLocalRepository;
 import com.gmail.jorgegilcavazos.ballislife.data.local.LocalRepository;
 import com.gmail.jorgegilcavazos.ballislife.data.reddit.RedditAuthentication;
 import com.gmail.jorgegilcavazos.ballislife.data.reddit.RedditAuthenticationImpl;
+import com.gmail.jorgegilcavazos.ballislife.data.repository.gamethreads.GameThreadsRepository;
+import com.gmail.jorgegilcavazos.ballislife.data.repository.gamethreads.GameThreadsRepositoryImpl;
+import com.gmail.jorgegilcavazos.ballislife.data.repository.games.GamesDiskCache;
+import com.gmail.jorgegilcavazos.ballislife.data.repository.games.GamesDiskCacheImpl;
 import com.gmail.jorgegilcavazos.ballislife.data.repository.games.GamesRepository;
 import com.gmail.jorgegilcavazos.ballislife.data.repository.games.GamesRepositoryImpl;
 import com.gmail.jorgegilcavazos.ballislife.data.repository.highlights.HighlightsRepository;
@@ -12,6 +16,8 @@ import com.gmail.jorgegilcavazos.ballislife.data.repository.posts.PostsRepositor
 import com.gmail.jorgegilcavazos.ballislife.data.repository.posts.PostsRepositoryImpl;
 import com.gmail.jorgegilcavazos.ballislife.data.repository.profile.ProfileRepository;
 import com.gmail.jorgegilcavazos.ballislife.data.repository.profile.ProfileRepositoryImpl;
+import com.gmail.jorgegilcavazos.ballislife.data.repository.submissions.SubmissionDiskCache;
+import com.gmail.jorgegilcavazos.ballislife.data.repository.submissions.SubmissionDiskCacheImpl;
 import com.gmail.jorgegilcavazos.ballislife.data.repository.submissions.SubmissionRepository;
 import com.gmail.jorgegilcavazos.ballislife.data.repository.submissions.SubmissionRepositoryImpl;
 import com.gmail.jorgegilcavazos.ballislife.data.service.RedditService;
@@ -49,6 +55,9 @@ public abstract class BindModule {
     @Binds
     public abstract GamesRepository bindGamesRepository(GamesRepositoryImpl gamesRepositoryImpl);
 
+    @Binds
+    public abstract GamesDiskCache bindGamesDiskCache(GamesDiskCacheImpl gamesDiskCacheImpl);
+
     @Binds
     public abstract HighlightsRepository bindHighlightsRepository(
             HighlightsRepositoryImpl highlightsRepositoryImpl);
@@ -56,4 +65,12 @@ public abstract class BindModule {
     @Binds
     public abstract SubmissionRepository bindSubmissionRepository(
             SubmissionRepositoryImpl submissionRepositoryImpl);
+
+    @Binds
+    public abstract SubmissionDiskCache bindSubmissionDiskCache(
+            SubmissionDiskCacheImpl submissionDiskCacheImpl);
+
+    @Binds
+    public abstract GameThreadsRepository bindGameThreadsRepository(
+            GameThreadsRepositoryImpl gameThreadsRepositoryImpl);
 }
@@ -5,20 +5,40 @@ import android.content.SharedPreferences;
 import android.preference.PreferenceManager;
 
 import com.gmail.jorgegilcavazos.ballislife.BuildConfig;
+import com.gmail.jorgegilcavazos.ballislife.data.json.FirebaseTypeAdapterFactory;
 import com.gmail.jorgegilcavazos.ballislife.data.local.LocalSharedPreferences;
+import com.gmail.jorgegilcavazos.ballislife.data.repository.games.FinishedGames;
+import com.gmail.jorgegilcavazos.ballislife.data.service.CoalescingHighlightsService;
+import com.gmail.jorgegilcavazos.ballislife.data.service.CoalescingNbaGamesService;
+import com.gmail.jorgegilcavazos.ballislife.data.service.CoalescingRedditGameThreadsService;
+import com.gmail.jorgegilcavazos.ballislife.data.service.FirebaseCacheInterceptor;
 import com.gmail.jorgegilcavazos.ballislife.data.service.HighlightsService;
 import com.gmail.jorgegilcavazos.ballislife.data.service.NbaGamesService;
+import com.gmail.jorgegilcavazos.ballislife.data.service.NbaStandingsService;
+import com.gmail.jorgegilcavazos.ballislife.data.service.OfflineCacheInterceptor;
+import com.gmail.jorgegilcavazos.ballislife.data.service.RedditGameThreadsService;
+import com.gmail.jorgegilcavazos.ballislife.data.service.StreamableService;
 import com.gmail.jorgegilcavazos.ballislife.util.NetworkUtils;
 import com.gmail.jorgegilcavazos.ballislife.util.NetworkUtilsImpl;
+import com.gmail.jorgegilcavazos.ballislife.util.TimeToFirstByteInterceptor;
+import com.gmail.jorgegilcavazos.ballislife.util.schedulers.BaseSchedulerProvider;
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 import com.jakewharton.retrofit2.adapter.rxjava2.RxJava2CallAdapterFactory;
 
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
 import javax.inject.Named;
 import javax.inject.Singleton;
 
 import dagger.Module;
 import dagger.Provides;
 import io.reactivex.disposables.CompositeDisposable;
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
@@ -31,6 +51,18 @@ import static com.gmail.jorgegilcavazos.ballislife.data.reddit.RedditAuthenticat
 @Module
 public class DataModule {
 
+    private static final String STREAMABLE_BASE_URL = "https://api.streamable.com/";
+
+    // Firebase and streamable are the only hosts, a handful of idle connections covers both.
+    private static final int MAX_IDLE_CONNECTIONS = 4;
+    private static final long KEEP_ALIVE_MINUTES = 5;
+    private static final int MAX_REQUESTS = 16;
+    private static final int MAX_REQUESTS_PER_HOST = 6;
+    private static final long CONNECT_TIMEOUT_SECONDS = 15;
+    private static final long READ_TIMEOUT_SECONDS = 20;
+    private static final String HTTP_CACHE_DIR = "http";
+    private static final long HTTP_CACHE_SIZE = 10 * 1024 * 1024;
+
     String baseUrl;
 
     public DataModule(String baseUrl) {
@@ -40,29 +72,70 @@ public class DataModule {
     @Provides
     @Singleton
     Gson provideGson() {
-        return new Gson();
+        return new GsonBuilder()
+                .registerTypeAdapterFactory(new FirebaseTypeAdapterFactory())
+                .create();
     }
 
+    /**
+     * The one client used for every Retrofit service, so that all of them share its connection
+     * pool, dispatcher and TLS session cache instead of handshaking again on every screen open.
+     * Firebase responses are stored in a disk cache with the policies of
+     * {@link FirebaseCacheInterceptor}.
+     */
     @Provides
     @Singleton
-    OkHttpClient provideOkHttpClient() {
+    OkHttpClient provideOkHttpClient(
+            Application app,
+            FinishedGames finishedGames,
+            NetworkUtils networkUtils,
+            BaseSchedulerProvider schedulerProvider) {
         HttpLoggingInterceptor interceptor = new HttpLoggingInterceptor();
         interceptor.setLevel(BuildConfig.DEBUG ? HttpLoggingInterceptor.Level.BODY :
                 HttpLoggingInterceptor.Level.NONE);
 
-        return new OkHttpClient.Builder().addInterceptor(interceptor).build();
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(MAX_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+
+        String firebaseHost = HttpUrl.parse(baseUrl).host();
+
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .cache(new Cache(new File(app.getCacheDir(), HTTP_CACHE_DIR), HTTP_CACHE_SIZE))
+                .addInterceptor(new OfflineCacheInterceptor(firebaseHost, networkUtils))
+                .addNetworkInterceptor(new FirebaseCacheInterceptor(firebaseHost, finishedGames,
+                        schedulerProvider.computation()))
+                .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES,
+                        TimeUnit.MINUTES))
+                .dispatcher(dispatcher)
+                .connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .addInterceptor(interceptor);
+        if (BuildConfig.DEBUG) {
+            builder.addInterceptor(new TimeToFirstByteInterceptor());
+        }
+        return builder.build();
     }
 
     @Provides
     @Singleton
     Retrofit provideRetrofit(Gson gson, OkHttpClient okHttpClient) {
-        Retrofit retrofit = new Retrofit.Builder().client(okHttpClient)
+        return createRetrofit(baseUrl, gson, okHttpClient);
+    }
+
+    @Provides
+    @Singleton
+    @Named("streamableRetrofit")
+    Retrofit provideStreamableRetrofit(Gson gson, OkHttpClient okHttpClient) {
+        return createRetrofit(STREAMABLE_BASE_URL, gson, okHttpClient);
+    }
+
+    private static Retrofit createRetrofit(String baseUrl, Gson gson, OkHttpClient okHttpClient) {
+        return new Retrofit.Builder().client(okHttpClient)
                 .addConverterFactory(GsonConverterFactory.create(gson))
                 .addCallAdapterFactory(RxJava2CallAdapterFactory.create())
                 .baseUrl(baseUrl)
                 .build();
-
-        return retrofit;
     }
 
     @Provides
@@ -88,14 +161,38 @@ public class DataModule {
 
     @Provides
     @Singleton
-    HighlightsService provideHighlightsService(Retrofit retrofit) {
-        return retrofit.create(HighlightsService.class);
+    HighlightsService provideHighlightsService(
+            Retrofit retrofit, BaseSchedulerProvider schedulerProvider) {
+        return new CoalescingHighlightsService(retrofit.create(HighlightsService.class),
+                schedulerProvider.computation());
+    }
+
+    @Provides
+    @Singleton
+    NbaGamesService provideNbaGamesService(
+            Retrofit retrofit, BaseSchedulerProvider schedulerProvider) {
+        return new CoalescingNbaGamesService(retrofit.create(NbaGamesService.class),
+                schedulerProvider.computation());
+    }
+
+    @Provides
+    @Singleton
+    RedditGameThreadsService provideRedditGameThreadsService(
+            Retrofit retrofit, BaseSchedulerProvider schedulerProvider) {
+        return new CoalescingRedditGameThreadsService(
+                retrofit.create(RedditGameThreadsService.class), schedulerProvider.computation());
+    }
+
+    @Provides
+    @Singleton
+    NbaStandingsService provideNbaStandingsService(Retrofit retrofit) {
+        return retrofit.create(NbaStandingsService.class);
     }
 
     @Provides
     @Singleton
-    NbaGamesService provideNbaGamesService(Retrofit retrofit) {
-        return retrofit.create(NbaGamesService.class);
+    StreamableService provideStreamableService(@Named("streamableRetrofit") Retrofit retrofit) {
+        return retrofit.create(StreamableService.class);
     }
 
     @Provides
@@ -0,0 +1,51 @@
+package com.gmail.jorgegilcavazos.ballislife.data.firebase
+
+import com.google.gson.Gson
+import com.google.gson.JsonObject
+import com.google.gson.JsonParseException
+import com.google.gson.reflect.TypeToken
+import io.reactivex.Observable
+import io.reactivex.subjects.PublishSubject
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * In-process bus for live score updates received through FCM.
+ *
+ * A scores payload is a JSON object keyed by the firebase key of each game that changed, holding
+ * only the fields of the game that changed, e.g.
+ * {"-KwX2": {"homeTeamScore": "88", "awayTeamScore": "85", "gameClock": "2:31"}}.
+ * Payloads are parsed once when posted, on the posting thread, and subscribers receive the
+ * parsed deltas.
+ */
+@Singleton
+class LiveScoresBus @Inject constructor(private val gson: Gson) {
+
+  private val deltasType = object : TypeToken<Map<String, JsonObject>>() {}.type
+  private val scoreDeltas = PublishSubject.create<Map<String, JsonObject>>().toSerialized()
+
+  /**
+   * Parses the given scores payload and publishes it to subscribers. Malformed payloads are
+   * dropped.
+   */
+  fun post(payload: String?) {
+    if (payload == null) {
+      return
+    }
+
+    val deltas: Map<String, JsonObject>? = try {
+      gson.fromJson(payload, deltasType)
+    } catch (e: JsonParseException) {
+      null
+    }
+
+    if (deltas != null && !deltas.isEmpty()) {
+      scoreDeltas.onNext(deltas)
+    }
+  }
+
+  /**
+   * Emits the changed fields of every updated game, keyed by the game's firebase key.
+   */
+  fun scoreDeltas(): Observable<Map<String, JsonObject>> = scoreDeltas
+}
@@ -12,6 +12,7 @@ import android.support.v4.app.NotificationCompat;
 import android.util.Log;
 
 import com.gmail.jorgegilcavazos.ballislife.R;
+import com.gmail.jorgegilcavazos.ballislife.features.application.BallIsLifeApplication;
 import com.gmail.jorgegilcavazos.ballislife.features.main.MainActivity;
 import com.gmail.jorgegilcavazos.ballislife.features.settings.SettingsFragment;
 import com.google.firebase.messaging.FirebaseMessagingService;
@@ -20,6 +21,8 @@ import com.google.firebase.messaging.RemoteMessage;
 import java.util.Map;
 import java.util.Set;
 
+import javax.inject.Inject;
+
 public class MyMessagingService extends FirebaseMessagingService {
 
     private static final String TAG = "MyMessagingService";
@@ -28,12 +31,24 @@ public class MyMessagingService extends FirebaseMessagingService {
     private static final String CGA_TYPE = "CGA";
     private static final String SCORES_UPDATE_TYPE = "scores";
 
-    public static final String KEY_SCORES_UPDATED = "scores_updated";
-    public static final String FILTER_SCORES_UPDATED = "com.gmail.jorgegilcavazos.ballislife.SCORES_UPDATED";
+    @Inject LiveScoresBus liveScoresBus;
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        BallIsLifeApplication.getAppComponent().inject(this);
+    }
 
     @Override
     public void onMessageReceived(RemoteMessage remoteMessage) {
         // If the application is in the foreground handle both data and notification messages here.
+        Map<String, String> data = remoteMessage.getData();
+
+        // Score updates are not alerts, so they're delivered regardless of the alerts setting.
+        if (data.size() > 0 && SCORES_UPDATE_TYPE.equals(data.get(TYPE_KEY))) {
+            onScoresUpdateReceived(data);
+            return;
+        }
 
         // Ignore notifications if alerts are disabled in settings.
         if (!areAlertsEnabled()) {
@@ -41,16 +56,8 @@ public class MyMessagingService extends FirebaseMessagingService {
         }
 
         // Check if message contains a data payload.
-        if (remoteMessage.getData().size() > 0) {
-            Map<String, String> data = remoteMessage.getData();
-            switch (data.get(TYPE_KEY)) {
-                case CGA_TYPE:
-                    onCgaMessageReceived(data);
-                    break;
-                case SCORES_UPDATE_TYPE:
-                    onScoresUpdateReceived(data);
-                    break;
-            }
+        if (data.size() > 0 && CGA_TYPE.equals(data.get(TYPE_KEY))) {
+            onCgaMessageReceived(data);
         }
 
         // Check if message contains a notification payload.
@@ -60,10 +67,12 @@ public class MyMessagingService extends FirebaseMessagingService {
 
     }
 
+    /**
+     * Messages are received on a background thread, so the payload is parsed right here before
+     * being handed to the games repository through the {@link LiveScoresBus}.
+     */
     private void onScoresUpdateReceived(Map<String, String> data) {
-        Intent intent = new Intent(FILTER_SCORES_UPDATED);
-        intent.putExtra(KEY_SCORES_UPDATED, data.get("body"));
-        sendBroadcast(intent);
+        liveScoresBus.post(data.get("body"));
     }
 
     private void onCgaMessageReceived(Map<String, String> data) {
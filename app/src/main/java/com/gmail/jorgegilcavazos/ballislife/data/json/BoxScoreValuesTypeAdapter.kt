@@ -0,0 +1,149 @@
+package com.gmail.jorgegilcavazos.ballislife.data.json
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreTeam
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreValues
+import com.gmail.jorgegilcavazos.ballislife.features.model.StatLine
+import com.google.gson.TypeAdapter
+import com.google.gson.stream.JsonReader
+import com.google.gson.stream.JsonToken
+import com.google.gson.stream.JsonWriter
+
+/**
+ * Streaming [TypeAdapter] for [BoxScoreValues] and the stat lines of both teams. Missing fields
+ * are left null or 0, as with reflection.
+ */
+class BoxScoreValuesTypeAdapter : TypeAdapter<BoxScoreValues>() {
+
+  override fun write(out: JsonWriter, values: BoxScoreValues?) {
+    if (values == null) {
+      out.nullValue()
+      return
+    }
+    out.beginObject()
+    out.name("hls")
+    writeTeam(out, values.hls)
+    out.name("vls")
+    writeTeam(out, values.vls)
+    out.endObject()
+  }
+
+  override fun read(reader: JsonReader): BoxScoreValues? {
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull()
+      return null
+    }
+
+    var hls: BoxScoreTeam? = null
+    var vls: BoxScoreTeam? = null
+
+    reader.beginObject()
+    while (reader.hasNext()) {
+      when (reader.nextName()) {
+        "hls" -> hls = readTeam(reader)
+        "vls" -> vls = readTeam(reader)
+        else -> reader.skipValue()
+      }
+    }
+    reader.endObject()
+
+    return BoxScoreValues(hls, vls)
+  }
+
+  private fun writeTeam(out: JsonWriter, team: BoxScoreTeam?) {
+    if (team == null) {
+      out.nullValue()
+      return
+    }
+    val lines = team.pstsg
+    out.beginObject()
+    out.name("pstsg")
+    if (lines == null) {
+      out.nullValue()
+    } else {
+      out.beginArray()
+      for (line in lines) {
+        writeLine(out, line)
+      }
+      out.endArray()
+    }
+    out.endObject()
+  }
+
+  private fun writeLine(out: JsonWriter, line: StatLine?) {
+    if (line == null) {
+      out.nullValue()
+      return
+    }
+    out.beginObject()
+    out.name("pts").value(line.pts.toLong())
+    out.name("min").value(line.min.toLong())
+    out.name("ast").value(line.ast.toLong())
+    out.name("reb").value(line.reb.toLong())
+    out.name("blk").value(line.blk.toLong())
+    out.name("stl").value(line.stl.toLong())
+    out.name("tov").value(line.tov.toLong())
+    out.name("pf").value(line.pf.toLong())
+    out.name("fga").value(line.fga.toLong())
+    out.name("fgm").value(line.fgm.toLong())
+    out.name("fn").value(line.fn)
+    out.name("ln").value(line.ln)
+    out.endObject()
+  }
+
+  private fun readTeam(reader: JsonReader): BoxScoreTeam? {
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull()
+      return null
+    }
+
+    var lines: List<StatLine?>? = null
+
+    reader.beginObject()
+    while (reader.hasNext()) {
+      when (reader.nextName()) {
+        "pstsg" -> lines = reader.readList { readLine(it) }
+        else -> reader.skipValue()
+      }
+    }
+    reader.endObject()
+
+    return BoxScoreTeam(lines)
+  }
+
+  private fun readLine(reader: JsonReader): StatLine {
+    var pts = 0
+    var min = 0
+    var ast = 0
+    var reb = 0
+    var blk = 0
+    var stl = 0
+    var tov = 0
+    var pf = 0
+    var fga = 0
+    var fgm = 0
+    var fn: String? = null
+    var ln: String? = null
+
+    reader.beginObject()
+    while (reader.hasNext()) {
+      when (reader.nextName()) {
+        "pts" -> pts = reader.nextIntOrZero()
+        "min" -> min = reader.nextIntOrZero()
+        "ast" -> ast = reader.nextIntOrZero()
+        "reb" -> reb = reader.nextIntOrZero()
+        "blk" -> blk = reader.nextIntOrZero()
+        "stl" -> stl = reader.nextIntOrZero()
+        "tov" -> tov = reader.nextIntOrZero()
+        "pf" -> pf = reader.nextIntOrZero()
+        "fga" -> fga = reader.nextIntOrZero()
+        "fgm" -> fgm = reader.nextIntOrZero()
+        "fn" -> fn = reader.nextStringOrNull()
+        "ln" -> ln = reader.nextStringOrNull()
+        else -> reader.skipValue()
+      }
+    }
+    reader.endObject()
+
+    return StatLine(pts, min, ast, reb, blk, stl, tov, pf, fga, fgm, fn, ln)
+  }
+}
@@ -0,0 +1,31 @@
+package com.gmail.jorgegilcavazos.ballislife.data.json
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreValues
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameThreadSummary
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+import com.gmail.jorgegilcavazos.ballislife.features.model.Highlight
+import com.gmail.jorgegilcavazos.ballislife.features.model.Standings
+import com.google.gson.Gson
+import com.google.gson.TypeAdapter
+import com.google.gson.TypeAdapterFactory
+import com.google.gson.reflect.TypeToken
+
+/**
+ * Provides the streaming [TypeAdapter]s of the models parsed from the Firebase database, which
+ * are read in bulk as maps keyed by firebase key, or as large trees like the standings and box
+ * scores. Other types are left to Gson's defaults.
+ */
+class FirebaseTypeAdapterFactory : TypeAdapterFactory {
+
+  @Suppress("UNCHECKED_CAST")
+  override fun <T> create(gson: Gson, type: TypeToken<T>): TypeAdapter<T>? {
+    return when (type.rawType) {
+      GameV2::class.java -> GameV2TypeAdapter() as TypeAdapter<T>
+      Highlight::class.java -> HighlightTypeAdapter() as TypeAdapter<T>
+      GameThreadSummary::class.java -> GameThreadSummaryTypeAdapter() as TypeAdapter<T>
+      Standings::class.java -> StandingsTypeAdapter() as TypeAdapter<T>
+      BoxScoreValues::class.java -> BoxScoreValuesTypeAdapter() as TypeAdapter<T>
+      else -> null
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.gmail.jorgegilcavazos.ballislife.data.json
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameThreadSummary
+import com.google.gson.TypeAdapter
+import com.google.gson.stream.JsonReader
+import com.google.gson.stream.JsonToken
+import com.google.gson.stream.JsonWriter
+
+/**
+ * Streaming [TypeAdapter] for [GameThreadSummary]. Missing fields are left null, as with
+ * reflection.
+ */
+class GameThreadSummaryTypeAdapter : TypeAdapter<GameThreadSummary>() {
+
+  override fun write(out: JsonWriter, summary: GameThreadSummary?) {
+    if (summary == null) {
+      out.nullValue()
+      return
+    }
+    out.beginObject()
+    out.name("id").value(summary.id)
+    out.name("title").value(summary.title)
+    out.name("created_utc").value(summary.created_utc)
+    out.name("num_comments").value(summary.num_comments.toLong())
+    out.endObject()
+  }
+
+  override fun read(reader: JsonReader): GameThreadSummary? {
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull()
+      return null
+    }
+
+    var id: String? = null
+    var title: String? = null
+    var createdUtc = 0L
+    var numComments = 0
+
+    reader.beginObject()
+    while (reader.hasNext()) {
+      when (reader.nextName()) {
+        "id" -> id = reader.nextStringOrNull()
+        "title" -> title = reader.nextStringOrNull()
+        "created_utc" -> createdUtc = reader.nextLongOrZero()
+        "num_comments" -> numComments = reader.nextIntOrZero()
+        else -> reader.skipValue()
+      }
+    }
+    reader.endObject()
+
+    return GameThreadSummary(id, title, createdUtc, numComments)
+  }
+}
@@ -0,0 +1,138 @@
+package com.gmail.jorgegilcavazos.ballislife.data.json
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+import com.google.gson.TypeAdapter
+import com.google.gson.stream.JsonReader
+import com.google.gson.stream.JsonToken
+import com.google.gson.stream.JsonWriter
+
+/**
+ * Streaming [TypeAdapter] for [GameV2]. Avoids reflection and the Unsafe allocation Gson falls
+ * back to for Kotlin data classes. Missing or null string fields are read as empty strings,
+ * since [GameV2] declares them non-null.
+ */
+class GameV2TypeAdapter : TypeAdapter<GameV2>() {
+
+  override fun write(out: JsonWriter, game: GameV2?) {
+    if (game == null) {
+      out.nullValue()
+      return
+    }
+    out.beginObject()
+    out.name("arena").value(game.arena)
+    out.name("awayTeamAbbr").value(game.awayTeamAbbr)
+    out.name("awayTeamCity").value(game.awayTeamCity)
+    out.name("awayTeamId").value(game.awayTeamId)
+    out.name("awayTeamKey").value(game.awayTeamKey)
+    out.name("awayTeamNickname").value(game.awayTeamNickname)
+    out.name("awayTeamScore").value(game.awayTeamScore)
+    out.name("city").value(game.city)
+    out.name("date").value(game.date)
+    out.name("gameClock").value(game.gameClock)
+    out.name("gameStatus").value(game.gameStatus)
+    out.name("homeTeamAbbr").value(game.homeTeamAbbr)
+    out.name("homeTeamCity").value(game.homeTeamCity)
+    out.name("homeTeamId").value(game.homeTeamId)
+    out.name("homeTeamKey").value(game.homeTeamKey)
+    out.name("homeTeamNickname").value(game.homeTeamNickname)
+    out.name("homeTeamScore").value(game.homeTeamScore)
+    out.name("id").value(game.id)
+    out.name("periodName").value(game.periodName)
+    out.name("periodStatus").value(game.periodStatus)
+    out.name("periodValue").value(game.periodValue)
+    out.name("time").value(game.time)
+    out.name("timeUtc").value(game.timeUtc)
+    out.name("totalPeriods").value(game.totalPeriods)
+    out.endObject()
+  }
+
+  override fun read(reader: JsonReader): GameV2? {
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull()
+      return null
+    }
+
+    var arena = ""
+    var awayTeamAbbr = ""
+    var awayTeamCity = ""
+    var awayTeamId = ""
+    var awayTeamKey = ""
+    var awayTeamNickname = ""
+    var awayTeamScore = ""
+    var city = ""
+    var date = ""
+    var gameClock = ""
+    var gameStatus = ""
+    var homeTeamAbbr = ""
+    var homeTeamCity = ""
+    var homeTeamId = ""
+    var homeTeamKey = ""
+    var homeTeamNickname = ""
+    var homeTeamScore = ""
+    var id = ""
+    var periodName = ""
+    var periodStatus = ""
+    var periodValue = ""
+    var time = ""
+    var timeUtc = 0L
+    var totalPeriods = ""
+
+    reader.beginObject()
+    while (reader.hasNext()) {
+      when (reader.nextName()) {
+        "arena" -> arena = reader.nextStringOrEmpty()
+        "awayTeamAbbr" -> awayTeamAbbr = reader.nextStringOrEmpty()
+        "awayTeamCity" -> awayTeamCity = reader.nextStringOrEmpty()
+        "awayTeamId" -> awayTeamId = reader.nextStringOrEmpty()
+        "awayTeamKey" -> awayTeamKey = reader.nextStringOrEmpty()
+        "awayTeamNickname" -> awayTeamNickname = reader.nextStringOrEmpty()
+        "awayTeamScore" -> awayTeamScore = reader.nextStringOrEmpty()
+        "city" -> city = reader.nextStringOrEmpty()
+        "date" -> date = reader.nextStringOrEmpty()
+        "gameClock" -> gameClock = reader.nextStringOrEmpty()
+        "gameStatus" -> gameStatus = reader.nextStringOrEmpty()
+        "homeTeamAbbr" -> homeTeamAbbr = reader.nextStringOrEmpty()
+        "homeTeamCity" -> homeTeamCity = reader.nextStringOrEmpty()
+        "homeTeamId" -> homeTeamId = reader.nextStringOrEmpty()
+        "homeTeamKey" -> homeTeamKey = reader.nextStringOrEmpty()
+        "homeTeamNickname" -> homeTeamNickname = reader.nextStringOrEmpty()
+        "homeTeamScore" -> homeTeamScore = reader.nextStringOrEmpty()
+        "id" -> id = reader.nextStringOrEmpty()
+        "periodName" -> periodName = reader.nextStringOrEmpty()
+        "periodStatus" -> periodStatus = reader.nextStringOrEmpty()
+        "periodValue" -> periodValue = reader.nextStringOrEmpty()
+        "time" -> time = reader.nextStringOrEmpty()
+        "timeUtc" -> timeUtc = reader.nextLongOrZero()
+        "totalPeriods" -> totalPeriods = reader.nextStringOrEmpty()
+        else -> reader.skipValue()
+      }
+    }
+    reader.endObject()
+
+    return GameV2(
+        arena = arena,
+        awayTeamAbbr = awayTeamAbbr,
+        awayTeamCity = awayTeamCity,
+        awayTeamId = awayTeamId,
+        awayTeamKey = awayTeamKey,
+        awayTeamNickname = awayTeamNickname,
+        awayTeamScore = awayTeamScore,
+        city = city,
+        date = date,
+        gameClock = gameClock,
+        gameStatus = gameStatus,
+        homeTeamAbbr = homeTeamAbbr,
+        homeTeamCity = homeTeamCity,
+        homeTeamId = homeTeamId,
+        homeTeamKey = homeTeamKey,
+        homeTeamNickname = homeTeamNickname,
+        homeTeamScore = homeTeamScore,
+        id = id,
+        periodName = periodName,
+        periodStatus = periodStatus,
+        periodValue = periodValue,
+        time = time,
+        timeUtc = timeUtc,
+        totalPeriods = totalPeriods)
+  }
+}
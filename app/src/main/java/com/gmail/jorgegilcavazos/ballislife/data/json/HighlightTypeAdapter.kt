@@ -0,0 +1,58 @@
+package com.gmail.jorgegilcavazos.ballislife.data.json
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.Highlight
+import com.google.gson.TypeAdapter
+import com.google.gson.stream.JsonReader
+import com.google.gson.stream.JsonToken
+import com.google.gson.stream.JsonWriter
+
+/**
+ * Streaming [TypeAdapter] for [Highlight]. Missing fields are left null, as with reflection.
+ */
+class HighlightTypeAdapter : TypeAdapter<Highlight>() {
+
+  override fun write(out: JsonWriter, highlight: Highlight?) {
+    if (highlight == null) {
+      out.nullValue()
+      return
+    }
+    out.beginObject()
+    out.name("id").value(highlight.id)
+    out.name("title").value(highlight.title)
+    out.name("thumbnail").value(highlight.thumbnail)
+    out.name("hdThumbnail").value(highlight.hdThumbnail)
+    out.name("url").value(highlight.url)
+    out.name("created_utc").value(highlight.createdUtc)
+    out.endObject()
+  }
+
+  override fun read(reader: JsonReader): Highlight? {
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull()
+      return null
+    }
+
+    var id: String? = null
+    var title: String? = null
+    var thumbnail: String? = null
+    var hdThumbnail: String? = null
+    var url: String? = null
+    var createdUtc = 0L
+
+    reader.beginObject()
+    while (reader.hasNext()) {
+      when (reader.nextName()) {
+        "id" -> id = reader.nextStringOrNull()
+        "title" -> title = reader.nextStringOrNull()
+        "thumbnail" -> thumbnail = reader.nextStringOrNull()
+        "hdThumbnail" -> hdThumbnail = reader.nextStringOrNull()
+        "url" -> url = reader.nextStringOrNull()
+        "created_utc" -> createdUtc = reader.nextLongOrZero()
+        else -> reader.skipValue()
+      }
+    }
+    reader.endObject()
+
+    return Highlight(id, title, thumbnail, hdThumbnail, url, createdUtc)
+  }
+}
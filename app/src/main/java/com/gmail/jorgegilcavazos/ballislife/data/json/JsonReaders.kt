@@ -0,0 +1,62 @@
+package com.gmail.jorgegilcavazos.ballislife.data.json
+
+import com.google.gson.stream.JsonReader
+import com.google.gson.stream.JsonToken
+
+/**
+ * Reads a string, or a number as a string, returning null for a JSON null.
+ */
+fun JsonReader.nextStringOrNull(): String? {
+  if (peek() == JsonToken.NULL) {
+    nextNull()
+    return null
+  }
+  return nextString()
+}
+
+fun JsonReader.nextStringOrEmpty(): String = nextStringOrNull() ?: ""
+
+/**
+ * Reads a long, or a string holding a long, returning 0 for a JSON null.
+ */
+fun JsonReader.nextLongOrZero(): Long {
+  if (peek() == JsonToken.NULL) {
+    nextNull()
+    return 0
+  }
+  return nextLong()
+}
+
+/**
+ * Reads an int, or a string holding an int, returning 0 for a JSON null.
+ */
+fun JsonReader.nextIntOrZero(): Int {
+  if (peek() == JsonToken.NULL) {
+    nextNull()
+    return 0
+  }
+  return nextInt()
+}
+
+/**
+ * Reads an array with the given reader for its elements, returning null for a JSON null. Null
+ * elements are kept as null, as with reflection.
+ */
+inline fun <T> JsonReader.readList(readElement: (JsonReader) -> T): List<T?>? {
+  if (peek() == JsonToken.NULL) {
+    nextNull()
+    return null
+  }
+  val list = ArrayList<T?>()
+  beginArray()
+  while (hasNext()) {
+    if (peek() == JsonToken.NULL) {
+      nextNull()
+      list.add(null)
+    } else {
+      list.add(readElement(this))
+    }
+  }
+  endArray()
+  return list
+}
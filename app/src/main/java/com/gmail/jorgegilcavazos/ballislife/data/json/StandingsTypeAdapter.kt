@@ -0,0 +1,131 @@
+package com.gmail.jorgegilcavazos.ballislife.data.json
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.Standings
+import com.google.gson.TypeAdapter
+import com.google.gson.stream.JsonReader
+import com.google.gson.stream.JsonToken
+import com.google.gson.stream.JsonWriter
+
+/**
+ * Streaming [TypeAdapter] for [Standings] and its teams and stats. Missing fields are left null,
+ * as with reflection.
+ */
+class StandingsTypeAdapter : TypeAdapter<Standings>() {
+
+  override fun write(out: JsonWriter, standings: Standings?) {
+    if (standings == null) {
+      out.nullValue()
+      return
+    }
+    out.beginObject()
+    out.name("east")
+    writeTeams(out, standings.east)
+    out.name("west")
+    writeTeams(out, standings.west)
+    out.endObject()
+  }
+
+  override fun read(reader: JsonReader): Standings? {
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull()
+      return null
+    }
+
+    // Teams and stats are inner classes, they're created from the standings they belong to.
+    val standings = Standings(null, null)
+
+    reader.beginObject()
+    while (reader.hasNext()) {
+      when (reader.nextName()) {
+        "east" -> standings.east = reader.readList { readTeam(it, standings) }
+        "west" -> standings.west = reader.readList { readTeam(it, standings) }
+        else -> reader.skipValue()
+      }
+    }
+    reader.endObject()
+
+    return standings
+  }
+
+  private fun writeTeams(out: JsonWriter, teams: List<Standings.TeamStanding?>?) {
+    if (teams == null) {
+      out.nullValue()
+      return
+    }
+    out.beginArray()
+    for (team in teams) {
+      if (team == null) {
+        out.nullValue()
+        continue
+      }
+      out.beginObject()
+      out.name("abbreviation").value(team.abbreviation)
+      out.name("location").value(team.location)
+      out.name("name").value(team.name)
+      out.name("seed").value(team.seed)
+      out.name("stats")
+      writeStats(out, team.stats)
+      out.endObject()
+    }
+    out.endArray()
+  }
+
+  private fun writeStats(out: JsonWriter, stats: List<Standings.StandingStat?>?) {
+    if (stats == null) {
+      out.nullValue()
+      return
+    }
+    out.beginArray()
+    for (stat in stats) {
+      if (stat == null) {
+        out.nullValue()
+        continue
+      }
+      out.beginObject()
+      out.name("name").value(stat.name)
+      out.name("value").value(stat.value)
+      out.endObject()
+    }
+    out.endArray()
+  }
+
+  private fun readTeam(reader: JsonReader, standings: Standings): Standings.TeamStanding {
+    var abbreviation: String? = null
+    var location: String? = null
+    var name: String? = null
+    var seed: String? = null
+    var stats: List<Standings.StandingStat?>? = null
+
+    reader.beginObject()
+    while (reader.hasNext()) {
+      when (reader.nextName()) {
+        "abbreviation" -> abbreviation = reader.nextStringOrNull()
+        "location" -> location = reader.nextStringOrNull()
+        "name" -> name = reader.nextStringOrNull()
+        "seed" -> seed = reader.nextStringOrNull()
+        "stats" -> stats = reader.readList { readStat(it, standings) }
+        else -> reader.skipValue()
+      }
+    }
+    reader.endObject()
+
+    return standings.TeamStanding(abbreviation, location, name, seed, stats)
+  }
+
+  private fun readStat(reader: JsonReader, standings: Standings): Standings.StandingStat {
+    var name: String? = null
+    var value: String? = null
+
+    reader.beginObject()
+    while (reader.hasNext()) {
+      when (reader.nextName()) {
+        "name" -> name = reader.nextStringOrNull()
+        "value" -> value = reader.nextStringOrNull()
+        else -> reader.skipValue()
+      }
+    }
+    reader.endObject()
+
+    return standings.StandingStat(name, value)
+  }
+}
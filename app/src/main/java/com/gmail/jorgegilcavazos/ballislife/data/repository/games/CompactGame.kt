@@ -0,0 +1,185 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.games
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+import com.gmail.jorgegilcavazos.ballislife.util.TeamName
+
+/**
+ * Compact representation of a [GameV2] held by the [GamesMemoryCache].
+ *
+ * Scores, periods, the clock, the status and the date are stored as primitives and team
+ * abbreviations as [TeamName] ordinals. The remaining strings (arena, cities, team ids, etc.)
+ * repeat across the season and are expected to be interned by the caller, so a cached game
+ * mostly holds references to shared strings. Use [from] to convert at ingest and [toGameV2] to
+ * get the view expected by the rest of the app. The view isn't kept, callers that only need the
+ * numbers and teams, e.g. to display a game, should read them from here.
+ */
+class CompactGame private constructor(
+    val id: String,
+    val timeUtc: Long,
+    private val date: Int,
+    private val status: Byte,
+    private val homeTeam: Byte,
+    private val awayTeam: Byte,
+    /** Or [EMPTY], same for [awayScore] and [period]. */
+    val homeScore: Int,
+    val awayScore: Int,
+    val period: Int,
+    private val totalPeriods: Int,
+    /** Tenths of a second left in the period, or [EMPTY]. */
+    private val clockTenths: Int,
+    /** Whether the clock is displayed as "m:ss" rather than "ss.s". */
+    private val clockHasMinutes: Boolean,
+    private val arena: String,
+    private val city: String,
+    private val time: String,
+    val periodName: String,
+    val periodStatus: String,
+    private val homeTeamCity: String,
+    private val homeTeamId: String,
+    private val homeTeamKey: String,
+    private val homeTeamNickname: String,
+    private val awayTeamCity: String,
+    private val awayTeamId: String,
+    private val awayTeamKey: String,
+    private val awayTeamNickname: String) {
+
+  companion object {
+    /**
+     * Stored in place of an int field whose string value was empty.
+     */
+    const val EMPTY = -1
+
+    private val TEAMS = TeamName.values()
+    private val TEAMS_BY_ABBR = TEAMS.associateBy { it.name }
+
+    /**
+     * Returns the compact form of the given game, or null if it can't be represented exactly
+     * (e.g. an unknown team or a non-numeric score), in which case the game should be kept as is.
+     *
+     * @param intern called for every string that is kept, to share equal strings between games
+     */
+    @JvmStatic
+    fun from(game: GameV2, intern: (String) -> String): CompactGame? {
+      val homeTeam = TEAMS_BY_ABBR[game.homeTeamAbbr] ?: return null
+      val awayTeam = TEAMS_BY_ABBR[game.awayTeamAbbr] ?: return null
+      val clockTenths = parseClockTenths(game.gameClock) ?: return null
+
+      val compact = CompactGame(
+          id = game.id,
+          timeUtc = game.timeUtc,
+          date = parseInt(game.date) ?: return null,
+          status = (parseInt(game.gameStatus) ?: return null).toByte(),
+          homeTeam = homeTeam.ordinal.toByte(),
+          awayTeam = awayTeam.ordinal.toByte(),
+          homeScore = parseInt(game.homeTeamScore) ?: return null,
+          awayScore = parseInt(game.awayTeamScore) ?: return null,
+          period = parseInt(game.periodValue) ?: return null,
+          totalPeriods = parseInt(game.totalPeriods) ?: return null,
+          clockTenths = clockTenths,
+          clockHasMinutes = game.gameClock.contains(':'),
+          arena = intern(game.arena),
+          city = intern(game.city),
+          time = intern(game.time),
+          periodName = intern(game.periodName),
+          periodStatus = intern(game.periodStatus),
+          homeTeamCity = intern(game.homeTeamCity),
+          homeTeamId = intern(game.homeTeamId),
+          homeTeamKey = intern(game.homeTeamKey),
+          homeTeamNickname = intern(game.homeTeamNickname),
+          awayTeamCity = intern(game.awayTeamCity),
+          awayTeamId = intern(game.awayTeamId),
+          awayTeamKey = intern(game.awayTeamKey),
+          awayTeamNickname = intern(game.awayTeamNickname))
+
+      // A clock like "1:5" parses fine but would not be formatted back the same way.
+      return if (compact.gameClock == game.gameClock) compact else null
+    }
+
+    /**
+     * Parses a non-negative int, returning [EMPTY] for an empty string and null if invalid or
+     * not formatted back the same way, e.g. "05".
+     */
+    private fun parseInt(value: String): Int? {
+      if (value.isEmpty()) {
+        return EMPTY
+      }
+      val parsed = value.toIntOrNull() ?: return null
+      return if (parsed >= 0 && parsed.toString() == value) parsed else null
+    }
+
+    /**
+     * Parses a game clock, e.g. "5:32" or "45.3" in the last minute of a period, into tenths of
+     * a second. Returns [EMPTY] for an empty clock and null if invalid.
+     */
+    internal fun parseClockTenths(clock: String): Int? {
+      if (clock.isEmpty()) {
+        return EMPTY
+      }
+      val separator = clock.indexOf(':')
+      if (separator == -1) {
+        val seconds = clock.toDoubleOrNull() ?: return null
+        return if (seconds >= 0) Math.round(seconds * 10).toInt() else null
+      }
+      val minutes = clock.substring(0, separator).toIntOrNull() ?: return null
+      val seconds = clock.substring(separator + 1).toIntOrNull() ?: return null
+      return if (minutes >= 0 && seconds >= 0) (minutes * 60 + seconds) * 10 else null
+    }
+
+    private fun formatInt(value: Int) = if (value == EMPTY) "" else value.toString()
+  }
+
+  val homeTeamName: TeamName
+    get() = TEAMS[homeTeam.toInt()]
+
+  val awayTeamName: TeamName
+    get() = TEAMS[awayTeam.toInt()]
+
+  val homeTeamAbbr: String
+    get() = homeTeamName.name
+
+  val awayTeamAbbr: String
+    get() = awayTeamName.name
+
+  val gameStatus: String
+    get() = formatInt(status.toInt())
+
+  val gameClock: String
+    get() {
+      if (clockTenths == EMPTY) {
+        return ""
+      }
+      if (clockHasMinutes) {
+        val seconds = clockTenths / 10
+        return "${seconds / 60}:${(seconds % 60).toString().padStart(2, '0')}"
+      }
+      return "${clockTenths / 10}.${clockTenths % 10}"
+    }
+
+  fun toGameV2(): GameV2 {
+    return GameV2(
+        arena = arena,
+        awayTeamAbbr = awayTeamAbbr,
+        awayTeamCity = awayTeamCity,
+        awayTeamId = awayTeamId,
+        awayTeamKey = awayTeamKey,
+        awayTeamNickname = awayTeamNickname,
+        awayTeamScore = formatInt(awayScore),
+        city = city,
+        date = formatInt(date),
+        gameClock = gameClock,
+        gameStatus = gameStatus,
+        homeTeamAbbr = homeTeamAbbr,
+        homeTeamCity = homeTeamCity,
+        homeTeamId = homeTeamId,
+        homeTeamKey = homeTeamKey,
+        homeTeamNickname = homeTeamNickname,
+        homeTeamScore = formatInt(homeScore),
+        id = id,
+        periodName = periodName,
+        periodStatus = periodStatus,
+        periodValue = formatInt(period),
+        time = time,
+        timeUtc = timeUtc,
+        totalPeriods = formatInt(totalPeriods))
+  }
+}
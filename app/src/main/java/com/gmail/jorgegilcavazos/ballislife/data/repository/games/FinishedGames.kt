@@ -0,0 +1,25 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.games
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+import com.gmail.jorgegilcavazos.ballislife.features.model.NbaGame
+import java.util.*
+import java.util.concurrent.ConcurrentHashMap
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Ids of the games seen finished since the app started. Lets the network layer know which
+ * per-game resources, like box scores, will not change anymore.
+ */
+@Singleton
+class FinishedGames @Inject constructor() {
+
+  private val gameIds: MutableSet<String> =
+      Collections.newSetFromMap(ConcurrentHashMap<String, Boolean>())
+
+  fun addFinished(games: Collection<GameV2>) {
+    games.filter { it.gameStatus == NbaGame.POST_GAME }.mapTo(gameIds) { it.id }
+  }
+
+  fun isFinished(gameId: String) = gameIds.contains(gameId)
+}
@@ -0,0 +1,28 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.games
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+
+/**
+ * Persists [GameV2]s to disk so they survive process death. Games are grouped by day, where a day
+ * is identified by a "yyyyMMdd" string, and keyed by their id inside of that day.
+ * Calls may perform disk I/O and should not be made from the main thread.
+ */
+interface GamesDiskCache {
+
+  /**
+   * Returns the games saved for the given day, or an empty map if nothing was saved.
+   */
+  fun getGames(day: String): Map<String, GameV2>
+
+  /**
+   * Replaces the games saved for the given day.
+   */
+  fun saveGames(day: String, games: Map<String, GameV2>)
+
+  /**
+   * Returns the time in millis at which the given day was last saved, or 0 if it never was.
+   */
+  fun lastSavedAt(day: String): Long
+
+  fun clear()
+}
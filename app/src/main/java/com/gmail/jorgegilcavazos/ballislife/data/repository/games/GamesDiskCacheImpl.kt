@@ -0,0 +1,92 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.games
+
+import android.app.Application
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+import com.google.gson.Gson
+import com.google.gson.JsonParseException
+import com.google.gson.reflect.TypeToken
+import java.io.File
+import java.io.IOException
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Implementation of the [GamesDiskCache] interface. Stores one JSON file per day in the app's cache
+ * directory and uses the file's modification time as the day's freshness metadata.
+ * Only the most recently saved [MAX_CACHED_DAYS] days are kept.
+ */
+@Singleton
+class GamesDiskCacheImpl @Inject constructor(
+    application: Application,
+    private val gson: Gson) : GamesDiskCache {
+
+  companion object {
+    private const val GAMES_DIR = "games"
+    private const val FILE_EXTENSION = ".json"
+    private const val TEMP_EXTENSION = ".tmp"
+    private const val MAX_CACHED_DAYS = 60
+  }
+
+  private val gamesDir = File(application.cacheDir, GAMES_DIR)
+  private val gamesType = object : TypeToken<Map<String, GameV2>>() {}.type
+
+  @Synchronized
+  override fun getGames(day: String): Map<String, GameV2> {
+    val file = dayFile(day)
+    if (!file.exists()) {
+      return emptyMap()
+    }
+
+    return try {
+      file.bufferedReader().use { gson.fromJson<Map<String, GameV2>>(it, gamesType) } ?: emptyMap()
+    } catch (e: IOException) {
+      emptyMap()
+    } catch (e: JsonParseException) {
+      // Corrupted or written by an older model, it will be replaced on the next network load.
+      file.delete()
+      emptyMap()
+    }
+  }
+
+  @Synchronized
+  override fun saveGames(day: String, games: Map<String, GameV2>) {
+    if (!gamesDir.exists() && !gamesDir.mkdirs()) {
+      return
+    }
+
+    // Write to a temp file first so a crash mid-write never leaves a truncated day behind.
+    val tempFile = File(gamesDir, day + TEMP_EXTENSION)
+    try {
+      tempFile.bufferedWriter().use { gson.toJson(games, gamesType, it) }
+      if (!tempFile.renameTo(dayFile(day))) {
+        tempFile.delete()
+        return
+      }
+    } catch (e: IOException) {
+      tempFile.delete()
+      return
+    }
+
+    trimToMaxDays()
+  }
+
+  @Synchronized
+  override fun lastSavedAt(day: String): Long = dayFile(day).lastModified()
+
+  @Synchronized
+  override fun clear() {
+    gamesDir.listFiles()?.forEach { it.delete() }
+  }
+
+  private fun dayFile(day: String) = File(gamesDir, day + FILE_EXTENSION)
+
+  private fun trimToMaxDays() {
+    val files = gamesDir.listFiles { _, name -> name.endsWith(FILE_EXTENSION) } ?: return
+    if (files.size <= MAX_CACHED_DAYS) {
+      return
+    }
+    files.sortedBy { it.lastModified() }
+        .take(files.size - MAX_CACHED_DAYS)
+        .forEach { it.delete() }
+  }
+}
@@ -0,0 +1,85 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.games
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+import java.util.*
+
+/**
+ * In-memory store of [GameV2]s keyed by their firebase key. A secondary index ordered by
+ * [GameV2.timeUtc] allows answering "games within a day" with a range query instead of scanning
+ * every game cached during the season.
+ *
+ * Games are converted to [CompactGame]s when stored, sharing equal strings between them, and
+ * turned back into [GameV2]s on every read, without keeping them. The few games that can't be
+ * represented compactly are kept as they are.
+ */
+class GamesMemoryCache {
+
+  private val gamesByKey = HashMap<String, CompactGame>()
+  private val uncompactedGamesByKey = HashMap<String, GameV2>()
+  private val keysByTimeUtc = TreeMap<Long, MutableSet<String>>()
+  private val strings = HashMap<String, String>()
+
+  @Synchronized
+  fun putAll(games: Map<String, GameV2>) {
+    for ((key, game) in games) {
+      val previousTimeUtc = timeUtc(key)
+      if (previousTimeUtc != null && previousTimeUtc != game.timeUtc) {
+        removeFromIndex(key, previousTimeUtc)
+      }
+
+      val compact = CompactGame.from(game) { intern(it) }
+      if (compact != null) {
+        gamesByKey.put(key, compact)
+        uncompactedGamesByKey.remove(key)
+      } else {
+        uncompactedGamesByKey.put(key, game)
+        gamesByKey.remove(key)
+      }
+      keysByTimeUtc.getOrPut(game.timeUtc) { HashSet() }.add(key)
+    }
+  }
+
+  @Synchronized
+  fun get(key: String): GameV2? = gamesByKey[key]?.toGameV2() ?: uncompactedGamesByKey[key]
+
+  /**
+   * Returns the games whose start time is strictly between the given UTC seconds, sorted by id.
+   */
+  @Synchronized
+  fun gamesBetween(startUtc: Long, endUtc: Long): List<GameV2> {
+    if (startUtc >= endUtc) {
+      return emptyList()
+    }
+    val games = ArrayList<GameV2>()
+    for (keys in keysByTimeUtc.subMap(startUtc, false, endUtc, false).values) {
+      keys.mapNotNullTo(games) { get(it) }
+    }
+    games.sortBy { it.id }
+    return games
+  }
+
+  @Synchronized
+  fun size() = gamesByKey.size + uncompactedGamesByKey.size
+
+  @Synchronized
+  fun clear() {
+    gamesByKey.clear()
+    uncompactedGamesByKey.clear()
+    keysByTimeUtc.clear()
+    strings.clear()
+  }
+
+  private fun timeUtc(key: String): Long? {
+    return gamesByKey[key]?.timeUtc ?: uncompactedGamesByKey[key]?.timeUtc
+  }
+
+  private fun intern(value: String) = strings.getOrPut(value) { value }
+
+  private fun removeFromIndex(key: String, timeUtc: Long) {
+    val keys = keysByTimeUtc[timeUtc] ?: return
+    keys.remove(key)
+    if (keys.isEmpty()) {
+      keysByTimeUtc.remove(timeUtc)
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.games
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+import com.gmail.jorgegilcavazos.ballislife.features.model.NbaGame
+
+/**
+ * Decides how long to wait before polling a day's games again based on their state.
+ * Live games are polled often, more so when a period is about to end. Days that have only
+ * games yet to start are polled slowly to catch the tip-off, and days with only finished games
+ * (or games far from starting, or long overdue) are not polled at all.
+ */
+object GamesPollingPolicy {
+
+  const val STOP_POLLING = -1L
+
+  const val CLOSING_MINUTES_INTERVAL_MS = 8 * 1000L
+  const val LIVE_INTERVAL_MS = 20 * 1000L
+  const val BREAK_INTERVAL_MS = 45 * 1000L
+  const val PRE_GAME_INTERVAL_MS = 2 * 60 * 1000L
+
+  /**
+   * A period is considered about to end when fewer than this many seconds remain on the clock.
+   */
+  private const val CLOSING_SECONDS = 120
+
+  /**
+   * Days with games that are yet to start are only polled within this many seconds of tip-off.
+   */
+  private const val PRE_GAME_WINDOW_SECONDS = 30 * 60L
+
+  /**
+   * Games still yet to start this many seconds after their scheduled tip-off are considered
+   * delayed or postponed, and are no longer a reason to poll.
+   */
+  private const val PRE_GAME_OVERDUE_SECONDS = 60 * 60L
+
+  /**
+   * Returns the delay in millis until the next poll, or [STOP_POLLING].
+   *
+   * @param nowUtc current time in UTC seconds, the same unit as [GameV2.timeUtc]
+   */
+  fun nextPollDelayMs(games: List<GameV2>, nowUtc: Long): Long {
+    val liveGames = games.filter { it.gameStatus == NbaGame.IN_GAME }
+    if (!liveGames.isEmpty()) {
+      return liveGames.map { liveIntervalMs(it) }.min() ?: LIVE_INTERVAL_MS
+    }
+
+    val startingSoon = games.any {
+      val secondsToStart = it.timeUtc - nowUtc
+      it.gameStatus == NbaGame.PRE_GAME
+          && secondsToStart < PRE_GAME_WINDOW_SECONDS
+          && secondsToStart > -PRE_GAME_OVERDUE_SECONDS
+    }
+    return if (startingSoon) PRE_GAME_INTERVAL_MS else STOP_POLLING
+  }
+
+  private fun liveIntervalMs(game: GameV2): Long {
+    val tenthsLeft = CompactGame.parseClockTenths(game.gameClock)
+    return when {
+      // An empty clock means the game is between periods.
+      tenthsLeft == null || tenthsLeft == CompactGame.EMPTY || tenthsLeft == 0 ->
+        BREAK_INTERVAL_MS
+      tenthsLeft < CLOSING_SECONDS * 10 -> CLOSING_MINUTES_INTERVAL_MS
+      else -> LIVE_INTERVAL_MS
+    }
+  }
+}
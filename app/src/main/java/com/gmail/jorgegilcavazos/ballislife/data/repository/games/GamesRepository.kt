@@ -11,4 +11,25 @@ import java.util.*
 interface GamesRepository {
 
   fun games(date: Calendar, forceNetwork: Boolean): Observable<GamesUiModel>
+
+  /**
+   * Emits a live update [GamesUiModel] holding only the games of the given date that changed
+   * every time a live score update for any of them is received. Never completes.
+   */
+  fun liveScores(date: Calendar): Observable<GamesUiModel>
+
+  /**
+   * Re-fetches the games of the given date from the network while any of them is live, at an
+   * interval decided by [GamesPollingPolicy]. Completes once there's nothing left to poll for.
+   */
+  fun pollGames(date: Calendar): Observable<GamesUiModel>
+
+  /**
+   * Loads the games of the [daysAround] days before and after the given date into the cache in
+   * the background, so that navigating to them does not have to wait for the network.
+   * Any prefetch already in progress is cancelled.
+   */
+  fun prefetchGames(date: Calendar, daysAround: Int)
+
+  fun cancelPrefetch()
 }
@@ -1,29 +1,61 @@
 package com.gmail.jorgegilcavazos.ballislife.data.repository.games
 
-import android.annotation.SuppressLint
 import android.support.annotation.VisibleForTesting
+import com.gmail.jorgegilcavazos.ballislife.data.firebase.LiveScoresBus
 import com.gmail.jorgegilcavazos.ballislife.data.service.NbaGamesService
 import com.gmail.jorgegilcavazos.ballislife.features.games.GamesUiModel
 import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+import com.gmail.jorgegilcavazos.ballislife.features.model.NbaGame
 import com.gmail.jorgegilcavazos.ballislife.util.DateFormatUtil
 import com.gmail.jorgegilcavazos.ballislife.util.schedulers.BaseSchedulerProvider
+import com.google.gson.JsonObject
+import io.reactivex.Completable
 import io.reactivex.Observable
 import io.reactivex.Single
+import io.reactivex.disposables.Disposable
+import io.reactivex.subjects.PublishSubject
 import java.util.*
+import java.util.concurrent.TimeUnit
 import javax.inject.Inject
 import javax.inject.Singleton
 
 /**
- * Implementation of the [GamesRepository] interface.
+ * Implementation of the [GamesRepository] interface. Games are looked up in memory first, then in
+ * the [GamesDiskCache] (e.g. after a cold start) and finally fetched from the network.
+ * Live score updates from the [LiveScoresBus] are patched into the cached games as they arrive.
  */
 @Singleton
 class GamesRepositoryImpl @Inject constructor(
     private val gamesService: NbaGamesService,
+    private val gamesDiskCache: GamesDiskCache,
+    private val finishedGames: FinishedGames,
+    liveScoresBus: LiveScoresBus,
     private val schedulerProvider: BaseSchedulerProvider) : GamesRepository {
 
-  private val gamesMap = HashMap<String, GameV2>()
+  companion object {
+    /**
+     * How long a day saved in the disk cache is considered fresh enough to skip the network
+     * when prefetching it.
+     */
+    private const val PREFETCH_MAX_DISK_AGE_MS = 15 * 60 * 1000L
+  }
+
+  private val gamesCache = GamesMemoryCache()
+  private var prefetchDisposable: Disposable? = null
+  private val patchedGames = PublishSubject.create<List<GameV2>>().toSerialized()
+  // Held for as long as the repository, i.e. the app, is alive.
+  private val scoreDeltasDisposable: Disposable
+
+  init {
+    // Patched on the thread the update was posted from, which is never the main thread.
+    scoreDeltasDisposable = liveScoresBus.scoreDeltas()
+        .subscribe({ applyScoreDeltas(it) }, { /* The bus never terminates, nothing to do. */ })
+  }
 
   override fun games(date: Calendar, forceNetwork: Boolean): Observable<GamesUiModel> {
+    // User-initiated loads take priority, prefetching can be resumed once this one is done.
+    cancelPrefetch()
+
     val network = networkSource(date).toObservable()
         .concatMap {
           if (it.isEmpty()) {
@@ -37,13 +69,7 @@ class GamesRepositoryImpl @Inject constructor(
         .startWith(GamesUiModel.networkInProgress())
 
     val memory = memorySource(date).toObservable()
-        .concatMap {
-          if (it.isEmpty()) {
-            Observable.just(GamesUiModel.memorySuccess(emptyList()))
-          } else {
-            Observable.just(GamesUiModel.memorySuccess(it.values.sortedBy { it.id }))
-          }
-        }
+        .map { GamesUiModel.memorySuccess(it) }
         .subscribeOn(schedulerProvider.io())
         .observeOn(schedulerProvider.ui())
         .startWith(GamesUiModel.memoryInProgress())
@@ -55,31 +81,187 @@ class GamesRepositoryImpl @Inject constructor(
     return Observable.concat(memory, network)
   }
 
+  override fun liveScores(date: Calendar): Observable<GamesUiModel> {
+    val startUtc = DateFormatUtil.getDateStartUtc(date)
+    val endUtc = DateFormatUtil.getDateEndUtc(date)
+    return patchedGames
+        .map { games -> games.filter { it.timeUtc > startUtc && it.timeUtc < endUtc } }
+        .filter { !it.isEmpty() }
+        .map { games -> GamesUiModel.liveUpdate(games.sortedBy { it.id }) }
+        .observeOn(schedulerProvider.ui())
+  }
+
+  override fun pollGames(date: Calendar): Observable<GamesUiModel> {
+    val day = date.clone() as Calendar
+    return pollSource(day, DateFormatUtil.getDateStartUtc(day), DateFormatUtil.getDateEndUtc(day))
+        .observeOn(schedulerProvider.ui())
+  }
+
+  private fun pollSource(date: Calendar, startUtc: Long, endUtc: Long): Observable<GamesUiModel> {
+    // Decided again before every poll, using the games as they were left by the previous one.
+    val delayMs = GamesPollingPolicy.nextPollDelayMs(
+        gamesCache.gamesBetween(startUtc, endUtc), System.currentTimeMillis() / 1000)
+    if (delayMs == GamesPollingPolicy.STOP_POLLING) {
+      return Observable.empty()
+    }
+
+    val poll = networkSource(date).toObservable()
+        .map { GamesUiModel.networkSuccess(it.values.sortedBy { it.id }) }
+        // A failed poll is simply retried on the next one.
+        .onErrorResumeNext(Observable.empty<GamesUiModel>())
+        // The timer fires on a computation thread, the request itself belongs on io.
+        .subscribeOn(schedulerProvider.io())
+    return Observable.timer(delayMs, TimeUnit.MILLISECONDS, schedulerProvider.computation())
+        .concatMap { poll }
+        .concatWith(Observable.defer { pollSource(date, startUtc, endUtc) })
+  }
+
+  override fun prefetchGames(date: Calendar, daysAround: Int) {
+    cancelPrefetch()
+
+    // Nearest days first, since those are the most likely to be navigated to next.
+    val days = (1..daysAround).flatMap { listOf(it, -it) }.map { offset ->
+      val day = date.clone() as Calendar
+      day.add(Calendar.DAY_OF_YEAR, offset)
+      day
+    }
+
+    // Days are fetched one at a time so prefetching never competes with itself for bandwidth.
+    prefetchDisposable = Observable.fromIterable(days)
+        .concatMap { prefetchDay(it).toObservable<Unit>() }
+        .subscribeOn(schedulerProvider.io())
+        .subscribe({}, { /* Prefetching is best-effort. */ })
+  }
+
+  override fun cancelPrefetch() {
+    prefetchDisposable?.dispose()
+    prefetchDisposable = null
+  }
+
+  private fun prefetchDay(date: Calendar): Completable {
+    val day = DateFormatUtil.getNoDashDateString(date.time)
+    val startUtc = DateFormatUtil.getDateStartUtc(date)
+    val endUtc = DateFormatUtil.getDateEndUtc(date)
+    return Completable.defer {
+      when {
+        !gamesCache.gamesBetween(startUtc, endUtc).isEmpty() -> Completable.complete()
+        isFreshOnDisk(day) -> {
+          cacheGames(gamesDiskCache.getGames(day))
+          Completable.complete()
+        }
+        else -> networkSource(date).toCompletable().onErrorComplete()
+      }
+    }
+  }
+
+  private fun isFreshOnDisk(day: String): Boolean {
+    return System.currentTimeMillis() - gamesDiskCache.lastSavedAt(day) < PREFETCH_MAX_DISK_AGE_MS
+  }
+
   private fun networkSource(date: Calendar): Single<Map<String, GameV2>> {
+    val day = DateFormatUtil.getNoDashDateString(date.time)
     return gamesService
         .getDayGames(
             "\"timeUtc\"",
             DateFormatUtil.getDateStartUtc(date),
             DateFormatUtil.getDateEndUtc(date))
-        .doOnSuccess { gamesMap.putAll(it) }
+        .doOnSuccess {
+          cacheGames(it)
+          gamesDiskCache.saveGames(day, it)
+        }
+  }
+
+  /**
+   * Merges the changed fields into the cached games they belong to. Deltas for games that are not
+   * cached are dropped, they will be up to date the next time their day is loaded.
+   */
+  private fun applyScoreDeltas(deltas: Map<String, JsonObject>) {
+    val patched = HashMap<String, GameV2>()
+    for ((key, delta) in deltas) {
+      val game = gamesCache.get(key) ?: continue
+      // Malformed deltas are ignored.
+      patched[key] = patch(game, delta) ?: continue
+    }
 
+    if (!patched.isEmpty()) {
+      cacheGames(patched)
+      patchedGames.onNext(patched.values.toList())
+    }
   }
 
-  @SuppressLint("VisibleForTests")
-  private fun memorySource(date: Calendar): Single<Map<String, GameV2>> {
-    return Single.just(gamesMap
-        .filterValues {
-          it.timeUtc > DateFormatUtil.getDateStartUtc(date)
-              && it.timeUtc < DateFormatUtil.getDateEndUtc(date)
-        })
-        .doOnSuccess { saveGamesInCache(it) }
+  /**
+   * Returns a copy of the game with the given fields changed, or null if one of them isn't a
+   * string or a number. Unknown fields are ignored.
+   */
+  private fun patch(game: GameV2, delta: JsonObject): GameV2? {
+    var patched = game
+    for ((field, value) in delta.entrySet()) {
+      if (!value.isJsonPrimitive) {
+        return null
+      }
+      val text = value.asString
+      patched = when (field) {
+        "arena" -> patched.copy(arena = text)
+        "awayTeamAbbr" -> patched.copy(awayTeamAbbr = text)
+        "awayTeamCity" -> patched.copy(awayTeamCity = text)
+        "awayTeamId" -> patched.copy(awayTeamId = text)
+        "awayTeamKey" -> patched.copy(awayTeamKey = text)
+        "awayTeamNickname" -> patched.copy(awayTeamNickname = text)
+        "awayTeamScore" -> patched.copy(awayTeamScore = text)
+        "city" -> patched.copy(city = text)
+        "date" -> patched.copy(date = text)
+        "gameClock" -> patched.copy(gameClock = text)
+        "gameStatus" -> patched.copy(gameStatus = text)
+        "homeTeamAbbr" -> patched.copy(homeTeamAbbr = text)
+        "homeTeamCity" -> patched.copy(homeTeamCity = text)
+        "homeTeamId" -> patched.copy(homeTeamId = text)
+        "homeTeamKey" -> patched.copy(homeTeamKey = text)
+        "homeTeamNickname" -> patched.copy(homeTeamNickname = text)
+        "homeTeamScore" -> patched.copy(homeTeamScore = text)
+        "id" -> patched.copy(id = text)
+        "periodName" -> patched.copy(periodName = text)
+        "periodStatus" -> patched.copy(periodStatus = text)
+        "periodValue" -> patched.copy(periodValue = text)
+        "time" -> patched.copy(time = text)
+        "timeUtc" -> patched.copy(timeUtc = text.toLongOrNull() ?: return null)
+        "totalPeriods" -> patched.copy(totalPeriods = text)
+        else -> patched
+      }
+    }
+    return patched
+  }
+
+  private fun memorySource(date: Calendar): Single<List<GameV2>> {
+    // Read the date eagerly, the calendar may be changed by the caller before subscription.
+    val day = DateFormatUtil.getNoDashDateString(date.time)
+    val startUtc = DateFormatUtil.getDateStartUtc(date)
+    val endUtc = DateFormatUtil.getDateEndUtc(date)
+    return Single.fromCallable {
+      val games = gamesCache.gamesBetween(startUtc, endUtc)
+      if (games.isEmpty()) {
+        // Nothing in memory for this day, likely a cold start. Fall back to the disk cache.
+        cacheGames(gamesDiskCache.getGames(day))
+        gamesCache.gamesBetween(startUtc, endUtc)
+      } else {
+        games
+      }
+    }
   }
 
   @VisibleForTesting
   fun saveGamesInCache(gamesMap: Map<String, GameV2>, clear: Boolean = false) {
     if (clear) {
-      this.gamesMap.clear()
+      gamesCache.clear()
     }
-    this.gamesMap.putAll(gamesMap)
+    cacheGames(gamesMap)
+  }
+
+  private fun cacheGames(gamesMap: Map<String, GameV2>) {
+    gamesCache.putAll(gamesMap)
+    finishedGames.addFinished(gamesMap.values)
+    // Localized now, off the main thread, so binding a game only looks its start time up.
+    gamesMap.values
+        .filter { it.gameStatus == NbaGame.PRE_GAME }
+        .forEach { DateFormatUtil.localizeGameTime(it.periodStatus) }
   }
 }
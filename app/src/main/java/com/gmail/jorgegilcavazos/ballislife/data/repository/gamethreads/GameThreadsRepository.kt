@@ -0,0 +1,24 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.gamethreads
+
+import io.reactivex.Single
+
+/**
+ * Resolves the reddit id of the game thread of a game.
+ */
+interface GameThreadsRepository {
+  /**
+   * Returns the id of the thread of the given type (live or post game) for the game between the
+   * given teams on the given date, or an empty string if it can't be found (yet).
+   *
+   * Resolved ids are cached and persisted. Threads that weren't found are not looked up again
+   * for a short while unless [forceRetry] is specified.
+   *
+   * @param gameDate the date of the game in UTC millis
+   */
+  fun findGameThreadId(
+      gameDate: Long,
+      type: String,
+      homeTeamAbbr: String,
+      awayTeamAbbr: String,
+      forceRetry: Boolean): Single<String>
+}
@@ -0,0 +1,145 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.gamethreads
+
+import android.content.SharedPreferences
+import com.gmail.jorgegilcavazos.ballislife.data.service.RedditGameThreadsService
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameThreadSummary
+import com.gmail.jorgegilcavazos.ballislife.util.DateFormatUtil
+import com.gmail.jorgegilcavazos.ballislife.util.GameThreadIndex
+import com.gmail.jorgegilcavazos.ballislife.util.schedulers.BaseSchedulerProvider
+import io.reactivex.Single
+import java.util.*
+import java.util.concurrent.TimeUnit
+import javax.inject.Inject
+import javax.inject.Named
+import javax.inject.Singleton
+
+/**
+ * Implementation of the [GameThreadsRepository] interface. Found ids are kept in memory and in
+ * shared preferences, since a thread id never changes once posted. Misses are remembered in
+ * memory only, so that streaming a game thread that doesn't exist yet doesn't download the day's
+ * threads on every refresh. Only the days around today and the day last looked up are kept, the
+ * others are evicted when a day is written, from shared preferences only when those days change.
+ */
+@Singleton
+class GameThreadsRepositoryImpl @Inject constructor(
+    private val gameThreadsService: RedditGameThreadsService,
+    @Named("localSharedPreferences") private val preferences: SharedPreferences,
+    private val schedulerProvider: BaseSchedulerProvider) : GameThreadsRepository {
+
+  companion object {
+    private const val KEY_PREFIX = "game_thread_id_"
+
+    /**
+     * How long a thread that wasn't found is reported as missing before looking it up again.
+     */
+    private const val NOT_FOUND_RETRY_MS = 60 * 1000L
+
+    /**
+     * Days kept before and after today, the days whose games are prefetched.
+     */
+    private const val KEPT_DAYS_AROUND_TODAY = 2
+  }
+
+  private val foundIds = HashMap<String, String>()
+  private val notFoundUntil = HashMap<String, Long>()
+  private val indexesByDay = HashMap<String, DayIndex>()
+  // Days kept when persisted ids were last evicted, they're evicted again once these change.
+  private var persistedDays: Set<String>? = null
+
+  override fun findGameThreadId(
+      gameDate: Long,
+      type: String,
+      homeTeamAbbr: String,
+      awayTeamAbbr: String,
+      forceRetry: Boolean): Single<String> {
+    val day = DateFormatUtil.getNoDashDateString(Date(gameDate))
+    val key = "$day|$type|$homeTeamAbbr|$awayTeamAbbr"
+
+    return Single.defer {
+      val cachedId = cachedId(key)
+      when {
+        cachedId != null -> Single.just(cachedId)
+        !forceRetry && isRecentlyNotFound(key) -> Single.just("")
+        else -> gameThreadsService.fetchGameThreads(day)
+            .map { indexFor(day, it).find(type, homeTeamAbbr, awayTeamAbbr) }
+            .doOnSuccess { saveResult(key, it) }
+      }
+    }
+  }
+
+  /**
+   * Returns the index of the given day's threads. The index is reused while the service keeps
+   * returning the same response, so resolving every game of the day reads the titles only once.
+   */
+  @Synchronized
+  private fun indexFor(day: String, threads: Map<String, GameThreadSummary>): GameThreadIndex {
+    val dayIndex = indexesByDay[day]
+    if (dayIndex != null && dayIndex.threads === threads) {
+      return dayIndex.index
+    }
+    val index = GameThreadIndex(threads.values)
+    indexesByDay.keys.retainAll(keptDays(day))
+    indexesByDay.put(day, DayIndex(threads, index))
+    return index
+  }
+
+  @Synchronized
+  private fun cachedId(key: String): String? {
+    foundIds[key]?.let { return it }
+    val persistedId = preferences.getString(KEY_PREFIX + key, null) ?: return null
+    foundIds.put(key, persistedId)
+    return persistedId
+  }
+
+  @Synchronized
+  private fun isRecentlyNotFound(key: String): Boolean {
+    val until = notFoundUntil[key] ?: return false
+    return now() < until
+  }
+
+  @Synchronized
+  private fun saveResult(key: String, threadId: String) {
+    val keptDays = keptDays(dayOf(key))
+    foundIds.keys.retainAll { dayOf(it) in keptDays }
+    notFoundUntil.keys.retainAll { dayOf(it) in keptDays }
+    if (threadId.isEmpty()) {
+      notFoundUntil.put(key, now() + NOT_FOUND_RETRY_MS)
+      return
+    }
+    notFoundUntil.remove(key)
+    foundIds.put(key, threadId)
+    val editor = preferences.edit()
+    if (keptDays != persistedDays) {
+      for (persistedKey in preferences.all.keys) {
+        if (persistedKey.startsWith(KEY_PREFIX)
+            && dayOf(persistedKey.removePrefix(KEY_PREFIX)) !in keptDays) {
+          editor.remove(persistedKey)
+        }
+      }
+      persistedDays = keptDays
+    }
+    editor.putString(KEY_PREFIX + key, threadId).apply()
+  }
+
+  /**
+   * Returns the days around today and the given one.
+   */
+  private fun keptDays(day: String): Set<String> {
+    val days = HashSet<String>()
+    days.add(day)
+    val calendar = Calendar.getInstance()
+    calendar.timeInMillis = now()
+    calendar.add(Calendar.DAY_OF_YEAR, -KEPT_DAYS_AROUND_TODAY)
+    repeat(2 * KEPT_DAYS_AROUND_TODAY + 1) {
+      days.add(DateFormatUtil.getNoDashDateString(calendar.time))
+      calendar.add(Calendar.DAY_OF_YEAR, 1)
+    }
+    return days
+  }
+
+  private fun dayOf(key: String) = key.substringBefore('|')
+
+  private fun now() = schedulerProvider.computation().now(TimeUnit.MILLISECONDS)
+
+  private class DayIndex(val threads: Map<String, GameThreadSummary>, val index: GameThreadIndex)
+}
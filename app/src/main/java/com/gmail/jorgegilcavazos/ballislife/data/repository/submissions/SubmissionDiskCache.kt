@@ -0,0 +1,25 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.submissions
+
+import net.dean.jraw.models.CommentSort
+import net.dean.jraw.models.Submission
+
+/**
+ * Persists snapshots of recently viewed [Submission]s and their comments so that reopening one
+ * after process death can show it before the network responds.
+ * Calls perform disk I/O and should not be made from the main thread.
+ */
+interface SubmissionDiskCache {
+
+  /**
+   * Returns the snapshot of the given submission if one was saved with the given comment sort
+   * and hasn't expired, or null otherwise.
+   */
+  fun get(id: String, sort: CommentSort): Submission?
+
+  /**
+   * Replaces the snapshot of the given submission.
+   */
+  fun save(submission: Submission, sort: CommentSort)
+
+  fun clear()
+}
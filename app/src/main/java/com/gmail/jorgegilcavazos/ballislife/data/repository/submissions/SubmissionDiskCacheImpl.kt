@@ -0,0 +1,172 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.submissions
+
+import android.app.Application
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.ObjectMapper
+import net.dean.jraw.models.Comment
+import net.dean.jraw.models.CommentNode
+import net.dean.jraw.models.CommentSort
+import net.dean.jraw.models.MoreChildren
+import net.dean.jraw.models.Submission
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.File
+import java.io.IOException
+import java.util.*
+import java.util.zip.GZIPInputStream
+import java.util.zip.GZIPOutputStream
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Implementation of the [SubmissionDiskCache] interface. Stores one gzipped binary file per
+ * submission in the app's cache directory, holding the comment sort, the submission's JSON and
+ * the JSON of each top level comment, which includes its replies. Keeping reddit's own JSON lets
+ * JRAW rebuild the exact comment tree on read.
+ *
+ * Snapshots older than [MAX_AGE_MS] are dropped, as are the oldest ones once the snapshots
+ * together take more than [MAX_TOTAL_BYTES].
+ */
+@Singleton
+class SubmissionDiskCacheImpl @Inject constructor(application: Application)
+  : SubmissionDiskCache {
+
+  companion object {
+    private const val SUBMISSIONS_DIR = "submissions"
+    private const val FILE_EXTENSION = ".snapshot"
+    private const val TEMP_EXTENSION = ".tmp"
+    private const val VERSION = 1
+    private const val MAX_AGE_MS = 3 * 24 * 60 * 60 * 1000L
+    private const val MAX_TOTAL_BYTES = 8 * 1024 * 1024L
+  }
+
+  private val submissionsDir = File(application.cacheDir, SUBMISSIONS_DIR)
+  private val objectMapper = ObjectMapper()
+
+  @Synchronized
+  override fun get(id: String, sort: CommentSort): Submission? {
+    val file = snapshotFile(id)
+    if (!file.exists()) {
+      return null
+    }
+    if (isExpired(file)) {
+      file.delete()
+      return null
+    }
+
+    return try {
+      DataInputStream(GZIPInputStream(file.inputStream().buffered())).use { read(it, sort) }
+    } catch (e: IOException) {
+      // Corrupted or written by an older version, it will be replaced on the next network load.
+      file.delete()
+      null
+    } catch (e: RuntimeException) {
+      file.delete()
+      null
+    }
+  }
+
+  @Synchronized
+  override fun save(submission: Submission, sort: CommentSort) {
+    if (!submissionsDir.exists() && !submissionsDir.mkdirs()) {
+      return
+    }
+
+    // Write to a temp file first so a crash mid-write never leaves a truncated snapshot behind.
+    val tempFile = File(submissionsDir, submission.id + TEMP_EXTENSION)
+    try {
+      DataOutputStream(GZIPOutputStream(tempFile.outputStream().buffered())).use {
+        write(it, submission, sort)
+      }
+      if (!tempFile.renameTo(snapshotFile(submission.id))) {
+        tempFile.delete()
+        return
+      }
+    } catch (e: IOException) {
+      tempFile.delete()
+      return
+    }
+
+    trim()
+  }
+
+  @Synchronized
+  override fun clear() {
+    submissionsDir.listFiles()?.forEach { it.delete() }
+  }
+
+  private fun write(output: DataOutputStream, submission: Submission, sort: CommentSort) {
+    val comments = submission.comments
+    val topLevelComments = comments?.children ?: emptyList<CommentNode>()
+    val moreChildren = if (comments?.hasMoreComments() == true) comments.moreChildren else null
+
+    output.writeInt(VERSION)
+    output.writeUTF(sort.name)
+    writeJson(output, submission.dataNode)
+    output.writeInt(topLevelComments.size)
+    for (node in topLevelComments) {
+      writeJson(output, node.comment.dataNode)
+    }
+    output.writeBoolean(moreChildren != null)
+    if (moreChildren != null) {
+      writeJson(output, moreChildren.dataNode)
+    }
+  }
+
+  private fun read(input: DataInputStream, sort: CommentSort): Submission? {
+    if (input.readInt() != VERSION) {
+      throw IOException("Unknown snapshot version")
+    }
+    if (input.readUTF() != sort.name) {
+      return null
+    }
+
+    val submissionNode = readJson(input)
+    val topLevelComments = ArrayList<Comment>()
+    repeat(input.readInt()) {
+      topLevelComments.add(Comment(readJson(input)))
+    }
+    val moreChildren = if (input.readBoolean()) MoreChildren(readJson(input)) else null
+
+    val fullName = submissionNode.get("name").asText()
+    return Submission(submissionNode, CommentNode(fullName, topLevelComments, moreChildren, sort))
+  }
+
+  private fun writeJson(output: DataOutputStream, node: JsonNode) {
+    val bytes = objectMapper.writeValueAsBytes(node)
+    output.writeInt(bytes.size)
+    output.write(bytes)
+  }
+
+  private fun readJson(input: DataInputStream): JsonNode {
+    val bytes = ByteArray(input.readInt())
+    input.readFully(bytes)
+    return objectMapper.readTree(bytes)
+  }
+
+  private fun snapshotFile(id: String) = File(submissionsDir, id + FILE_EXTENSION)
+
+  private fun isExpired(file: File) = System.currentTimeMillis() - file.lastModified() > MAX_AGE_MS
+
+  private fun trim() {
+    val files = submissionsDir.listFiles { _, name -> name.endsWith(FILE_EXTENSION) } ?: return
+    var totalBytes = 0L
+    val kept = ArrayList<File>()
+    for (file in files) {
+      if (isExpired(file)) {
+        file.delete()
+      } else {
+        totalBytes += file.length()
+        kept.add(file)
+      }
+    }
+
+    for (file in kept.sortedBy { it.lastModified() }) {
+      if (totalBytes <= MAX_TOTAL_BYTES) {
+        break
+      }
+      totalBytes -= file.length()
+      file.delete()
+    }
+  }
+}
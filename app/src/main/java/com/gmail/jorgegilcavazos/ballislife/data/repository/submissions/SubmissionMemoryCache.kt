@@ -0,0 +1,101 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.submissions
+
+import android.content.ComponentCallbacks2
+import com.gmail.jorgegilcavazos.ballislife.features.model.SubmissionWrapper
+import java.util.*
+
+/**
+ * Least recently used cache of [SubmissionWrapper]s keyed by their id. The cache is bounded by
+ * the total estimated weight of its submissions rather than by their count, since a game thread
+ * with thousands of comments retains far more memory than a regular post.
+ *
+ * The most recently used submission is never evicted, even if it's over the limit on its own,
+ * because it's usually the one on screen and replying to it needs it to be cached.
+ */
+class SubmissionMemoryCache(
+    private val maxWeight: Long,
+    private val weigher: (SubmissionWrapper) -> Long = SubmissionWeigher::weigh) {
+
+  private val entries = LinkedHashMap<String, Entry>(16, 0.75f, true)
+  private var weight = 0L
+  private var hits = 0L
+  private var misses = 0L
+  private var evictions = 0L
+
+  @Synchronized
+  fun get(id: String): SubmissionWrapper? {
+    val entry = entries[id]
+    if (entry == null) {
+      misses++
+      return null
+    }
+    hits++
+    return entry.wrapper
+  }
+
+  @Synchronized
+  fun put(wrapper: SubmissionWrapper) {
+    val entry = Entry(wrapper, weigher(wrapper))
+    val previous = entries.put(wrapper.id, entry)
+    if (previous != null) {
+      weight -= previous.weight
+    }
+    weight += entry.weight
+    trimToWeight(maxWeight)
+  }
+
+  /**
+   * Puts the given submission only if there's none with its id, e.g. a snapshot that shouldn't
+   * replace a fresher submission that made it to the cache first. Returns whether it was put.
+   */
+  @Synchronized
+  fun putIfAbsent(wrapper: SubmissionWrapper): Boolean {
+    if (entries.containsKey(wrapper.id)) {
+      return false
+    }
+    put(wrapper)
+    return true
+  }
+
+  /**
+   * Releases memory according to the given [ComponentCallbacks2] trim level. Half of the cache
+   * is dropped while running low on memory, and everything but the last used submission once the
+   * app is in the background or memory is critically low.
+   */
+  @Synchronized
+  fun trimMemory(level: Int) {
+    when {
+      level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND
+          || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL -> trimToWeight(0)
+      level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW -> trimToWeight(maxWeight / 2)
+    }
+  }
+
+  @Synchronized
+  fun clear() {
+    entries.clear()
+    weight = 0
+  }
+
+  @Synchronized
+  fun stats() = Stats(hits, misses, evictions, entries.size, weight)
+
+  private fun trimToWeight(targetWeight: Long) {
+    val iterator = entries.values.iterator()
+    while (weight > targetWeight && entries.size > 1) {
+      val eldest = iterator.next()
+      iterator.remove()
+      weight -= eldest.weight
+      evictions++
+    }
+  }
+
+  private class Entry(val wrapper: SubmissionWrapper, val weight: Long)
+
+  data class Stats(
+      val hits: Long,
+      val misses: Long,
+      val evictions: Long,
+      val size: Int,
+      val weight: Long)
+}
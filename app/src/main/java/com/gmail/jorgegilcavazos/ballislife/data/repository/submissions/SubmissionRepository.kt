@@ -2,12 +2,13 @@ package com.gmail.jorgegilcavazos.ballislife.data.repository.submissions
 
 import com.gmail.jorgegilcavazos.ballislife.features.model.SubmissionWrapper
 import com.google.common.base.Optional
+import io.reactivex.Observable
 import io.reactivex.Single
 import net.dean.jraw.models.CommentSort
 import net.dean.jraw.models.Submission
 
 /**
- * Stores recently fetched submissions in memory.
+ * Stores recently fetched submissions in memory, and snapshots of recently viewed ones on disk.
  * @see SubmissionWrapper
  */
 interface SubmissionRepository {
@@ -20,6 +21,16 @@ interface SubmissionRepository {
       sort: CommentSort,
       forceReload: Boolean): Single<SubmissionWrapper>
 
+  /**
+   * Like [getSubmission], but when the submission isn't in memory a snapshot saved on disk by a
+   * previous visit is emitted first, if available, followed by the submission from the network.
+   * The network result is saved as the new snapshot.
+   */
+  fun getSubmissionWithSnapshot(
+      id: String,
+      sort: CommentSort,
+      forceReload: Boolean): Observable<SubmissionWrapper>
+
   /**
    * Returns a submission that matches the given id if it is available from memory.
    * User [getSubmission] if a specific comment sort is needed and if unavailable from cache a
@@ -30,4 +41,12 @@ interface SubmissionRepository {
     fun saveSubmission(submissionWrapper: SubmissionWrapper)
 
     fun reset()
+
+  /**
+   * Releases cached submissions according to the given
+   * [android.content.ComponentCallbacks2] trim level.
+   */
+  fun trimMemory(level: Int)
+
+  fun cacheStats(): SubmissionMemoryCache.Stats
 }
\ No newline at end of file
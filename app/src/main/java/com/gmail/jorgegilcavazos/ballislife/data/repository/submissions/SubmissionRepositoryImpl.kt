@@ -3,51 +3,115 @@ package com.gmail.jorgegilcavazos.ballislife.data.repository.submissions
 import com.gmail.jorgegilcavazos.ballislife.data.reddit.RedditAuthentication
 import com.gmail.jorgegilcavazos.ballislife.data.service.RedditService
 import com.gmail.jorgegilcavazos.ballislife.features.model.SubmissionWrapper
+import com.gmail.jorgegilcavazos.ballislife.util.schedulers.BaseSchedulerProvider
 import com.google.common.base.Optional
+import io.reactivex.Completable
+import io.reactivex.Maybe
+import io.reactivex.Observable
 import io.reactivex.Single
 import net.dean.jraw.models.CommentSort
 import net.dean.jraw.models.Submission
-import java.util.*
 import javax.inject.Inject
 import javax.inject.Singleton
 
 /**
- * Implementation of the [SubmissionRepository] interface. Stores [SubmissionWrapper]s in a map
- * keyed by their id.
- * TODO: should there be a limit to how many submissions are cached?
+ * Implementation of the [SubmissionRepository] interface. Stores [SubmissionWrapper]s in a
+ * [SubmissionMemoryCache] bounded to a share of the heap, and snapshots in a [SubmissionDiskCache]
+ * written in the background.
  */
 @Singleton
 class SubmissionRepositoryImpl
 @Inject constructor(
     val redditAuthentication: RedditAuthentication,
-    val redditService: RedditService) : SubmissionRepository {
-  private val idToSubmissionMap = HashMap<String, SubmissionWrapper>()
+    val redditService: RedditService,
+    private val submissionDiskCache: SubmissionDiskCache,
+    private val schedulerProvider: BaseSchedulerProvider) : SubmissionRepository {
+  companion object {
+    /**
+     * Cached submissions may take up to 1/n of the max heap, by their estimated weight.
+     */
+    private const val HEAP_DIVISOR = 8
+  }
+
+  private val cache = SubmissionMemoryCache(Runtime.getRuntime().maxMemory() / HEAP_DIVISOR)
 
   override fun getSubmission(
       id: String,
       sort: CommentSort,
       forceReload: Boolean): Single<SubmissionWrapper> {
-    // Use submission in cache if available and has the right comment sorting.
-    if (!forceReload && idToSubmissionMap[id] != null && idToSubmissionMap[id]?.sort == sort) {
-      return Single.just(idToSubmissionMap[id])
-    }
-    return redditService.getSubmission(redditAuthentication.redditClient, id, sort)
+    val network = redditService.getSubmission(redditAuthentication.redditClient, id, sort)
         .flatMap { s: Submission ->
           val wrapper = SubmissionWrapper(s)
           wrapper.sort = sort
-          idToSubmissionMap[wrapper.id] = wrapper
+          cache.put(wrapper)
           Single.just(wrapper)
         }
+    if (forceReload) {
+      return network
+    }
+    // Use submission in cache if available and has the right comment sorting.
+    return Single.defer {
+      val cached = cache.get(id)
+      if (cached != null && cached.sort == sort) Single.just(cached) else network
+    }
+  }
+
+  override fun getSubmissionWithSnapshot(
+      id: String,
+      sort: CommentSort,
+      forceReload: Boolean): Observable<SubmissionWrapper> {
+    val network = getSubmission(id, sort, true)
+        .doOnSuccess { saveSnapshot(it, sort) }
+        .toObservable()
+    if (forceReload) {
+      return network
+    }
+
+    val snapshot = Maybe.fromCallable<SubmissionWrapper> {
+      submissionDiskCache.get(id, sort)?.let { SubmissionWrapper(it).apply { this.sort = sort } }
+    }
+        // Cached so that the snapshot can be replied to before, or without, the network result.
+        // Never replaces the network result if that one was cached first.
+        .doOnSuccess { cache.putIfAbsent(it) }
+        .subscribeOn(schedulerProvider.io())
+        .toObservable()
+
+    return Observable.defer {
+      val cached = cache.get(id)
+      if (cached != null && cached.sort == sort) {
+        Observable.just(cached)
+      } else {
+        // Both start right away, a snapshot read after the network responded is dropped.
+        network.publish { shared -> Observable.merge(snapshot.takeUntil(shared), shared) }
+      }
+    }
   }
 
   override fun getCachedSubmission(id: String): Optional<Submission> {
-    val submission = idToSubmissionMap[id]?.submission
-    return Optional.of(submission)
+    return Optional.fromNullable(cache.get(id)?.submission)
   }
 
   override fun saveSubmission(submissionWrapper: SubmissionWrapper) {
-    idToSubmissionMap[submissionWrapper.id] = submissionWrapper
+    cache.put(submissionWrapper)
   }
 
-  override fun reset() = idToSubmissionMap.clear()
+  override fun reset() {
+    cache.clear()
+    Completable.fromAction { submissionDiskCache.clear() }
+        .subscribeOn(schedulerProvider.io())
+        .onErrorComplete()
+        .subscribe()
+  }
+
+  override fun trimMemory(level: Int) = cache.trimMemory(level)
+
+  override fun cacheStats() = cache.stats()
+
+  private fun saveSnapshot(wrapper: SubmissionWrapper, sort: CommentSort) {
+    val submission = wrapper.submission ?: return
+    Completable.fromAction { submissionDiskCache.save(submission, sort) }
+        .subscribeOn(schedulerProvider.io())
+        .onErrorComplete()
+        .subscribe()
+  }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.submissions
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.SubmissionWrapper
+
+/**
+ * Estimates how much memory a cached [SubmissionWrapper] retains. Most of it is the comment tree,
+ * so the estimate is a fixed cost per comment plus the size of its body, as plain text and HTML.
+ * It's only meant to compare submissions against each other, not to be exact.
+ */
+object SubmissionWeigher {
+
+  /**
+   * Approximate cost of a submission's own fields and JSON node, without comments.
+   */
+  private const val SUBMISSION_BYTES = 4 * 1024L
+
+  /**
+   * Approximate cost of a comment's node, JSON fields and children list, without its body.
+   */
+  private const val COMMENT_BYTES = 1024L
+
+  private const val BYTES_PER_CHAR = 2L
+
+  fun weigh(wrapper: SubmissionWrapper): Long {
+    var bytes = SUBMISSION_BYTES + BYTES_PER_CHAR * (wrapper.selfTextHtml?.length ?: 0)
+    val comments = wrapper.submission?.comments ?: return bytes
+    for (node in comments.walkTree()) {
+      val comment = node.comment ?: continue
+      val bodyLength = (comment.body?.length ?: 0) + (comment.data("body_html")?.length ?: 0)
+      bytes += COMMENT_BYTES + BYTES_PER_CHAR * bodyLength
+    }
+    return bytes
+  }
+}
@@ -0,0 +1,31 @@
+package com.gmail.jorgegilcavazos.ballislife.data.service;
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.Highlight;
+
+import java.util.Map;
+
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+
+/**
+ * {@link HighlightsService} that coalesces identical page requests made at the same time.
+ */
+public class CoalescingHighlightsService implements HighlightsService {
+
+    private static final long HIGHLIGHTS_TTL_MS = 30 * 1000;
+
+    private final HighlightsService service;
+    private final SingleFlight<String, Map<String, Highlight>> highlights;
+
+    public CoalescingHighlightsService(HighlightsService service, Scheduler clock) {
+        this.service = service;
+        highlights = new SingleFlight<>(HIGHLIGHTS_TTL_MS, clock);
+    }
+
+    @Override
+    public Single<Map<String, Highlight>> getHighlights(String orderBy, String startAt,
+                                                        String endAt, String limitToLast) {
+        return highlights.get(orderBy + "|" + startAt + "|" + endAt + "|" + limitToLast,
+                () -> service.getHighlights(orderBy, startAt, endAt, limitToLast));
+    }
+}
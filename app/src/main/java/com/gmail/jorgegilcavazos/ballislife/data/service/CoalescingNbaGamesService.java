@@ -0,0 +1,40 @@
+package com.gmail.jorgegilcavazos.ballislife.data.service;
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreValues;
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2;
+
+import java.util.Map;
+
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+
+/**
+ * {@link NbaGamesService} that coalesces identical requests made by different screens at the
+ * same time. Results are only kept for a few seconds so that polling still sees fresh scores.
+ */
+public class CoalescingNbaGamesService implements NbaGamesService {
+
+    private static final long GAMES_TTL_MS = 5 * 1000;
+    private static final long BOX_SCORE_TTL_MS = 5 * 1000;
+
+    private final NbaGamesService service;
+    private final SingleFlight<String, Map<String, GameV2>> dayGames;
+    private final SingleFlight<String, BoxScoreValues> boxScores;
+
+    public CoalescingNbaGamesService(NbaGamesService service, Scheduler clock) {
+        this.service = service;
+        dayGames = new SingleFlight<>(GAMES_TTL_MS, clock);
+        boxScores = new SingleFlight<>(BOX_SCORE_TTL_MS, clock);
+    }
+
+    @Override
+    public Single<Map<String, GameV2>> getDayGames(String orderBy, long startAt, long endAt) {
+        return dayGames.get(orderBy + "|" + startAt + "|" + endAt,
+                () -> service.getDayGames(orderBy, startAt, endAt));
+    }
+
+    @Override
+    public Single<BoxScoreValues> boxScore(String gameId, Long dayEndUtc) {
+        return boxScores.get(gameId, () -> service.boxScore(gameId, dayEndUtc));
+    }
+}
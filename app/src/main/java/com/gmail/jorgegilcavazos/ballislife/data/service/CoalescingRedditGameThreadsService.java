@@ -0,0 +1,30 @@
+package com.gmail.jorgegilcavazos.ballislife.data.service;
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameThreadSummary;
+
+import java.util.Map;
+
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+
+/**
+ * {@link RedditGameThreadsService} that coalesces requests for the same day, e.g. from the live
+ * and post game thread tabs opened together.
+ */
+public class CoalescingRedditGameThreadsService implements RedditGameThreadsService {
+
+    private static final long GAME_THREADS_TTL_MS = 30 * 1000;
+
+    private final RedditGameThreadsService service;
+    private final SingleFlight<String, Map<String, GameThreadSummary>> gameThreads;
+
+    public CoalescingRedditGameThreadsService(RedditGameThreadsService service, Scheduler clock) {
+        this.service = service;
+        gameThreads = new SingleFlight<>(GAME_THREADS_TTL_MS, clock);
+    }
+
+    @Override
+    public Single<Map<String, GameThreadSummary>> fetchGameThreads(String date) {
+        return gameThreads.get(date, () -> service.fetchGameThreads(date));
+    }
+}
@@ -0,0 +1,125 @@
+package com.gmail.jorgegilcavazos.ballislife.data.service;
+
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+
+import com.gmail.jorgegilcavazos.ballislife.data.repository.games.FinishedGames;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Scheduler;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Network interceptor that assigns a Cache-Control policy to the Firebase database responses,
+ * which don't carry useful caching headers, so they can be served from the HTTP cache.
+ *
+ * Data that is still changing is only cached for a few seconds, while days long over, finished
+ * box scores and standings are cached long enough to be read without any network I/O. A box score
+ * is finished once its game is seen finished, or once its day is settled like the games of past
+ * days, which requests tell with the {@link #DAY_END_HEADER}.
+ */
+public class FirebaseCacheInterceptor implements Interceptor {
+
+    static final long LIVE_GAMES_MAX_AGE_SECONDS = 5;
+    static final long PAST_GAMES_MAX_AGE_SECONDS = TimeUnit.DAYS.toSeconds(1);
+    static final long LIVE_BOX_SCORE_MAX_AGE_SECONDS = 10;
+    static final long FINISHED_BOX_SCORE_MAX_AGE_SECONDS = TimeUnit.DAYS.toSeconds(365);
+    static final long STANDINGS_MAX_AGE_SECONDS = TimeUnit.HOURS.toSeconds(3);
+    static final long HIGHLIGHTS_MAX_AGE_SECONDS = 60;
+    static final long GAME_THREADS_MAX_AGE_SECONDS = 30;
+
+    /**
+     * Request header with the end of the day of a box score's game, in seconds. Removed before
+     * the request is sent.
+     */
+    public static final String DAY_END_HEADER = "X-Ballislife-Day-End";
+
+    /**
+     * Games of a day are considered settled once this long has passed since the day ended.
+     */
+    private static final long DAY_SETTLED_SECONDS = TimeUnit.HOURS.toSeconds(6);
+
+    private final String host;
+    private final FinishedGames finishedGames;
+    private final Scheduler clock;
+
+    public FirebaseCacheInterceptor(String host, FinishedGames finishedGames, Scheduler clock) {
+        this.host = host;
+        this.finishedGames = finishedGames;
+        this.clock = clock;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String cacheControl = cacheControlFor(request);
+        if (request.header(DAY_END_HEADER) != null) {
+            request = request.newBuilder().removeHeader(DAY_END_HEADER).build();
+        }
+        Response response = chain.proceed(request);
+
+        if (cacheControl == null || !response.isSuccessful()) {
+            return response;
+        }
+        return response.newBuilder()
+                .removeHeader("Pragma")
+                .header("Cache-Control", cacheControl)
+                .build();
+    }
+
+    /**
+     * Returns the Cache-Control value to store the response of the given request with, or null to
+     * leave its headers untouched.
+     */
+    @Nullable
+    @VisibleForTesting
+    String cacheControlFor(Request request) {
+        HttpUrl url = request.url();
+        List<String> segments = url.pathSegments();
+        if (!url.host().equals(host) || segments.isEmpty()) {
+            return null;
+        }
+
+        switch (segments.get(0)) {
+            case "games":
+                return maxAge(isSettledDay(url.queryParameter("endAt"))
+                        ? PAST_GAMES_MAX_AGE_SECONDS : LIVE_GAMES_MAX_AGE_SECONDS);
+            case "boxscore":
+                if (isSettledDay(request.header(DAY_END_HEADER))
+                        || (segments.size() > 1 && finishedGames.isFinished(segments.get(1)))) {
+                    return maxAge(FINISHED_BOX_SCORE_MAX_AGE_SECONDS);
+                }
+                return maxAge(LIVE_BOX_SCORE_MAX_AGE_SECONDS);
+            case "standings":
+                return maxAge(STANDINGS_MAX_AGE_SECONDS);
+            case "highlights":
+                return maxAge(HIGHLIGHTS_MAX_AGE_SECONDS);
+            case "gamethreads":
+                return maxAge(GAME_THREADS_MAX_AGE_SECONDS);
+            default:
+                return null;
+        }
+    }
+
+    private boolean isSettledDay(@Nullable String endAt) {
+        if (endAt == null) {
+            return false;
+        }
+        try {
+            long endUtc = Long.parseLong(endAt);
+            return clock.now(TimeUnit.SECONDS) - endUtc > DAY_SETTLED_SECONDS;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static String maxAge(long seconds) {
+        return "public, max-age=" + seconds;
+    }
+}
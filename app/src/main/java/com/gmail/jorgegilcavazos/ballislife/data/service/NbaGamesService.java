@@ -7,6 +7,7 @@ import java.util.Map;
 
 import io.reactivex.Single;
 import retrofit2.http.GET;
+import retrofit2.http.Header;
 import retrofit2.http.Path;
 import retrofit2.http.Query;
 
@@ -17,7 +18,13 @@ public interface NbaGamesService {
             @Query("orderBy") String orderBy,
             @Query("startAt") long startAt, @Query("endAt") long endAt);
 
+    /**
+     * @param dayEndUtc end of the day the game is played, in seconds, or null if unknown. Only
+     *                  used to decide how long the box score is cached, it isn't sent.
+     */
     @GET("boxscore/{gameId}/g.json")
-    Single<BoxScoreValues> boxScore(@Path("gameId") String gameId);
+    Single<BoxScoreValues> boxScore(
+            @Path("gameId") String gameId,
+            @Header(FirebaseCacheInterceptor.DAY_END_HEADER) Long dayEndUtc);
 
 }
@@ -0,0 +1,41 @@
+package com.gmail.jorgegilcavazos.ballislife.data.service;
+
+import com.gmail.jorgegilcavazos.ballislife.util.NetworkUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Application interceptor that lets requests to the given host be answered with stale cached
+ * responses while there is no network, instead of failing right away.
+ */
+public class OfflineCacheInterceptor implements Interceptor {
+
+    private static final int MAX_STALE_DAYS = 7;
+
+    private final String host;
+    private final NetworkUtils networkUtils;
+
+    public OfflineCacheInterceptor(String host, NetworkUtils networkUtils) {
+        this.host = host;
+        this.networkUtils = networkUtils;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (request.url().host().equals(host) && !networkUtils.isNetworkAvailable()) {
+            request = request.newBuilder()
+                    .cacheControl(new CacheControl.Builder()
+                            .maxStale(MAX_STALE_DAYS, TimeUnit.DAYS)
+                            .build())
+                    .build();
+        }
+        return chain.proceed(request);
+    }
+}
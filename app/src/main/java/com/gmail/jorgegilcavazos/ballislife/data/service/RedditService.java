@@ -10,11 +10,13 @@ import net.dean.jraw.models.CommentSort;
 import net.dean.jraw.models.Contribution;
 import net.dean.jraw.models.Listing;
 import net.dean.jraw.models.Submission;
+import net.dean.jraw.models.Thing;
 import net.dean.jraw.models.VoteDirection;
 import net.dean.jraw.paginators.SubredditPaginator;
 import net.dean.jraw.paginators.UserContributionPaginator;
 
 import java.util.List;
+import java.util.Map;
 
 import io.reactivex.Completable;
 import io.reactivex.Single;
@@ -32,18 +34,44 @@ public interface RedditService {
 
     /**
      * Returns an Rx Single that emits the data of a full comment given its id and the id of the
-     * submission it belongs to.
+     * submission it belongs to. Only the comment is fetched, without its parents or replies.
      */
     Single<CommentNode> getComment(RedditClient redditClient, String threadId, String commentId);
 
+    /**
+     * Returns an Rx Single that emits the node of a comment that was just posted. It's built from
+     * the reply when reddit returned the whole comment, otherwise the comment is fetched by id
+     * until it's available, waiting a bit longer after each attempt.
+     *
+     * @param threadId id of the submission the comment was posted to
+     * @param posted   comment returned by {@link #replyToComment} or {@link #replyToThread}
+     */
+    Single<CommentNode> getPostedComment(RedditClient redditClient, String threadId,
+                                         Comment posted);
+
+    /**
+     * Returns an Rx Single that downloads the next batch of the replies of the given comments that
+     * weren't loaded with their thread, with a single morechildren request for all of them. The
+     * tree isn't changed, the replies are added to it with
+     * {@link CommentNode#insertMoreComments(List)} from the thread that owns the tree.
+     *
+     * @param linkFullName fullname of the submission the comments belong to
+     * @param parents      comments with a "load more" row
+     * @return the comments and "more" placeholders loaded, by the fullname of the comment of
+     * {@code parents} they belong under
+     */
+    Single<Map<String, List<Thing>>> getMoreComments(RedditClient redditClient,
+                                                     String linkFullName, CommentSort sort,
+                                                     List<CommentNode> parents);
+
     /**
      * Returns an Rx Single that posts a reply to a given comment.
      *
      * @param parent comment that we are replying to
      * @param text   contents of the reply
-     * @return the id of the posted comment
+     * @return the posted comment, as returned by reddit
      */
-    Single<String> replyToComment(RedditClient redditClient, Comment parent, String text);
+    Single<Comment> replyToComment(RedditClient redditClient, Comment parent, String text);
 
     /**
      * Returns an Rx Completable that performs a vote on a comment.
@@ -65,9 +93,9 @@ public interface RedditService {
      *
      * @param submission that we are replying to
      * @param text       contents of the reply
-     * @return the id of the posted comment
+     * @return the posted comment, as returned by reddit
      */
-    Single<String> replyToThread(RedditClient redditClient, Submission submission, String text);
+    Single<Comment> replyToThread(RedditClient redditClient, Submission submission, String text);
 
     /**
      * Returns an Rx Single that emits a full reddit submittion.
@@ -1,12 +1,15 @@
 package com.gmail.jorgegilcavazos.ballislife.data.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.gmail.jorgegilcavazos.ballislife.features.model.SubscriberCount;
 import com.gmail.jorgegilcavazos.ballislife.util.exception.ReplyNotAvailableException;
 import com.gmail.jorgegilcavazos.ballislife.util.exception.ReplyToCommentException;
 import com.gmail.jorgegilcavazos.ballislife.util.exception.ReplyToThreadException;
 
+import net.dean.jraw.Endpoints;
 import net.dean.jraw.RedditClient;
 import net.dean.jraw.http.NetworkException;
+import net.dean.jraw.http.RestResponse;
 import net.dean.jraw.http.SubmissionRequest;
 import net.dean.jraw.http.oauth.Credentials;
 import net.dean.jraw.http.oauth.OAuthData;
@@ -17,14 +20,20 @@ import net.dean.jraw.models.CommentNode;
 import net.dean.jraw.models.CommentSort;
 import net.dean.jraw.models.Contribution;
 import net.dean.jraw.models.Listing;
+import net.dean.jraw.models.MoreChildren;
 import net.dean.jraw.models.Submission;
 import net.dean.jraw.models.Subreddit;
+import net.dean.jraw.models.Thing;
 import net.dean.jraw.models.VoteDirection;
 import net.dean.jraw.paginators.SubredditPaginator;
 import net.dean.jraw.paginators.UserContributionPaginator;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -32,12 +41,16 @@ import javax.inject.Singleton;
 import io.reactivex.Completable;
 import io.reactivex.CompletableEmitter;
 import io.reactivex.CompletableOnSubscribe;
+import io.reactivex.Flowable;
 import io.reactivex.Single;
 import io.reactivex.SingleEmitter;
 import io.reactivex.SingleOnSubscribe;
+import io.reactivex.schedulers.Schedulers;
 
 @Singleton
 public class RedditServiceImpl implements RedditService {
+    // Delays between the attempts to fetch a comment that was just posted.
+    private static final long[] POSTED_COMMENT_BACKOFF_MS = {250, 500, 1000, 2000};
 
     @Inject
     public RedditServiceImpl() {
@@ -68,16 +81,17 @@ public class RedditServiceImpl implements RedditService {
         return Single.create(new SingleOnSubscribe<CommentNode>() {
             @Override
             public void subscribe(SingleEmitter<CommentNode> e) throws Exception {
-                SubmissionRequest.Builder builder = new SubmissionRequest.Builder(threadId);
-                builder.sort(CommentSort.NEW);
-
-                SubmissionRequest submissionRequest = builder.build();
-                Submission submission = null;
+                // Only the comment itself, not the whole thread.
+                SubmissionRequest submissionRequest = new SubmissionRequest.Builder(threadId)
+                        .focus(commentId)
+                        .context(0)
+                        .depth(1)
+                        .limit(1)
+                        .build();
                 try {
-                    submission = redditClient.getSubmission(submissionRequest);
+                    Submission submission = redditClient.getSubmission(submissionRequest);
 
-                    Iterable<CommentNode> iterable = submission.getComments().walkTree();
-                    for (CommentNode node : iterable) {
+                    for (CommentNode node : submission.getComments().getChildren()) {
                         if (node.getComment().getId().equals(commentId)) {
                             if (!e.isDisposed()) {
                                 e.onSuccess(node);
@@ -99,17 +113,62 @@ public class RedditServiceImpl implements RedditService {
     }
 
     @Override
-    public Single<String> replyToComment(
+    public Single<CommentNode> getPostedComment(
+            final RedditClient redditClient,
+            final String threadId,
+            final Comment posted) {
+        if (posted.data("body_html") != null) {
+            return Single.fromCallable(() -> new CommentNode("t3_" + threadId,
+                    Collections.singletonList(posted), null, CommentSort.NEW)
+                    .getChildren().get(0));
+        }
+
+        // A comment usually shows up right after being posted, but it may take reddit a bit.
+        return getComment(redditClient, threadId, posted.getId())
+                .retryWhen(errors -> {
+                    int[] attempts = {0};
+                    return errors.flatMap(error -> {
+                        int attempt = attempts[0]++;
+                        if (!(error instanceof ReplyNotAvailableException)
+                                || attempt >= POSTED_COMMENT_BACKOFF_MS.length) {
+                            return Flowable.<Long>error(error);
+                        }
+                        return Flowable.timer(POSTED_COMMENT_BACKOFF_MS[attempt],
+                                TimeUnit.MILLISECONDS, Schedulers.io());
+                    });
+                });
+    }
+
+    @Override
+    public Single<Map<String, List<Thing>>> getMoreComments(
+            final RedditClient redditClient,
+            final String linkFullName,
+            final CommentSort sort,
+            final List<CommentNode> parents) {
+        return Single.create(new SingleOnSubscribe<Map<String, List<Thing>>>() {
+            @Override
+            public void subscribe(SingleEmitter<Map<String, List<Thing>>> e) throws Exception {
+                try {
+                    e.onSuccess(moreComments(redditClient, linkFullName, sort, parents));
+                } catch (NetworkException ex) {
+                    if (!e.isDisposed()) {
+                        e.onError(ex);
+                    }
+                }
+            }
+        });
+    }
+
+    @Override
+    public Single<Comment> replyToComment(
             final RedditClient redditClient,
             final Comment parent,
             final String text) {
-        return Single.create(new SingleOnSubscribe<String>() {
+        return Single.create(new SingleOnSubscribe<Comment>() {
             @Override
-            public void subscribe(SingleEmitter<String> e) throws Exception {
-                AccountManager accountManger = new AccountManager(redditClient);
+            public void subscribe(SingleEmitter<Comment> e) throws Exception {
                 try {
-                    String id = accountManger.reply(parent, text);
-                    e.onSuccess(id);
+                    e.onSuccess(reply(redditClient, parent, text));
                 } catch (Exception ex) {
                     if (!e.isDisposed()) {
                         e.onError(new ReplyToCommentException());
@@ -177,14 +236,13 @@ public class RedditServiceImpl implements RedditService {
     }
 
     @Override
-    public Single<String> replyToThread(
+    public Single<Comment> replyToThread(
             final RedditClient redditClient,
             final Submission submission,
             final String text) {
         return Single.create((e) -> {
-            AccountManager accountManager = new AccountManager(redditClient);
             try {
-                e.onSuccess(accountManager.reply(submission, text));
+                e.onSuccess(reply(redditClient, submission, text));
             } catch (Exception ex) {
                 if (!e.isDisposed()) {
                     e.onError(new ReplyToThreadException());
@@ -380,4 +438,101 @@ public class RedditServiceImpl implements RedditService {
             }
         });
     }
+
+    /**
+     * Loads the replies of all the given comments with one morechildren request, the way
+     * {@link CommentNode#getMoreComments(RedditClient)} does for a single comment. Replies behind
+     * a "continue this thread" link have no ids to request and are still loaded one comment at a
+     * time.
+     */
+    private static Map<String, List<Thing>> moreComments(
+            RedditClient redditClient, String linkFullName, CommentSort sort,
+            List<CommentNode> parents) throws NetworkException {
+        Map<String, List<Thing>> moreByParent = new HashMap<>();
+        List<String> parentFullNames = new ArrayList<>();
+        StringBuilder children = new StringBuilder();
+        for (CommentNode parent : parents) {
+            String parentFullName = parent.getComment().getFullName();
+            List<String> ids = parent.hasMoreComments()
+                    ? parent.getMoreChildren().getChildrenIds()
+                    : Collections.<String>emptyList();
+            if (ids.isEmpty()) {
+                moreByParent.put(parentFullName, parent.getMoreComments(redditClient));
+                continue;
+            }
+            parentFullNames.add(parentFullName);
+            for (String id : ids) {
+                if (children.length() > 0) {
+                    children.append(',');
+                }
+                children.append(id);
+            }
+        }
+        if (parentFullNames.isEmpty()) {
+            return moreByParent;
+        }
+
+        Map<String, String> args = new HashMap<>();
+        args.put("api_type", "json");
+        args.put("children", children.toString());
+        args.put("link_id", linkFullName);
+        args.put("sort", sort.name().toLowerCase());
+        RestResponse response = redditClient.execute(redditClient.request()
+                .endpoint(Endpoints.MORECHILDREN)
+                .query(args)
+                .build());
+        moreByParent.putAll(splitByParent(parentFullNames,
+                response.getJson().get("json").get("data").get("things")));
+        return moreByParent;
+    }
+
+    /**
+     * Splits the things returned by a morechildren request by the requested comment they belong
+     * under. Things are returned parents first, so a reply's parent is always known by then.
+     */
+    static Map<String, List<Thing>> splitByParent(List<String> parentFullNames, JsonNode things) {
+        Map<String, List<Thing>> thingsByParent = new HashMap<>();
+        // Owner of every comment returned so far, i.e. the requested comment it belongs under.
+        Map<String, String> owners = new HashMap<>();
+        for (String parentFullName : parentFullNames) {
+            thingsByParent.put(parentFullName, new ArrayList<>());
+            owners.put(parentFullName, parentFullName);
+        }
+        for (JsonNode thing : things) {
+            JsonNode data = thing.get("data");
+            String owner = owners.get(data.get("parent_id").asText());
+            if (owner == null) {
+                continue;
+            }
+            if ("more".equals(thing.get("kind").asText())) {
+                thingsByParent.get(owner).add(new MoreChildren(data));
+            } else {
+                owners.put(data.get("name").asText(), owner);
+                thingsByParent.get(owner).add(new Comment(data));
+            }
+        }
+        return thingsByParent;
+    }
+
+    /**
+     * Posts a reply the same way {@link AccountManager#reply} does, but returns the whole comment
+     * reddit responds with instead of only its id.
+     */
+    private static Comment reply(RedditClient redditClient, Contribution parent, String text)
+            throws NetworkException {
+        Map<String, String> args = new HashMap<>();
+        args.put("api_type", "json");
+        args.put("text", text);
+        args.put("thing_id", parent.getFullName());
+        RestResponse response = redditClient.execute(redditClient.request()
+                .endpoint(Endpoints.COMMENT)
+                .post(args)
+                .build());
+        JsonNode json = response.getJson().get("json");
+        JsonNode errors = json.get("errors");
+        if (errors != null && errors.size() > 0) {
+            throw new IllegalStateException("Reply not posted: " + errors);
+        }
+        return new Comment(json.get("data").get("things").get(0).get("data"));
+    }
 }
@@ -0,0 +1,171 @@
+package com.gmail.jorgegilcavazos.ballislife.data.service;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+
+/**
+ * Coalesces concurrent requests for the same key into a single upstream subscription and keeps
+ * successful results in memory for a short time.
+ *
+ * While a request is in flight every subscriber asking for the same key shares it, and it is
+ * only cancelled once all of them are disposed. Errors are not cached, the next subscriber
+ * retries the request.
+ */
+public class SingleFlight<K, V> {
+
+    private final long ttlMs;
+    private final Scheduler clock;
+
+    private final Map<K, Single<V>> inFlight = new HashMap<>();
+    private final Map<K, Result<V>> results = new HashMap<>();
+
+    private long hits;
+    private long misses;
+    private long coalesced;
+
+    /**
+     * @param ttlMs how long a successful result is served from memory
+     * @param clock scheduler used to read the current time
+     */
+    public SingleFlight(long ttlMs, Scheduler clock) {
+        this.ttlMs = ttlMs;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns a {@link Single} that emits the cached result for the given key if still fresh,
+     * joins the request in flight for it if any, or subscribes to the one created by the given
+     * source otherwise.
+     */
+    public Single<V> get(K key, Callable<Single<V>> source) {
+        return Single.defer(() -> {
+            synchronized (this) {
+                long now = now();
+                Result<V> result = results.get(key);
+                if (result != null && now - result.savedAt < ttlMs) {
+                    hits++;
+                    return Single.just(result.value);
+                }
+
+                Single<V> request = inFlight.get(key);
+                if (request != null) {
+                    coalesced++;
+                    return request;
+                }
+
+                misses++;
+                removeExpired(now);
+                request = share(key, source.call());
+                inFlight.put(key, request);
+                return request;
+            }
+        });
+    }
+
+    /**
+     * Drops all cached results, requests in flight are left untouched.
+     */
+    public synchronized void clear() {
+        results.clear();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, coalesced);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Single<V> share(K key, Single<V> upstream) {
+        // Results are saved and the request forgotten before subscribers are notified, so that a
+        // subscriber arriving right after never re-subscribes to a finished request.
+        Single<V>[] shared = new Single[1];
+        shared[0] = upstream
+                .doOnSuccess(value -> {
+                    synchronized (this) {
+                        results.put(key, new Result<>(value, now()));
+                        removeInFlight(key, shared[0]);
+                    }
+                })
+                .doOnError(e -> {
+                    synchronized (this) {
+                        removeInFlight(key, shared[0]);
+                    }
+                })
+                .doOnDispose(() -> {
+                    synchronized (this) {
+                        removeInFlight(key, shared[0]);
+                    }
+                })
+                .toObservable()
+                .share()
+                .singleOrError();
+        return shared[0];
+    }
+
+    private void removeInFlight(K key, Single<V> request) {
+        if (inFlight.get(key) == request) {
+            inFlight.remove(key);
+        }
+    }
+
+    private void removeExpired(long now) {
+        Iterator<Result<V>> iterator = results.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().savedAt >= ttlMs) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private long now() {
+        return clock.now(TimeUnit.MILLISECONDS);
+    }
+
+    private static class Result<V> {
+        final V value;
+        final long savedAt;
+
+        Result(V value, long savedAt) {
+            this.value = value;
+            this.savedAt = savedAt;
+        }
+    }
+
+    /**
+     * Counters for diagnostics. A hit was served from memory, a miss started a new request and a
+     * coalesced call joined a request already in flight.
+     */
+    public static class Stats {
+        private final long hits;
+        private final long misses;
+        private final long coalesced;
+
+        Stats(long hits, long misses, long coalesced) {
+            this.hits = hits;
+            this.misses = misses;
+            this.coalesced = coalesced;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getCoalesced() {
+            return coalesced;
+        }
+
+        @Override
+        public String toString() {
+            return "hits=" + hits + ", misses=" + misses + ", coalesced=" + coalesced;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.gmail.jorgegilcavazos.ballislife.dagger.component.AppComponent;
 import com.gmail.jorgegilcavazos.ballislife.dagger.component.DaggerAppComponent;
 import com.gmail.jorgegilcavazos.ballislife.dagger.module.AppModule;
 import com.gmail.jorgegilcavazos.ballislife.dagger.module.DataModule;
+import com.gmail.jorgegilcavazos.ballislife.util.SnuDownCache;
 import com.squareup.leakcanary.LeakCanary;
 
 import jonathanfinerty.once.Once;
@@ -51,6 +52,17 @@ public class BallIsLifeApplication extends Application {
                 .build();
     }
 
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        if (level >= TRIM_MEMORY_BACKGROUND) {
+            SnuDownCache.getInstance().clear();
+        }
+        if (appComponent != null) {
+            appComponent.submissionRepository().trimMemory(level);
+        }
+    }
+
     @Override
     protected void attachBaseContext(Context base) {
         super.attachBaseContext(base);
@@ -20,12 +20,12 @@ import com.gmail.jorgegilcavazos.ballislife.R;
 import com.gmail.jorgegilcavazos.ballislife.data.service.NbaGamesService;
 import com.gmail.jorgegilcavazos.ballislife.features.application.BallIsLifeApplication;
 import com.gmail.jorgegilcavazos.ballislife.features.gamethread.CommentsActivity;
+import com.gmail.jorgegilcavazos.ballislife.features.gamethread.GameThreadFragment;
 import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreValues;
 import com.gmail.jorgegilcavazos.ballislife.features.model.StatLine;
 import com.gmail.jorgegilcavazos.ballislife.util.UnitUtils;
 import com.gmail.jorgegilcavazos.ballislife.util.schedulers.BaseSchedulerProvider;
 import com.google.common.base.Optional;
-import com.jakewharton.retrofit2.adapter.rxjava2.RxJava2CallAdapterFactory;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -36,8 +36,6 @@ import butterknife.BindView;
 import butterknife.ButterKnife;
 import butterknife.OnClick;
 import butterknife.Unbinder;
-import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 
 import static android.view.ViewGroup.LayoutParams.MATCH_PARENT;
 import static android.view.ViewGroup.LayoutParams.WRAP_CONTENT;
@@ -54,6 +52,9 @@ public class BoxScoreFragment extends Fragment implements BoxScoreView {
     @Inject
     BaseSchedulerProvider schedulerProvider;
 
+    @Inject
+    NbaGamesService gamesService;
+
     @BindView(R.id.button_home) Button btnHome;
     @BindView(R.id.button_away) Button btnAway;
     @BindView(R.id.progressBar) ProgressBar progressBar;
@@ -68,6 +69,7 @@ public class BoxScoreFragment extends Fragment implements BoxScoreView {
     private String homeTeam;
     private String awayTeam;
     private String gameId;
+    private long gameDate;
     private int teamSelected;
 
     @Override
@@ -80,6 +82,7 @@ public class BoxScoreFragment extends Fragment implements BoxScoreView {
             homeTeam = getArguments().getString(HOME_TEAM_KEY);
             awayTeam = getArguments().getString(AWAY_TEAM_KEY);
             gameId = getArguments().getString(CommentsActivity.GAME_ID_KEY);
+            gameDate = getArguments().getLong(GameThreadFragment.GAME_DATE_KEY, -1);
             gameId = "0041600405";
         }
     }
@@ -95,17 +98,9 @@ public class BoxScoreFragment extends Fragment implements BoxScoreView {
         btnAway.setText(awayTeam);
         btnHome.setText(homeTeam);
 
-        Retrofit retrofit = new Retrofit.Builder()
-                .baseUrl("https://nba-app-ca681.firebaseio.com/")
-                .addCallAdapterFactory(RxJava2CallAdapterFactory.create())
-                .addConverterFactory(GsonConverterFactory.create())
-                .build();
-
-        NbaGamesService gamesService = retrofit.create(NbaGamesService.class);
-
         presenter = new BoxScorePresenter(this, gamesService, schedulerProvider);
         presenter.start();
-        presenter.loadBoxScore(gameId, teamSelected);
+        presenter.loadBoxScore(gameId, gameDate, teamSelected);
 
         return view;
     }
@@ -121,7 +116,7 @@ public class BoxScoreFragment extends Fragment implements BoxScoreView {
     public boolean onOptionsItemSelected(MenuItem item) {
         switch (item.getItemId()) {
             case R.id.action_refresh:
-                presenter.loadBoxScore(gameId, teamSelected);
+                presenter.loadBoxScore(gameId, gameDate, teamSelected);
                 return true;
         }
         return super.onOptionsItemSelected(item);
@@ -135,7 +130,7 @@ public class BoxScoreFragment extends Fragment implements BoxScoreView {
         btnHome.setTextColor(ContextCompat.getColor(getActivity(), R.color.black));
 
         teamSelected = LOAD_AWAY;
-        presenter.loadBoxScore(gameId, teamSelected);
+        presenter.loadBoxScore(gameId, gameDate, teamSelected);
     }
 
     @OnClick(R.id.button_home)
@@ -146,7 +141,7 @@ public class BoxScoreFragment extends Fragment implements BoxScoreView {
         btnAway.setTextColor(ContextCompat.getColor(getActivity(), R.color.black));
 
         teamSelected = LOAD_HOME;
-        presenter.loadBoxScore(gameId, teamSelected);
+        presenter.loadBoxScore(gameId, gameDate, teamSelected);
     }
 
     @Override
@@ -2,8 +2,11 @@ package com.gmail.jorgegilcavazos.ballislife.features.boxscore;
 
 import com.gmail.jorgegilcavazos.ballislife.data.service.NbaGamesService;
 import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreValues;
+import com.gmail.jorgegilcavazos.ballislife.util.DateFormatUtil;
 import com.gmail.jorgegilcavazos.ballislife.util.schedulers.BaseSchedulerProvider;
 
+import java.util.Calendar;
+
 import io.reactivex.disposables.CompositeDisposable;
 import io.reactivex.observers.DisposableSingleObserver;
 
@@ -25,12 +28,15 @@ public class BoxScorePresenter {
         disposables = new CompositeDisposable();
     }
 
-    public void loadBoxScore(String gameId, final int teamSelected) {
+    /**
+     * @param gameDate time in the day the game is played, in millis, or -1 if unknown
+     */
+    public void loadBoxScore(String gameId, long gameDate, final int teamSelected) {
         view.setLoadingIndicator(true);
         view.hideBoxScore();
         view.hideLoadMessage();
         disposables.clear();
-        disposables.add(nbaService.boxScore(gameId)
+        disposables.add(nbaService.boxScore(gameId, dayEndUtc(gameDate))
                 .subscribeOn(schedulerProvider.io())
                 .observeOn(schedulerProvider.ui())
                 .subscribeWith(new DisposableSingleObserver<BoxScoreValues>() {
@@ -71,4 +77,13 @@ public class BoxScorePresenter {
     private boolean isViewAttached() {
         return view != null;
     }
+
+    private static Long dayEndUtc(long gameDate) {
+        if (gameDate == -1) {
+            return null;
+        }
+        Calendar day = Calendar.getInstance();
+        day.setTimeInMillis(gameDate);
+        return DateFormatUtil.getDateEndUtc(day);
+    }
 }
@@ -20,7 +20,7 @@ import com.gmail.jorgegilcavazos.ballislife.data.reddit.RedditAuthentication;
 import com.gmail.jorgegilcavazos.ballislife.features.model.SubmissionWrapper;
 import com.gmail.jorgegilcavazos.ballislife.util.DateFormatUtil;
 import com.gmail.jorgegilcavazos.ballislife.util.Pair;
-import com.gmail.jorgegilcavazos.ballislife.util.RedditUtils;
+import com.gmail.jorgegilcavazos.ballislife.util.SnuDownCache;
 import com.gmail.jorgegilcavazos.ballislife.util.Utilities;
 import com.google.common.base.Optional;
 import com.squareup.picasso.Picasso;
@@ -133,7 +133,7 @@ public class FullCardViewHolder extends RecyclerView.ViewHolder {
         if (isSelf) {
             if (!isDisplayedInList && selfTextHtml != null) {
                 tvBody.setVisibility(View.VISIBLE);
-                tvBody.setText(RedditUtils.bindSnuDown(selfTextHtml));
+                tvBody.setText(SnuDownCache.getInstance().selfText(submissionWrapper));
             } else {
                 tvBody.setVisibility(View.GONE);
             }
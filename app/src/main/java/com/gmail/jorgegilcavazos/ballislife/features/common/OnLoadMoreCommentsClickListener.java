@@ -0,0 +1,8 @@
+package com.gmail.jorgegilcavazos.ballislife.features.common;
+
+import net.dean.jraw.models.CommentNode;
+
+public interface OnLoadMoreCommentsClickListener {
+
+    void onLoadMoreComments(CommentNode parent);
+}
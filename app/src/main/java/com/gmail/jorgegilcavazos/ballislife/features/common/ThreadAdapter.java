@@ -17,17 +17,21 @@ import android.widget.TextView;
 
 import com.gmail.jorgegilcavazos.ballislife.R;
 import com.gmail.jorgegilcavazos.ballislife.data.reddit.RedditAuthentication;
+import com.gmail.jorgegilcavazos.ballislife.features.model.CommentChange;
+import com.gmail.jorgegilcavazos.ballislife.features.model.CommentMetadata;
 import com.gmail.jorgegilcavazos.ballislife.features.model.SubmissionWrapper;
 import com.gmail.jorgegilcavazos.ballislife.features.model.ThreadItem;
-import com.gmail.jorgegilcavazos.ballislife.util.DateFormatUtil;
-import com.gmail.jorgegilcavazos.ballislife.util.RedditUtils;
+import com.gmail.jorgegilcavazos.ballislife.util.CollapseIndex;
+import com.gmail.jorgegilcavazos.ballislife.util.SnuDownCache;
 
 import net.dean.jraw.models.Comment;
 import net.dean.jraw.models.CommentNode;
 import net.dean.jraw.models.Submission;
 import net.dean.jraw.models.VoteDirection;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import butterknife.BindView;
 import butterknife.ButterKnife;
@@ -55,7 +59,13 @@ public class ThreadAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
     private boolean hasHeader;
     private OnCommentClickListener commentClickListener;
     private OnSubmissionClickListener submissionClickListener;
+    private OnLoadMoreCommentsClickListener loadMoreCommentsClickListener;
     private SubmissionWrapper submissionWrapper;
+    // Relative times of every row are derived from the same time, updated when the data changes.
+    private long clockTick = System.currentTimeMillis();
+    // Maps adapter positions to rows of commentsList, which holds collapsed rows too.
+    private CollapseIndex collapseIndex = new CollapseIndex(new int[0]);
+    private final Set<String> collapsedFullNames = new HashSet<>();
 
     public ThreadAdapter(Context context,
                          RedditAuthentication redditAuthentication, List<ThreadItem> commentsList,
@@ -64,6 +74,7 @@ public class ThreadAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
         this.commentsList = commentsList;
         this.hasHeader = hasHeader;
         this.redditAuthentication = redditAuthentication;
+        rebuildCollapseIndex();
     }
 
     public void setCommentClickListener(OnCommentClickListener commentClickListener) {
@@ -74,6 +85,11 @@ public class ThreadAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
         this.submissionClickListener = submissionClickListener;
     }
 
+    public void setLoadMoreCommentsClickListener(
+            OnLoadMoreCommentsClickListener loadMoreCommentsClickListener) {
+        this.loadMoreCommentsClickListener = loadMoreCommentsClickListener;
+    }
+
     public void setSubmissionWrapper(SubmissionWrapper submissionWrapper) {
         this.submissionWrapper = submissionWrapper;
     }
@@ -112,77 +128,209 @@ public class ThreadAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
         } else if (holder instanceof CommentViewHolder) {
             final CommentViewHolder commentHolder = (CommentViewHolder) holder;
 
-            final CommentNode commentNode;
-            if (hasHeader && submissionWrapper != null) {
-                commentNode = commentsList.get(position - 1).getCommentNode();
-            } else {
-                commentNode = commentsList.get(position).getCommentNode();
-            }
-            if (commentNode == null) {
+            final int row = collapseIndex.rowAt(position - headerOffset());
+            final ThreadItem item = commentsList.get(row);
+            if (item.getCommentNode() == null) {
                 throw new IllegalStateException("CommentNode should not be null");
             }
-            commentHolder.bindData(context, commentNode, commentClickListener, redditAuthentication);
+            int collapsedReplies = collapseIndex.isCollapsed(row)
+                    ? collapseIndex.descendantCount(row) : 0;
+            commentHolder.bindData(context, item.getCommentNode(), item.getDepth(),
+                    item.getMetadata(), clockTick, collapsedReplies,
+                    () -> toggleCollapse(commentHolder), commentClickListener,
+                    redditAuthentication);
         } else if (holder instanceof LoadMoreCommentsHolder) {
-            if (hasHeader) {
-                ((LoadMoreCommentsHolder) holder).bindData(commentsList.get(position - 1)
-                        .getDepth());
-            } else {
-                ((LoadMoreCommentsHolder) holder).bindData(commentsList.get(position).getDepth());
-            }
+            ThreadItem item = commentsList.get(collapseIndex.rowAt(position - headerOffset()));
+            ((LoadMoreCommentsHolder) holder).bindData(item.getDepth(), item.getLoadMoreParent(),
+                    loadMoreCommentsClickListener);
         }
     }
 
     @Override
     public int getItemViewType(int position) {
         // Submission data guaranteed to be not null at this point.
-        if (hasHeader) {
-            if (position == 0) {
-                return TYPE_SUBMISSION_HEADER;
-            } else {
-                return commentsList.get(position - 1).getType();
-            }
+        if (hasHeader && position == 0) {
+            return TYPE_SUBMISSION_HEADER;
         }
-        return commentsList.get(position).getType();
+        return commentsList.get(collapseIndex.rowAt(position - headerOffset())).getType();
     }
 
     @Override
     public int getItemCount() {
         if (!hasHeader) {
-            return null != commentsList ? commentsList.size() : 0;
+            return collapseIndex.visibleCount();
         } else {
             if (submissionWrapper == null) {
                 // Don't show anything until we have a submission to show.
                 return 0;
             } else {
-                return null != commentsList ? commentsList.size() + 1 : 1;
+                return collapseIndex.visibleCount() + 1;
             }
         }
     }
 
     public void setData(List<ThreadItem> data) {
+        clockTick = System.currentTimeMillis();
         commentsList.clear();
         commentsList.addAll(data);
+        collapsedFullNames.clear();
+        rebuildCollapseIndex();
         notifyDataSetChanged();
     }
 
+    /**
+     * Applies the given changes in order, only re-binding the affected rows. Positions are those
+     * of the comments in the whole list, so when subtrees are collapsed the changes are applied
+     * and the list is re-bound.
+     */
+    public void applyChanges(List<CommentChange> changes) {
+        int offset = headerOffset();
+        boolean notifyEach = collapsedFullNames.isEmpty();
+        clockTick = System.currentTimeMillis();
+        for (CommentChange change : changes) {
+            if (change instanceof CommentChange.Insert) {
+                CommentChange.Insert insert = (CommentChange.Insert) change;
+                commentsList.add(insert.getPosition(), insert.getItem());
+                if (notifyEach) {
+                    notifyItemInserted(insert.getPosition() + offset);
+                }
+            } else if (change instanceof CommentChange.Update) {
+                CommentChange.Update update = (CommentChange.Update) change;
+                commentsList.set(update.getPosition(), update.getItem());
+                if (notifyEach) {
+                    notifyItemChanged(update.getPosition() + offset);
+                }
+            } else if (change instanceof CommentChange.Remove) {
+                int position = ((CommentChange.Remove) change).getPosition();
+                commentsList.remove(position);
+                if (notifyEach) {
+                    notifyItemRemoved(position + offset);
+                }
+            } else if (change instanceof CommentChange.Move) {
+                CommentChange.Move move = (CommentChange.Move) change;
+                commentsList.add(move.getToPosition(),
+                        commentsList.remove(move.getFromPosition()));
+                if (notifyEach) {
+                    notifyItemMoved(move.getFromPosition() + offset,
+                            move.getToPosition() + offset);
+                }
+            }
+        }
+        rebuildCollapseIndex();
+        if (!notifyEach) {
+            notifyDataSetChanged();
+        }
+    }
+
     public void addComment(int position, CommentNode comment) {
+        int row;
+        int depth;
         if (position == 0) {
             // Coming from a reply to thread. Show comment in first position.
-            commentsList.add(0, new ThreadItem(ThreadAdapter.TYPE_COMMENT, comment, comment
-                    .getDepth()));
+            row = 0;
+            depth = 1;
         } else {
-            // Coming from a comment reply, position param is comment adapter position + 1, which
-            // means that if there is a header we need to subtract 1 to place comment in desired
-            // position.
-            if (hasHeader) {
-                commentsList.add(position - 1, new ThreadItem(ThreadAdapter.TYPE_COMMENT,
-                        comment, comment.getDepth()));
-            } else {
-                commentsList.add(position, new ThreadItem(ThreadAdapter.TYPE_COMMENT, comment,
-                        comment.getDepth()));
+            // Coming from a comment reply, position param is comment adapter position + 1, so the
+            // comment goes right after the row displayed before that position, its parent.
+            int parentRow = collapseIndex.rowAt(position - headerOffset() - 1);
+            row = parentRow + 1;
+            // The node of a posted comment has no parents, its depth is the one of its row.
+            depth = commentsList.get(parentRow).getDepth() + 1;
+        }
+        commentsList.add(row, new ThreadItem(ThreadAdapter.TYPE_COMMENT, comment, depth));
+        rebuildCollapseIndex();
+
+        int displayedAt = collapseIndex.positionOf(row);
+        if (displayedAt != -1) {
+            notifyItemInserted(displayedAt + headerOffset());
+        } else {
+            // Replied to a collapsed comment, only its count of hidden replies changes.
+            notifyItemChanged(position - 1);
+        }
+    }
+
+    /**
+     * Replaces the "load more" row at the given position of the whole list with the given rows,
+     * e.g. the replies it loaded. The change is notified as a removal and a range insertion.
+     */
+    public void replaceLoadMore(int row, List<ThreadItem> items) {
+        int displayedAt = collapseIndex.positionOf(row);
+        commentsList.remove(row);
+        commentsList.addAll(row, items);
+        rebuildCollapseIndex();
+
+        if (displayedAt != -1) {
+            notifyItemRemoved(displayedAt + headerOffset());
+            notifyItemRangeInserted(displayedAt + headerOffset(), items.size());
+        } else {
+            // Loaded under a comment collapsed since, only its count of hidden replies changes.
+            notifyDataSetChanged();
+        }
+    }
+
+    /**
+     * Returns the adapter position of the first top-level comment after the comment displayed at
+     * the given adapter position, or -1 if there is none.
+     */
+    public int nextTopLevelCommentPosition(int position) {
+        int offset = headerOffset();
+        if (collapseIndex.visibleCount() == 0) {
+            return -1;
+        }
+        if (position < offset) {
+            return offset;
+        }
+        int next = collapseIndex.nextTopLevelRow(collapseIndex.rowAt(position - offset));
+        return next == -1 ? -1 : collapseIndex.positionOf(next) + offset;
+    }
+
+    /**
+     * Collapses the replies of the comment bound to the given holder, or expands them if they're
+     * collapsed. Only the replies that become hidden or visible are notified, as one range.
+     */
+    private void toggleCollapse(CommentViewHolder holder) {
+        int position = holder.getAdapterPosition();
+        if (position == RecyclerView.NO_POSITION) {
+            return;
+        }
+        int row = collapseIndex.rowAt(position - headerOffset());
+        String fullName = commentsList.get(row).getCommentNode().getComment().getFullName();
+        if (collapseIndex.isCollapsed(row)) {
+            int shown = collapseIndex.expand(row);
+            collapsedFullNames.remove(fullName);
+            notifyItemChanged(position);
+            notifyItemRangeInserted(position + 1, shown);
+        } else if (collapseIndex.descendantCount(row) > 0) {
+            int hidden = collapseIndex.collapse(row);
+            collapsedFullNames.add(fullName);
+            notifyItemChanged(position);
+            notifyItemRangeRemoved(position + 1, hidden);
+        }
+    }
+
+    /**
+     * Builds the index of the rows for the current list, collapsing the comments that were
+     * collapsed before.
+     */
+    private void rebuildCollapseIndex() {
+        int[] depths = new int[commentsList.size()];
+        for (int i = 0; i < depths.length; i++) {
+            depths[i] = commentsList.get(i).getDepth();
+        }
+        collapseIndex = new CollapseIndex(depths);
+        if (collapsedFullNames.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < depths.length; i++) {
+            CommentNode node = commentsList.get(i).getCommentNode();
+            if (node != null && collapsedFullNames.contains(node.getComment().getFullName())) {
+                collapseIndex.collapse(i);
             }
         }
-        notifyItemInserted(position);
+    }
+
+    private int headerOffset() {
+        return hasHeader ? 1 : 0;
     }
 
     public static class CommentViewHolder extends RecyclerView.ViewHolder {
@@ -209,17 +357,20 @@ public class ThreadAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
 
         public void bindData(final Context context,
                              final CommentNode commentNode,
+                             final int depth,
+                             final CommentMetadata metadata,
+                             final long clockTick,
+                             final int collapsedReplies,
+                             final Runnable collapseToggle,
                              final OnCommentClickListener commentClickListener,
                              final RedditAuthentication redditAuthentication) {
             final Comment comment = commentNode.getComment();
             String author = comment.getAuthor();
-            CharSequence body = RedditUtils.bindSnuDown(comment.data("body_html"));
-            String timestamp = DateFormatUtil.formatRedditDate(comment.getCreated());
+            CharSequence body = SnuDownCache.getInstance().comment(comment);
+            String timestamp = metadata.timestamp(clockTick);
             String score = String.valueOf(comment.getScore());
-            String flair = RedditUtils.parseNbaFlair(String.valueOf(comment.getAuthorFlair()));
-            String cssClass = RedditUtils
-                    .parseCssClassFromFlair(String.valueOf(comment.getAuthorFlair()));
-            int flairRes = RedditUtils.getFlairFromCss(cssClass);
+            String flair = metadata.getFlairText();
+            int flairRes = metadata.getFlairRes();
 
             if (commentNode.hasMoreComments()) {
                 // This comment has children that are not currently loaded in the tree.
@@ -259,6 +410,7 @@ public class ThreadAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
                 return ret;
             });
             bodyTextView.setText(body);
+            bodyTextView.setVisibility(collapsedReplies > 0 ? View.GONE : View.VISIBLE);
             timestampTextView.setText(timestamp);
             scoreTextView.setText(context.getString(R.string.points, score));
             if (flairRes != -1) {
@@ -272,18 +424,23 @@ public class ThreadAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
             }
             rlCommentActions.setVisibility(View.GONE);
 
-            setBackgroundAndPadding(context, commentNode, this, false /* dark */);
+            setBackgroundAndPadding(context, depth, this, false /* dark */);
 
             final CommentViewHolder commentHolder = this;
 
             // On comment click hide/show actions (upvote, downvote, save, etc...).
             commentContentLayout.setOnClickListener(v -> {
                 if (rlCommentActions.getVisibility() == View.VISIBLE) {
-                    hideActions(context, commentHolder, commentNode);
+                    hideActions(context, commentHolder, depth);
                 } else {
-                    showActions(context, commentHolder, commentNode);
+                    showActions(context, commentHolder, depth);
                 }
             });
+            // On long click collapse/expand the replies.
+            commentContentLayout.setOnLongClickListener(v -> {
+                collapseToggle.run();
+                return true;
+            });
 
             final int colorUpvoted = ContextCompat.getColor(context, R.color.commentUpvoted);
             final int colorDownvoted = ContextCompat.getColor(context, R.color.commentDownvoted);
@@ -309,6 +466,10 @@ public class ThreadAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
             if (comment.hasBeenEdited()) {
                 timestampTextView.setText(timestamp + "*");
             }
+            if (collapsedReplies > 0) {
+                timestampTextView.append(
+                        context.getString(R.string.collapsed_replies, collapsedReplies));
+            }
 
             btnUpvote.setOnClickListener(v -> {
                 if (scoreTextView.getCurrentTextColor() == colorUpvoted) {
@@ -322,7 +483,7 @@ public class ThreadAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
                     }
                     commentClickListener.onVoteComment(comment, VoteDirection.UPVOTE);
                 }
-                hideActions(context, commentHolder, commentNode);
+                hideActions(context, commentHolder, depth);
             });
             btnDownvote.setOnClickListener(v -> {
                 if (scoreTextView.getCurrentTextColor() == colorDownvoted) {
@@ -336,7 +497,7 @@ public class ThreadAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
                     }
                     commentClickListener.onVoteComment(comment, VoteDirection.DOWNVOTE);
                 }
-                hideActions(context, commentHolder, commentNode);
+                hideActions(context, commentHolder, depth);
             });
             btnSave.setOnClickListener(v -> {
                 if (tvSaved.getVisibility() == View.VISIBLE) {
@@ -346,38 +507,35 @@ public class ThreadAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
                     commentClickListener.onSaveComment(comment);
                     tvSaved.setVisibility(View.VISIBLE);
                 }
-                hideActions(context, commentHolder, commentNode);
+                hideActions(context, commentHolder, depth);
             });
             btnReply.setOnClickListener(v -> {
                 commentClickListener.onReplyToComment(getAdapterPosition(), comment);
-                hideActions(context, commentHolder, commentNode);
+                hideActions(context, commentHolder, depth);
             });
         }
 
-        private void hideActions(Context context, CommentViewHolder holder, CommentNode
-                commentNode) {
+        private void hideActions(Context context, CommentViewHolder holder, int depth) {
             holder.commentInnerContentLayout.setBackgroundColor(
                     ContextCompat.getColor(context, R.color.white));
             holder.rlCommentActions.setVisibility(View.GONE);
-            setBackgroundAndPadding(context, commentNode, holder, false /* dark */);
+            setBackgroundAndPadding(context, depth, holder, false /* dark */);
         }
 
-        private void showActions(Context context, CommentViewHolder holder, CommentNode
-                commentNode) {
+        private void showActions(Context context, CommentViewHolder holder, int depth) {
             holder.rlCommentActions.setVisibility(View.VISIBLE);
             holder.commentInnerContentLayout.setBackgroundColor(
                     ContextCompat.getColor(context, R.color.lightGray));
-            setBackgroundAndPadding(context, commentNode, holder, true /* dark */);
+            setBackgroundAndPadding(context, depth, holder, true /* dark */);
         }
 
-        private void setBackgroundAndPadding(Context context, CommentNode commentNode,
+        private void setBackgroundAndPadding(Context context, int depth,
                                              CommentViewHolder holder, boolean dark) {
             int padding_in_dp = 5;
             final float scale = context.getResources().getDisplayMetrics().density;
             int padding_in_px = (int) (padding_in_dp * scale + 0.5F);
 
-            int depth = commentNode.getDepth(); // From 1
-
+            // Depth is from 1.
             // Add color if it is not a top-level comment.
             if (depth > 1) {
                 int depthFromZero = depth - 2;
@@ -436,14 +594,21 @@ public class ThreadAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
     static class LoadMoreCommentsHolder extends RecyclerView.ViewHolder {
 
         @BindView(R.id.innerLayout) View innerLayout;
+        @BindView(R.id.text_load_more) TextView loadMoreTextView;
 
         public LoadMoreCommentsHolder(View itemView) {
             super(itemView);
             ButterKnife.bind(this, itemView);
         }
 
-        public void bindData(int depth) {
+        public void bindData(int depth, final CommentNode parent,
+                             final OnLoadMoreCommentsClickListener loadMoreCommentsClickListener) {
             setBackgroundAndPadding(depth);
+            loadMoreTextView.setOnClickListener(v -> {
+                if (loadMoreCommentsClickListener != null && parent != null) {
+                    loadMoreCommentsClickListener.onLoadMoreComments(parent);
+                }
+            });
         }
 
         private void setBackgroundAndPadding(int depth) {
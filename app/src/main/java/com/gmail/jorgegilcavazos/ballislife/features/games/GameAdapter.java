@@ -1,5 +1,6 @@
 package com.gmail.jorgegilcavazos.ballislife.features.games;
 
+import android.content.Context;
 import android.support.v4.view.ViewCompat;
 import android.support.v7.widget.CardView;
 import android.support.v7.widget.RecyclerView;
@@ -13,14 +14,16 @@ import android.widget.TableLayout;
 import android.widget.TextView;
 
 import com.gmail.jorgegilcavazos.ballislife.R;
+import com.gmail.jorgegilcavazos.ballislife.data.repository.games.CompactGame;
 import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2;
 import com.gmail.jorgegilcavazos.ballislife.features.model.NbaGame;
 import com.gmail.jorgegilcavazos.ballislife.util.Constants;
 import com.gmail.jorgegilcavazos.ballislife.util.DateFormatUtil;
+import com.gmail.jorgegilcavazos.ballislife.util.TeamName;
 import com.gmail.jorgegilcavazos.ballislife.util.UnitUtils;
-import com.gmail.jorgegilcavazos.ballislife.util.Utilities;
 import com.jakewharton.rxbinding2.view.RxView;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import butterknife.BindView;
@@ -33,11 +36,16 @@ import io.reactivex.subjects.PublishSubject;
  */
 public class GameAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
 
-    private List<GameV2> nbaGameList;
+    private final List<GameRow> nbaGameList = new ArrayList<>();
     private PublishSubject<GameV2> gameClicks = PublishSubject.create();
+    // Logo and color resources of each team, by TeamName ordinal, looked up on first bind.
+    private final TeamResources logos = new TeamResources("drawable");
+    private final TeamResources colors = new TeamResources("color");
 
     public GameAdapter(List<GameV2> nbaGames) {
-        nbaGameList = nbaGames;
+        for (GameV2 game : nbaGames) {
+            nbaGameList.add(new GameRow(game));
+        }
     }
 
     @Override
@@ -57,10 +65,11 @@ public class GameAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
     @Override
     public void onBindViewHolder(final RecyclerView.ViewHolder holder, int position) {
         if (Constants.NBA_MATERIAL_ENABLED) {
-            ((GameViewHolder) holder).bindData(nbaGameList.get(position), gameClicks,
+            ((GameViewHolder) holder).bindData(nbaGameList.get(position), logos, gameClicks,
                                                nbaGameList.size() - 1 == position);
         } else {
-            ((GameViewHolderWithBars) holder).bindData(nbaGameList.get(position), gameClicks);
+            ((GameViewHolderWithBars) holder).bindData(nbaGameList.get(position), colors,
+                    gameClicks);
         }
     }
 
@@ -71,20 +80,66 @@ public class GameAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
 
     public void swap(List<GameV2> data) {
         nbaGameList.clear();
-        nbaGameList.addAll(data);
+        for (GameV2 game : data) {
+            nbaGameList.add(new GameRow(game));
+        }
         notifyDataSetChanged();
     }
 
+    /**
+     * Replaces the games with the same id as the given ones, only re-binding their rows. Games that
+     * are not currently displayed are ignored.
+     */
     public void updateScores(List<GameV2> data) {
-        nbaGameList.clear();
-        nbaGameList.addAll(data);
-        notifyDataSetChanged();
+        for (GameV2 game : data) {
+            for (int i = 0; i < nbaGameList.size(); i++) {
+                if (nbaGameList.get(i).getGame().getId().equals(game.getId())) {
+                    nbaGameList.set(i, new GameRow(game));
+                    notifyItemChanged(i);
+                    break;
+                }
+            }
+        }
     }
 
     public Observable<GameV2> getGameClicks() {
         return gameClicks;
     }
 
+    /**
+     * Resources of a type named after the lower case abbreviation of each team, e.g. its logo.
+     */
+    static class TeamResources {
+        private static final TeamName[] TEAMS = TeamName.values();
+
+        private final String type;
+        private final int[] ids = new int[TEAMS.length];
+
+        TeamResources(String type) {
+            this.type = type;
+        }
+
+        /**
+         * Returns the id of the resource of the given team, or 0 if there is none.
+         */
+        int get(Context context, TeamName team, String teamAbbr) {
+            if (team == null) {
+                return lookUp(context, teamAbbr);
+            }
+            int ordinal = team.ordinal();
+            if (ids[ordinal] == 0) {
+                // 0 is never a valid resource id, so it marks teams not looked up yet.
+                ids[ordinal] = lookUp(context, team.name());
+            }
+            return ids[ordinal];
+        }
+
+        private int lookUp(Context context, String teamAbbr) {
+            return context.getResources().getIdentifier(teamAbbr.toLowerCase(), type,
+                    context.getPackageName());
+        }
+    }
+
     static class GameViewHolder extends RecyclerView.ViewHolder {
 
         @BindView(R.id.gameCard) CardView gameCard;
@@ -106,14 +161,13 @@ public class GameAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
         }
 
         public void bindData(
-                GameV2 nbaGame, PublishSubject<GameV2> gameClicks,
+                GameRow row, TeamResources logos, PublishSubject<GameV2> gameClicks,
                              boolean isLastGame) {
-            int resKeyHome = itemView.getContext().getResources().getIdentifier(nbaGame
-                    .getHomeTeamAbbr().toLowerCase(), "drawable", itemView.getContext()
-                    .getPackageName());
-            int resKeyAway = itemView.getContext().getResources().getIdentifier(nbaGame
-                    .getAwayTeamAbbr().toLowerCase(), "drawable", itemView.getContext()
-                    .getPackageName());
+            GameV2 nbaGame = row.getGame();
+            int resKeyHome = logos.get(itemView.getContext(), row.getHomeTeam(),
+                    nbaGame.getHomeTeamAbbr());
+            int resKeyAway = logos.get(itemView.getContext(), row.getAwayTeam(),
+                    nbaGame.getAwayTeamAbbr());
 
             ivHomeLogo.setImageResource(resKeyHome);
             ivAwayLogo.setImageResource(resKeyAway);
@@ -122,8 +176,7 @@ public class GameAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
             tvHomeScore.setText(nbaGame.getHomeTeamScore());
             tvAwayScore.setText(nbaGame.getAwayTeamScore());
             tvClock.setText(nbaGame.getGameClock());
-            tvPeriod.setText(Utilities.getPeriodString(nbaGame.getPeriodValue(), nbaGame
-                    .getPeriodName()));
+            tvPeriod.setText(row.getPeriodText());
 
             tvHomeScore.setVisibility(View.GONE);
             tvAwayScore.setVisibility(View.GONE);
@@ -190,13 +243,13 @@ public class GameAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
             ButterKnife.bind(this, view);
         }
 
-        public void bindData(GameV2 nbaGame, PublishSubject<GameV2> gameClicks) {
-            int resKeyHome = itemView.getContext().getResources().getIdentifier(nbaGame
-                    .getHomeTeamAbbr().toLowerCase(), "color", itemView.getContext()
-                    .getPackageName());
-            int resKeyAway = itemView.getContext().getResources().getIdentifier(nbaGame
-                    .getAwayTeamAbbr().toLowerCase(), "color", itemView.getContext()
-                    .getPackageName());
+        public void bindData(GameRow row, TeamResources colors,
+                             PublishSubject<GameV2> gameClicks) {
+            GameV2 nbaGame = row.getGame();
+            int resKeyHome = colors.get(itemView.getContext(), row.getHomeTeam(),
+                    nbaGame.getHomeTeamAbbr());
+            int resKeyAway = colors.get(itemView.getContext(), row.getAwayTeam(),
+                    nbaGame.getAwayTeamAbbr());
 
             if (resKeyAway != 0) {
                 ViewCompat.setBackgroundTintList(barAway, itemView.getContext().getResources()
@@ -211,19 +264,15 @@ public class GameAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
                     .getContext().getResources().getDisplayMetrics());
             float awayPct;
             float homePct;
-            try {
-                int awayScore = Integer.valueOf(nbaGame.getAwayTeamScore());
-                int homeScore = Integer.valueOf(nbaGame.getHomeTeamScore());
-                awayPct = (float) (awayScore) / (float) (awayScore + homeScore);
-                homePct = (float) (homeScore) / (float) (awayScore + homeScore);
-
-                if (awayScore == 0 && homeScore == 0) {
-                    awayPct = 0.5f;
-                    homePct = 0.5f;
-                }
-            } catch (NumberFormatException e) {
+            int awayScore = row.getAwayScore();
+            int homeScore = row.getHomeScore();
+            if (awayScore == CompactGame.EMPTY || homeScore == CompactGame.EMPTY
+                    || (awayScore == 0 && homeScore == 0)) {
                 awayPct = 0.5f;
                 homePct = 0.5f;
+            } else {
+                awayPct = (float) (awayScore) / (float) (awayScore + homeScore);
+                homePct = (float) (homeScore) / (float) (awayScore + homeScore);
             }
             barHome.setLayoutParams(new TableLayout.LayoutParams(0, height, awayPct));
             barAway.setLayoutParams(new TableLayout.LayoutParams(0, height, homePct));
@@ -233,8 +282,7 @@ public class GameAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
             tvHomeScore.setText(nbaGame.getHomeTeamScore());
             tvAwayScore.setText(nbaGame.getAwayTeamScore());
             tvClock.setText(nbaGame.getGameClock());
-            tvPeriod.setText(Utilities.getPeriodString(nbaGame.getPeriodValue(), nbaGame
-                    .getPeriodName()));
+            tvPeriod.setText(row.getPeriodText());
 
             tvHomeScore.setVisibility(View.GONE);
             tvAwayScore.setVisibility(View.GONE);
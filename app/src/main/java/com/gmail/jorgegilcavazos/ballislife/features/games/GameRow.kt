@@ -0,0 +1,32 @@
+package com.gmail.jorgegilcavazos.ballislife.features.games
+
+import com.gmail.jorgegilcavazos.ballislife.data.repository.games.CompactGame
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+import com.gmail.jorgegilcavazos.ballislife.util.TeamName
+import com.gmail.jorgegilcavazos.ballislife.util.Utilities
+
+/**
+ * A game displayed by the [GameAdapter]. Scores, period and teams are read from the game's
+ * [CompactGame] once, when the games are handed to the adapter, so binding a row doesn't parse or
+ * format any of them. Games that can't be represented compactly fall back to their strings.
+ */
+class GameRow(val game: GameV2) {
+
+  private val compact = CompactGame.from(game) { it }
+
+  /** Null if the team isn't a [TeamName], e.g. in the All-Star game. */
+  val homeTeam: TeamName? = compact?.homeTeamName
+
+  val awayTeam: TeamName? = compact?.awayTeamName
+
+  /** Or [CompactGame.EMPTY] before the game starts or if it isn't a number. */
+  val homeScore: Int = compact?.homeScore ?: CompactGame.EMPTY
+
+  val awayScore: Int = compact?.awayScore ?: CompactGame.EMPTY
+
+  val periodText: String = when {
+    compact == null -> Utilities.getPeriodString(game.periodValue, game.periodName)
+    compact.period == CompactGame.EMPTY -> ""
+    else -> Utilities.getPeriodString(compact.period, compact.periodName)
+  }
+}
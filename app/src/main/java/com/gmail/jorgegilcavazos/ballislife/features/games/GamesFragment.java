@@ -115,9 +115,16 @@ public class GamesFragment extends Fragment implements GamesView,
     @Override
     public void onResume() {
         super.onResume();
+        presenter.setPollingEnabled(true);
         presenter.loadGames(false);
     }
 
+    @Override
+    public void onPause() {
+        super.onPause();
+        presenter.setPollingEnabled(false);
+    }
+
     @Override
     public void onSaveInstanceState(Bundle outState) {
         super.onSaveInstanceState(outState);
@@ -175,6 +182,11 @@ public class GamesFragment extends Fragment implements GamesView,
         rvGames.setVisibility(View.VISIBLE);
     }
 
+    @Override
+    public void updateGames(List<GameV2> games) {
+        gameAdapter.updateScores(games);
+    }
+
     @Override
     public void showGameDetails(@NonNull GameV2 game, long selectedDate) {
         Intent intent = new Intent(getActivity(), CommentsActivity.class);
@@ -6,8 +6,10 @@ import com.gmail.jorgegilcavazos.ballislife.util.DateFormatUtil
 import com.gmail.jorgegilcavazos.ballislife.util.NetworkUtils
 import com.gmail.jorgegilcavazos.ballislife.util.schedulers.BaseSchedulerProvider
 import io.reactivex.disposables.CompositeDisposable
-import io.reactivex.observers.DisposableObserver
 import io.reactivex.rxkotlin.addTo
+import io.reactivex.Observable
+import io.reactivex.subjects.BehaviorSubject
+import io.reactivex.subjects.PublishSubject
 import java.util.*
 import javax.inject.Inject
 
@@ -17,7 +19,16 @@ class GamesPresenter @Inject constructor(
     private val disposables: CompositeDisposable,
     private val networkUtils: NetworkUtils) : BasePresenter<GamesView>() {
 
+  companion object {
+    /**
+     * Number of days before and after the selected date to prefetch.
+     */
+    const val PREFETCH_WINDOW_DAYS = 2
+  }
+
   private val calendar = Calendar.getInstance()
+  private val loadRequests = PublishSubject.create<Boolean>()
+  private val pollingEnabled = BehaviorSubject.createDefault(true)
 
   override fun attachView(view: GamesView) {
     super.attachView(view)
@@ -41,44 +52,73 @@ class GamesPresenter @Inject constructor(
     view.gameClicks()
         .subscribe { view.showGameDetails(it, calendar.time.time) }
         .addTo(disposables)
+
+    // Only the latest request matters: switching days or refreshing disposes the load in flight,
+    // which cancels its network call so a stale day can never overwrite the one being shown.
+    // Once loaded, the day keeps being polled while it has live games and polling is enabled.
+    // Loads are materialized so that a failed one doesn't terminate the stream.
+    loadRequests
+        .switchMap { forceNetwork ->
+          val date = calendar.clone() as Calendar
+          gamesRepository.games(date, forceNetwork)
+              // Prefetched once per load, the polls that follow don't restart it.
+              .doOnNext {
+                if (it.isNetworkSuccess) {
+                  gamesRepository.prefetchGames(date, PREFETCH_WINDOW_DAYS)
+                }
+              }
+              .concatWith(pollingEnabled.switchMap {
+                if (it) gamesRepository.pollGames(date) else Observable.empty<GamesUiModel>()
+              })
+              .mergeWith(gamesRepository.liveScores(date))
+              .observeOn(schedulerProvider.ui(), true)
+              .materialize()
+        }
+        .filter { !it.isOnComplete }
+        .subscribe {
+          if (it.isOnNext) {
+            onGamesLoaded(it.value!!)
+          } else {
+            onGamesLoadFailed()
+          }
+        }
+        .addTo(disposables)
   }
 
   fun loadGames(forceNetwork: Boolean = false) {
     view.dismissSnackbar()
     loadDateNavigatorText(calendar)
+    loadRequests.onNext(forceNetwork)
+  }
 
-    disposables.add(gamesRepository.games(calendar, forceNetwork)
-        .observeOn(schedulerProvider.ui(), true)
-        .subscribeWith(object : DisposableObserver<GamesUiModel>() {
-          override fun onNext(uiModel: GamesUiModel) {
-            if (uiModel.isMemorySuccess && uiModel.games.isEmpty()) {
-              view.setLoadingIndicator(true)
-            }
-
-            if (uiModel.isNetworkSuccess) {
-              view.setLoadingIndicator(false)
-            }
+  private fun onGamesLoaded(uiModel: GamesUiModel) {
+    if (uiModel.isLiveUpdate) {
+      view.updateGames(uiModel.games)
+      return
+    }
 
-            if (!uiModel.games.isEmpty()) {
-              view.showGames(uiModel.games)
-            }
+    if (uiModel.isMemorySuccess && uiModel.games.isEmpty()) {
+      view.setLoadingIndicator(true)
+    }
 
-            view.setNoGamesIndicator(uiModel.isNetworkSuccess && uiModel.games.isEmpty())
-          }
+    if (uiModel.isNetworkSuccess) {
+      view.setLoadingIndicator(false)
+    }
 
-          override fun onError(e: Throwable) {
-            view.setLoadingIndicator(false)
-            if (networkUtils.isNetworkAvailable()) {
-              view.showErrorSnackbar()
-            } else {
-              view.showNoNetSnackbar()
-            }
-          }
+    if (!uiModel.games.isEmpty()) {
+      view.showGames(uiModel.games)
+    }
 
-          override fun onComplete() {
+    view.setNoGamesIndicator(uiModel.isNetworkSuccess && uiModel.games.isEmpty())
+  }
 
-          }
-        }))
+  private fun onGamesLoadFailed() {
+    view.setLoadingIndicator(false)
+    if (networkUtils.isNetworkAvailable()) {
+      view.showErrorSnackbar()
+    } else {
+      view.showNoNetSnackbar()
+    }
   }
 
   private fun loadDateNavigatorText(selectedDate: Calendar) {
@@ -86,6 +126,14 @@ class GamesPresenter @Inject constructor(
     view.setDateNavigatorText(dateText)
   }
 
+  /**
+   * Live games are only polled while enabled, e.g. polling should be disabled while the view is
+   * not visible.
+   */
+  fun setPollingEnabled(enabled: Boolean) {
+    pollingEnabled.onNext(enabled)
+  }
+
   fun getSelectedDate(): Long = calendar.time.time
 
   fun setSelectedDate(millis: Long) {
@@ -94,6 +142,7 @@ class GamesPresenter @Inject constructor(
 
   override fun detachView() {
     disposables.clear()
+    gamesRepository.cancelPrefetch()
     view.dismissSnackbar()
     super.detachView()
   }
@@ -7,7 +7,8 @@ class GamesUiModel(
     val isMemorySuccess: Boolean,
     val isNetworkInProgress: Boolean,
     val isNetworkSuccess: Boolean,
-    val games: List<GameV2>) {
+    val games: List<GameV2>,
+    val isLiveUpdate: Boolean = false) {
 
   companion object {
     fun memoryInProgress(): GamesUiModel =
@@ -41,5 +42,17 @@ class GamesUiModel(
             isNetworkInProgress = false,
             isNetworkSuccess = true,
             games = games)
+
+    /**
+     * Only contains the games that changed, the rest of the day's games are left as they are.
+     */
+    fun liveUpdate(games: List<GameV2>): GamesUiModel =
+        GamesUiModel(
+            isMemoryInProgress = false,
+            isMemorySuccess = false,
+            isNetworkInProgress = false,
+            isNetworkSuccess = false,
+            games = games,
+            isLiveUpdate = true)
   }
 }
@@ -19,6 +19,8 @@ interface GamesView {
 
   fun showGames(games: List<GameV2>)
 
+  fun updateGames(games: List<GameV2>)
+
   fun showGameDetails(game: GameV2, selectedDate: Long)
 
   fun setNoGamesIndicator(active: Boolean)
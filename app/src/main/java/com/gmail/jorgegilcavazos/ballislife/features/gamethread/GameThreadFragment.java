@@ -21,11 +21,13 @@ import android.widget.Toast;
 
 import com.gmail.jorgegilcavazos.ballislife.R;
 import com.gmail.jorgegilcavazos.ballislife.data.reddit.RedditAuthentication;
+import com.gmail.jorgegilcavazos.ballislife.data.repository.gamethreads.GameThreadsRepository;
 import com.gmail.jorgegilcavazos.ballislife.data.repository.submissions.SubmissionRepository;
 import com.gmail.jorgegilcavazos.ballislife.data.service.RedditService;
 import com.gmail.jorgegilcavazos.ballislife.features.application.BallIsLifeApplication;
 import com.gmail.jorgegilcavazos.ballislife.features.common.OnCommentClickListener;
 import com.gmail.jorgegilcavazos.ballislife.features.common.ThreadAdapter;
+import com.gmail.jorgegilcavazos.ballislife.features.model.CommentChange;
 import com.gmail.jorgegilcavazos.ballislife.features.model.ThreadItem;
 import com.gmail.jorgegilcavazos.ballislife.features.reply.ReplyActivity;
 import com.gmail.jorgegilcavazos.ballislife.util.RedditUtils;
@@ -68,6 +70,7 @@ public class GameThreadFragment extends Fragment
     @Inject RedditService redditService;
     @Inject RedditAuthentication redditAuthentication;
     @Inject SubmissionRepository submissionRepository;
+    @Inject GameThreadsRepository gameThreadsRepository;
 
     @BindView(R.id.game_thread_swipe_refresh_layout) SwipeRefreshLayout swipeRefreshLayout;
     @BindView(R.id.comment_thread_rv) RecyclerView rvComments;
@@ -156,8 +159,8 @@ public class GameThreadFragment extends Fragment
         SharedPreferences preferences = getActivity().getSharedPreferences(REDDIT_AUTH_PREFS,
                 MODE_PRIVATE);
 
-        presenter = new GameThreadPresenter(this, redditService, submissionRepository, gameDate,
-                preferences, redditAuthentication);
+        presenter = new GameThreadPresenter(this, redditService, gameThreadsRepository,
+                submissionRepository, gameDate, preferences, redditAuthentication);
         presenter.start();
         presenter.loadComments(threadType, homeTeam, awayTeam, stream, false /* forceReload */);
 
@@ -234,6 +237,11 @@ public class GameThreadFragment extends Fragment
         threadAdapter.addComment(position, comment);
     }
 
+    @Override
+    public void applyCommentChanges(List<CommentChange> changes) {
+        threadAdapter.applyChanges(changes);
+    }
+
     @Override
     public void hideText() {
         tvMessage.setVisibility(View.GONE);
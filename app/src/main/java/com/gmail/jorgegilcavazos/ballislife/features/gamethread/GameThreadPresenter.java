@@ -3,21 +3,19 @@ package com.gmail.jorgegilcavazos.ballislife.features.gamethread;
 import android.content.SharedPreferences;
 
 import com.gmail.jorgegilcavazos.ballislife.data.reddit.RedditAuthentication;
+import com.gmail.jorgegilcavazos.ballislife.data.repository.gamethreads.GameThreadsRepository;
 import com.gmail.jorgegilcavazos.ballislife.data.repository.submissions.SubmissionRepository;
-import com.gmail.jorgegilcavazos.ballislife.data.service.GameThreadFinderService;
-import com.gmail.jorgegilcavazos.ballislife.data.service.RedditGameThreadsService;
 import com.gmail.jorgegilcavazos.ballislife.data.service.RedditService;
-import com.gmail.jorgegilcavazos.ballislife.features.common.ThreadAdapter;
-import com.gmail.jorgegilcavazos.ballislife.features.model.GameThreadSummary;
+import com.gmail.jorgegilcavazos.ballislife.features.model.SubmissionWrapper;
 import com.gmail.jorgegilcavazos.ballislife.features.model.ThreadItem;
-import com.gmail.jorgegilcavazos.ballislife.util.DateFormatUtil;
+import com.gmail.jorgegilcavazos.ballislife.util.CommentsTraverser;
 import com.gmail.jorgegilcavazos.ballislife.util.RedditUtils;
+import com.gmail.jorgegilcavazos.ballislife.util.SnuDownCache;
 import com.gmail.jorgegilcavazos.ballislife.util.exception.NotLoggedInException;
 import com.gmail.jorgegilcavazos.ballislife.util.exception.ReplyNotAvailableException;
 import com.gmail.jorgegilcavazos.ballislife.util.exception.ReplyToThreadException;
 import com.gmail.jorgegilcavazos.ballislife.util.exception.ThreadNotFoundException;
 import com.google.common.base.Optional;
-import com.jakewharton.retrofit2.adapter.rxjava2.RxJava2CallAdapterFactory;
 
 import net.dean.jraw.models.Comment;
 import net.dean.jraw.models.CommentNode;
@@ -25,11 +23,9 @@ import net.dean.jraw.models.CommentSort;
 import net.dean.jraw.models.Submission;
 import net.dean.jraw.models.VoteDirection;
 
-import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.reactivex.Completable;
 import io.reactivex.Observable;
@@ -40,28 +36,33 @@ import io.reactivex.observers.DisposableCompletableObserver;
 import io.reactivex.observers.DisposableObserver;
 import io.reactivex.observers.DisposableSingleObserver;
 import io.reactivex.schedulers.Schedulers;
-import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 
 public class GameThreadPresenter {
     private long gameDate;
 
     private GameThreadView view;
     private RedditService redditService;
-    private RedditGameThreadsService gameThreadsService;
+    private GameThreadsRepository gameThreadsRepository;
     private SubmissionRepository submissionRepository;
     private SharedPreferences preferences;
     private RedditAuthentication redditAuthentication;
     private CompositeDisposable disposables;
+    // Sorting of the comments shown, used if the submission needs to be fetched again.
+    private CommentSort commentSort = CommentSort.NEW;
+    // Comments shown by the latest load, each load streams its refreshes into its own instance.
+    private LiveComments liveComments = new LiveComments();
 
     public GameThreadPresenter(
             GameThreadView view,
-            RedditService redditService, SubmissionRepository submissionRepository,
+            RedditService redditService,
+            GameThreadsRepository gameThreadsRepository,
+            SubmissionRepository submissionRepository,
             long gameDate,
             SharedPreferences preferences,
             RedditAuthentication redditAuthentication) {
         this.view = view;
         this.redditService = redditService;
+        this.gameThreadsRepository = gameThreadsRepository;
         this.submissionRepository = submissionRepository;
         this.gameDate = gameDate;
         this.preferences = preferences;
@@ -70,59 +71,52 @@ public class GameThreadPresenter {
 
     public void start() {
         disposables = new CompositeDisposable();
-
-        Retrofit retrofit = new Retrofit.Builder()
-                .baseUrl("https://nba-app-ca681.firebaseio.com/")
-                .addCallAdapterFactory(RxJava2CallAdapterFactory.create())
-                .addConverterFactory(GsonConverterFactory.create())
-                .build();
-
-        gameThreadsService = retrofit.create(RedditGameThreadsService.class);
     }
 
     public void loadComments(final String type, final String homeTeamAbbr, final String
             awayTeamAbbr, boolean stream, boolean forceReload) {
 
+        final CommentSort sort;
+        switch (type) {
+            case RedditUtils.LIVE_GT_TYPE:
+                sort = CommentSort.NEW;
+                break;
+            case RedditUtils.POST_GT_TYPE:
+                sort = CommentSort.TOP;
+                break;
+            default:
+                throw new IllegalStateException("Thread type should be new or top");
+        }
+        commentSort = sort;
+
         view.setLoadingIndicator(true);
         view.hideComments();
         view.hideText();
 
-        Observable<List<CommentNode>> observable = redditAuthentication.authenticate(preferences)
-                .andThen(gameThreadsService.fetchGameThreads(
-                        DateFormatUtil.getNoDashDateString(new Date(gameDate)))).flatMap(threads
-                        -> {
-                    List<GameThreadSummary> threadList = new ArrayList<>();
-                    for (Map.Entry<String, GameThreadSummary> entry : threads.entrySet()) {
-                        threadList.add(entry.getValue());
-                    }
-                    return GameThreadFinderService.findGameThreadInList(threadList, type,
-                            homeTeamAbbr, awayTeamAbbr);
-                }).flatMap(threadId -> {
+        LiveComments streamed = new LiveComments();
+        // Only the first attempt may bypass the "not found" cache, streamed refreshes shouldn't.
+        AtomicBoolean retryNotFound = new AtomicBoolean(forceReload);
+        Observable<LiveComments.Refresh> observable = redditAuthentication.authenticate(preferences)
+                .andThen(Single.defer(() -> gameThreadsRepository.findGameThreadId(gameDate, type,
+                        homeTeamAbbr, awayTeamAbbr, retryNotFound.getAndSet(false))))
+                .flatMap(threadId -> {
                     if (threadId.equals("")) {
                         return Single.error(new ThreadNotFoundException());
                     }
-                    CommentSort sort;
-                    switch (type) {
-                        case RedditUtils.LIVE_GT_TYPE:
-                            sort = CommentSort.NEW;
-                            break;
-                        case RedditUtils.POST_GT_TYPE:
-                            sort = CommentSort.TOP;
-                            break;
-                        default:
-                            throw new IllegalStateException("Thread type should be new or top");
-                    }
                     return submissionRepository.getSubmission(threadId, sort, forceReload);
-                }).flatMap((submissionWrapper) -> {
+                })
+                // Cached trees may be shared with the submission screen, which changes them on
+                // the single scheduler.
+                .observeOn(Schedulers.single())
+                .flatMap((submissionWrapper) -> {
                     view.setSubmissionId(submissionWrapper.getId());
-                    Iterable<CommentNode> iterable = submissionWrapper.getSubmission().getComments()
-                            .walkTree();
-                    List<CommentNode> commentNodes = new ArrayList<>();
-                    for (CommentNode node : iterable) {
-                        commentNodes.add(node);
-                    }
-                    return Single.just(commentNodes);
+                    return Single.just(new CommentsTraverser(submissionWrapper.getSubmission()
+                            .getComments().getChildren()).commentNodes());
                 })
+                // Render bodies in the background so binding the comments is a lookup.
+                .doOnSuccess(commentNodes -> SnuDownCache.getInstance().prerender(commentNodes))
+                // Only the first load is shown in full, streamed refreshes are merged into it.
+                .map(streamed::refresh)
                 .toObservable();
 
         if (stream) {
@@ -130,19 +124,20 @@ public class GameThreadPresenter {
         }
 
         disposables.clear();
+        liveComments = streamed;
         disposables.add(observable
                 .subscribeOn(Schedulers.io())
                 .observeOn(AndroidSchedulers.mainThread())
-                .subscribeWith(new DisposableObserver<List<CommentNode>>() {
+                .subscribeWith(new DisposableObserver<LiveComments.Refresh>() {
                     @Override
-                    public void onNext(List<CommentNode> commentNodes) {
-                        List<ThreadItem> items = new ArrayList<>();
-                        for (CommentNode node : commentNodes) {
-                            items.add(new ThreadItem(ThreadAdapter.TYPE_COMMENT, node, node
-                                    .getDepth()));
-                        }
+                    public void onNext(LiveComments.Refresh refresh) {
                         view.setLoadingIndicator(false);
-                        if (commentNodes.size() == 0) {
+                        List<ThreadItem> items = refresh.getItems();
+                        if (items == null) {
+                            if (!refresh.getChanges().isEmpty()) {
+                                view.applyCommentChanges(refresh.getChanges());
+                            }
+                        } else if (items.isEmpty()) {
                             view.showNoCommentsText();
                         } else {
                             view.showComments(items);
@@ -240,14 +235,11 @@ public class GameThreadPresenter {
 
     public void reply(final int position, final String submissionId, final String
             commentFullName, final String text) {
-        Optional<Submission> submission = submissionRepository.getCachedSubmission(submissionId);
-        if (!submission.isPresent()) {
-            throw new IllegalStateException("A cached submission should've been available.");
-        }
-        Optional<CommentNode> parent = submission.get().getComments().walkTree().firstMatch(node
-                -> node.getComment().getFullName().equals(commentFullName));
-        if (!parent.isPresent()) {
-            throw new IllegalStateException("Could not find comment to reply to.");
+        CommentNode parent = liveComments.node(commentFullName);
+        if (parent == null) {
+            // The comments were reloaded while replying and the comment isn't shown anymore.
+            view.showReplyErrorToast();
+            return;
         }
 
         view.showSavingToast();
@@ -255,16 +247,14 @@ public class GameThreadPresenter {
                 .andThen(redditAuthentication.checkUserLoggedIn()).flatMap((loggedIn -> {
                     if (loggedIn) {
                         return redditService.replyToComment(redditAuthentication.getRedditClient
-                                (), parent.get().getComment(), text);
+                                (), parent.getComment(), text);
                     } else {
                         throw new NotLoggedInException();
                     }
                 }))
-                // Comment is not immediately available after being posted in the next call
-                // (probably a small delay from reddit's servers) so we need to wait for a bit
-                // before fetching the posted comment.
-                .delay(4, TimeUnit.SECONDS).flatMap(commentId -> redditService.getComment
-                        (redditAuthentication.getRedditClient(), submissionId, commentId))
+                // Built from the reply when possible, fetched by id otherwise.
+                .flatMap(posted -> redditService.getPostedComment(
+                        redditAuthentication.getRedditClient(), submissionId, posted))
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribeOn(Schedulers.io())
                 .subscribeWith(new DisposableSingleObserver<CommentNode>() {
@@ -272,9 +262,8 @@ public class GameThreadPresenter {
                     public void onSuccess(CommentNode comment) {
                         if (isViewAttached()) {
                             view.showReplySavedToast();
-                            if (comment != null) {
-                                view.addComment(position + 1, comment);
-                            }
+                            liveComments.addReply(commentFullName, comment);
+                            view.addComment(position + 1, comment);
                         }
                     }
 
@@ -295,11 +284,6 @@ public class GameThreadPresenter {
     }
 
     public void replyToThread(final String text, final String submissionId) {
-        Optional<Submission> submission = submissionRepository.getCachedSubmission(submissionId);
-        if (!submission.isPresent()) {
-            throw new IllegalStateException("A cached submission should've been available.");
-        }
-
         view.showSavingToast();
         disposables.add(redditAuthentication.authenticate(preferences)
                 .andThen(redditAuthentication.checkUserLoggedIn()).flatMapCompletable((loggedIn) -> {
@@ -307,13 +291,12 @@ public class GameThreadPresenter {
                         throw new NotLoggedInException();
                     }
                     return Completable.complete();
-                }).andThen(redditService.replyToThread(redditAuthentication.getRedditClient(),
-                        submission.get(), text))
-                // Comment is not immediately available after being posted in the next call
-                // (probably a small delay from reddit's servers) so we need to wait for a bit
-                // before fetching the posted comment.º
-                .delay(4, TimeUnit.SECONDS).flatMap(commentId -> redditService.getComment
-                        (redditAuthentication.getRedditClient(), submissionId, commentId))
+                }).andThen(submissionToReplyTo(submissionId))
+                .flatMap(submission -> redditService.replyToThread(
+                        redditAuthentication.getRedditClient(), submission, text))
+                // Built from the reply when possible, fetched by id otherwise.
+                .flatMap(posted -> redditService.getPostedComment(
+                        redditAuthentication.getRedditClient(), submissionId, posted))
                 .subscribeOn(Schedulers.io())
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribeWith(new DisposableSingleObserver<CommentNode>() {
@@ -321,6 +304,7 @@ public class GameThreadPresenter {
                     public void onSuccess(CommentNode commentNode) {
                         if (isViewAttached()) {
                             view.showSavedToast();
+                            liveComments.add(0, commentNode);
                             view.addComment(0, commentNode);
                         }
                     }
@@ -368,6 +352,21 @@ public class GameThreadPresenter {
         }
     }
 
+    /**
+     * Returns the cached submission, or fetches it again if it was evicted from the cache since
+     * its comments were shown.
+     */
+    private Single<Submission> submissionToReplyTo(String submissionId) {
+        return Single.defer(() -> {
+            Optional<Submission> cached = submissionRepository.getCachedSubmission(submissionId);
+            if (cached.isPresent()) {
+                return Single.just(cached.get());
+            }
+            return submissionRepository.getSubmission(submissionId, commentSort, false)
+                    .map(SubmissionWrapper::getSubmission);
+        });
+    }
+
     private boolean isViewAttached() {
         return view != null;
     }
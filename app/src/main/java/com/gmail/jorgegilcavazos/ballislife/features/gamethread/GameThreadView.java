@@ -1,5 +1,6 @@
 package com.gmail.jorgegilcavazos.ballislife.features.gamethread;
 
+import com.gmail.jorgegilcavazos.ballislife.features.model.CommentChange;
 import com.gmail.jorgegilcavazos.ballislife.features.model.ThreadItem;
 import com.hannesdorfmann.mosby.mvp.MvpView;
 
@@ -18,6 +19,8 @@ public interface GameThreadView extends MvpView {
 
     void addComment(int position, CommentNode comment);
 
+    void applyCommentChanges(List<CommentChange> changes);
+
     void hideText();
 
     void showNoThreadText();
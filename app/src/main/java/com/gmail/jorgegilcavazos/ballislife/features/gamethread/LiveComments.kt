@@ -0,0 +1,191 @@
+package com.gmail.jorgegilcavazos.ballislife.features.gamethread
+
+import com.gmail.jorgegilcavazos.ballislife.features.common.ThreadAdapter
+import com.gmail.jorgegilcavazos.ballislife.features.model.CommentChange
+import com.gmail.jorgegilcavazos.ballislife.features.model.ThreadItem
+import net.dean.jraw.models.CommentNode
+import java.util.*
+
+/**
+ * Keeps track of the comments displayed by a streamed game thread, keyed by fullname, so that
+ * each refresh of the thread only produces the changes needed to bring the displayed list up to
+ * date instead of replacing it, and so that a displayed comment can be looked up by fullname.
+ */
+class LiveComments {
+
+  /**
+   * Result of a refresh. [items] is set when the whole list needs to be shown, otherwise
+   * [changes] holds the changes to apply to the list already shown.
+   */
+  class Refresh(val items: List<ThreadItem>?, val changes: List<CommentChange>)
+
+  private data class Signature(val score: Int?, val bodyHtml: String?, val edited: Boolean?)
+
+  private val fullNames = ArrayList<String>()
+  // Position of each displayed comment in fullNames, by fullname.
+  private val positions = HashMap<String, Int>()
+  private val signatures = HashMap<String, Signature>()
+  private val nodes = HashMap<String, CommentNode>()
+
+  /**
+   * Takes the comments of the latest thread download, in display order.
+   */
+  @Synchronized
+  fun refresh(latestNodes: List<CommentNode>): Refresh {
+    if (fullNames.isEmpty()) {
+      return Refresh(reset(latestNodes), emptyList())
+    }
+    return Refresh(null, merge(latestNodes))
+  }
+
+  /**
+   * Registers a comment inserted into the displayed list outside of a refresh, e.g. a reply.
+   */
+  @Synchronized
+  fun add(position: Int, node: CommentNode) {
+    val fullName = node.comment.fullName
+    if (position < 0 || position > fullNames.size || signatures.containsKey(fullName)) {
+      return
+    }
+    // The comments after it are shifted, which is linear but only happens when the user posts.
+    for (entry in positions.entries) {
+      if (entry.value >= position) {
+        entry.setValue(entry.value + 1)
+      }
+    }
+    fullNames.add(position, fullName)
+    positions.put(fullName, position)
+    signatures.put(fullName, signature(node))
+    nodes.put(fullName, node)
+  }
+
+  /**
+   * Registers a reply inserted into the displayed list right after the comment it replies to.
+   */
+  @Synchronized
+  fun addReply(parentFullName: String, node: CommentNode) {
+    val parentPosition = positions[parentFullName] ?: return
+    add(parentPosition + 1, node)
+  }
+
+  /**
+   * Returns the latest version of the displayed comment with the given fullname, if any.
+   */
+  @Synchronized
+  fun node(fullName: String): CommentNode? = nodes[fullName]
+
+  @Synchronized
+  fun clear() {
+    fullNames.clear()
+    positions.clear()
+    signatures.clear()
+    nodes.clear()
+  }
+
+  private fun reset(latestNodes: List<CommentNode>): List<ThreadItem> {
+    clear()
+    val items = ArrayList<ThreadItem>(latestNodes.size)
+    for (node in latestNodes) {
+      val fullName = node.comment.fullName
+      if (signatures.put(fullName, signature(node)) == null) {
+        positions.put(fullName, fullNames.size)
+        fullNames.add(fullName)
+        nodes.put(fullName, node)
+        items.add(item(node))
+      }
+    }
+    return items
+  }
+
+  private fun merge(latestNodes: List<CommentNode>): List<CommentChange> {
+    val changes = ArrayList<CommentChange>()
+    val latest = LinkedHashMap<String, CommentNode>(latestNodes.size * 2)
+    for (node in latestNodes) {
+      latest.put(node.comment.fullName, node)
+    }
+
+    // Removed from the bottom up so the positions of the remaining comments stay valid.
+    for (i in fullNames.indices.reversed()) {
+      val fullName = fullNames[i]
+      if (!latest.containsKey(fullName)) {
+        signatures.remove(fullName)
+        nodes.remove(fullName)
+        changes.add(CommentChange.Remove(i))
+      }
+    }
+
+    // Position of each remaining comment once the missing ones are removed.
+    val remainingPositions = HashMap<String, Int>(signatures.size * 2)
+    for (fullName in fullNames) {
+      if (signatures.containsKey(fullName)) {
+        remainingPositions.put(fullName, remainingPositions.size)
+      }
+    }
+
+    // After handling position i the first i + 1 displayed comments match the first i + 1 latest
+    // ones, followed by the remaining comments not handled yet in their previous order. So a
+    // remaining comment is displayed at i plus the number of those before it.
+    val handled = PositionCounter(remainingPositions.size)
+    for ((position, entry) in latest.entries.withIndex()) {
+      val (fullName, node) = entry
+      val signature = signature(node)
+      val previous = signatures.put(fullName, signature)
+      nodes.put(fullName, node)
+      if (previous == null) {
+        changes.add(CommentChange.Insert(position, item(node)))
+        continue
+      }
+      val remainingPosition = remainingPositions.getValue(fullName)
+      val from = position + remainingPosition - handled.countBefore(remainingPosition)
+      handled.add(remainingPosition)
+      if (from != position) {
+        changes.add(CommentChange.Move(from, position))
+      }
+      if (previous != signature) {
+        changes.add(CommentChange.Update(position, item(node)))
+      }
+    }
+
+    fullNames.clear()
+    fullNames.addAll(latest.keys)
+    positions.clear()
+    for ((i, fullName) in fullNames.withIndex()) {
+      positions.put(fullName, i)
+    }
+    return changes
+  }
+
+  private fun item(node: CommentNode) = ThreadItem(ThreadAdapter.TYPE_COMMENT, node, node.depth)
+
+  private fun signature(node: CommentNode): Signature {
+    val comment = node.comment
+    return Signature(comment.score, comment.data("body_html"), comment.hasBeenEdited())
+  }
+}
+
+/**
+ * Counts the positions added so far that are before a given one, each operation in logarithmic
+ * time (a Fenwick tree).
+ */
+private class PositionCounter(size: Int) {
+
+  private val tree = IntArray(size + 1)
+
+  fun add(position: Int) {
+    var i = position + 1
+    while (i < tree.size) {
+      tree[i]++
+      i += i and -i
+    }
+  }
+
+  fun countBefore(position: Int): Int {
+    var count = 0
+    var i = position
+    while (i > 0) {
+      count += tree[i]
+      i -= i and -i
+    }
+    return count
+  }
+}
@@ -0,0 +1,13 @@
+package com.gmail.jorgegilcavazos.ballislife.features.model
+
+/**
+ * A positional change to a displayed list of comments. Changes are meant to be applied in order,
+ * each position is relative to the list as left by the previous change. Rows are built with the
+ * changes, so that applying them doesn't compute any metadata.
+ */
+sealed class CommentChange {
+  class Insert(val position: Int, val item: ThreadItem) : CommentChange()
+  class Update(val position: Int, val item: ThreadItem) : CommentChange()
+  class Remove(val position: Int) : CommentChange()
+  class Move(val fromPosition: Int, val toPosition: Int) : CommentChange()
+}
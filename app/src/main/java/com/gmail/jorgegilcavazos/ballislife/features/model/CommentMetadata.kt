@@ -0,0 +1,32 @@
+package com.gmail.jorgegilcavazos.ballislife.features.model
+
+import com.gmail.jorgegilcavazos.ballislife.util.DateFormatUtil
+import com.gmail.jorgegilcavazos.ballislife.util.RedditUtils
+import net.dean.jraw.models.Comment
+
+/**
+ * What a comment row displays besides the body, computed once when the row is created instead
+ * of on every bind. The flair is read from the fields of the author's flair, and only the relative
+ * time is derived on bind, from a clock tick shared by the rows.
+ */
+class CommentMetadata(
+    val flairText: String,
+    val flairRes: Int,
+    val createdMillis: Long) {
+
+  companion object {
+    @JvmStatic
+    fun of(comment: Comment): CommentMetadata {
+      val flair = comment.authorFlair
+      return CommentMetadata(
+          flair?.text ?: "",
+          RedditUtils.getFlairFromCss(flair?.cssClass ?: ""),
+          comment.created?.time ?: 0)
+    }
+  }
+
+  /**
+   * Returns the time since the comment was created, e.g. "5m", as of the given time.
+   */
+  fun timestamp(nowMillis: Long) = DateFormatUtil.formatRedditDate(createdMillis, nowMillis)
+}
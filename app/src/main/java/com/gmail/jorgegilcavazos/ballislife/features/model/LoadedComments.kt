@@ -0,0 +1,12 @@
+package com.gmail.jorgegilcavazos.ballislife.features.model
+
+import com.gmail.jorgegilcavazos.ballislife.util.CommentIndex
+
+/**
+ * The rows of the comments of [submissionWrapper] and their [index], built off the main thread
+ * so that showing them only binds the rows.
+ */
+class LoadedComments(
+    val submissionWrapper: SubmissionWrapper,
+    val items: List<ThreadItem>,
+    val index: CommentIndex)
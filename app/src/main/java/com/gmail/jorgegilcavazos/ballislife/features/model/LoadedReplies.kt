@@ -0,0 +1,8 @@
+package com.gmail.jorgegilcavazos.ballislife.features.model
+
+import net.dean.jraw.models.CommentNode
+
+/**
+ * The rows that replace the "load more" row of [parent] once more of its replies were loaded.
+ */
+class LoadedReplies(val parent: CommentNode, val items: List<ThreadItem>)
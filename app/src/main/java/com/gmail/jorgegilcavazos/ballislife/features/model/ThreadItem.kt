@@ -2,4 +2,14 @@ package com.gmail.jorgegilcavazos.ballislife.features.model
 
 import net.dean.jraw.models.CommentNode
 
-class ThreadItem(val type: Int, val commentNode: CommentNode?, val depth: Int)
\ No newline at end of file
+/**
+ * A row of a flattened thread. [loadMoreParent] is the comment whose replies a "load more" row
+ * loads.
+ */
+class ThreadItem @JvmOverloads constructor(
+    val type: Int,
+    val commentNode: CommentNode?,
+    val depth: Int,
+    val loadMoreParent: CommentNode? = null) {
+  val metadata: CommentMetadata? = commentNode?.let { CommentMetadata.of(it.comment) }
+}
@@ -16,7 +16,7 @@ import com.gmail.jorgegilcavazos.ballislife.features.common.OnSubmissionClickLis
 import com.gmail.jorgegilcavazos.ballislife.features.model.SubmissionWrapper;
 import com.gmail.jorgegilcavazos.ballislife.util.DateFormatUtil;
 import com.gmail.jorgegilcavazos.ballislife.util.Pair;
-import com.gmail.jorgegilcavazos.ballislife.util.RedditUtils;
+import com.gmail.jorgegilcavazos.ballislife.util.SnuDownCache;
 import com.gmail.jorgegilcavazos.ballislife.util.Utilities;
 import com.gmail.jorgegilcavazos.ballislife.util.Utilities.ThumbnailType;
 import com.google.common.base.Optional;
@@ -149,7 +149,7 @@ public class WideCardViewHolder extends RecyclerView.ViewHolder {
 
         if (isSelf && selfTextHtml != null && !selfTextHtml.isEmpty()) {
             tvBody.setVisibility(View.VISIBLE);
-            tvBody.setText(RedditUtils.bindSnuDown(selfTextHtml));
+            tvBody.setText(SnuDownCache.getInstance().selfText(submissionWrapper));
         } else {
             tvBody.setVisibility(View.GONE);
         }
@@ -11,7 +11,7 @@ import android.widget.TextView;
 import com.gmail.jorgegilcavazos.ballislife.R;
 import com.gmail.jorgegilcavazos.ballislife.util.Constants;
 import com.gmail.jorgegilcavazos.ballislife.util.DateFormatUtil;
-import com.gmail.jorgegilcavazos.ballislife.util.RedditUtils;
+import com.gmail.jorgegilcavazos.ballislife.util.SnuDownCache;
 import com.squareup.picasso.Picasso;
 
 import net.dean.jraw.models.Comment;
@@ -131,7 +131,7 @@ public class ContributionsAdapter extends RecyclerView.Adapter<RecyclerView.View
 
         holder.postTitleTextView.setText(comment.getSubmissionTitle());
         holder.authorTextView.setText(comment.getAuthor());
-        holder.bodyTextView.setText(RedditUtils.bindSnuDown(comment.data("body_html")));
+        holder.bodyTextView.setText(SnuDownCache.getInstance().comment(comment));
         holder.timestampTextView.setText(DateFormatUtil.formatRedditDate(comment.getCreated()));
         holder.scoreTextView.setText(context.getString(R.string.points,
                 String.valueOf(comment.getScore())));
@@ -26,7 +26,6 @@ import butterknife.BindView;
 import butterknife.ButterKnife;
 import butterknife.Unbinder;
 import io.reactivex.disposables.CompositeDisposable;
-import retrofit2.Retrofit;
 
 public class StandingsFragment extends Fragment implements StandingsView,
         SwipeRefreshLayout.OnRefreshListener {
@@ -36,7 +35,7 @@ public class StandingsFragment extends Fragment implements StandingsView,
     private static final int WEST = 1;
 
     @Inject
-    Retrofit retrofit;
+    NbaStandingsService service;
 
     @Inject
     BaseSchedulerProvider schedulerProvider;
@@ -76,8 +75,6 @@ public class StandingsFragment extends Fragment implements StandingsView,
         swipeRefreshLayout.setOnRefreshListener(this);
         layoutContent.setVisibility(View.GONE);
 
-        NbaStandingsService service = retrofit.create(NbaStandingsService.class);
-
         disposables = new CompositeDisposable();
 
         presenter = new StandingsPresenter(service, schedulerProvider, disposables);
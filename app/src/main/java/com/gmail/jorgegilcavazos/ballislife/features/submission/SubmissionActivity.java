@@ -21,6 +21,7 @@ import com.gmail.jorgegilcavazos.ballislife.R;
 import com.gmail.jorgegilcavazos.ballislife.data.reddit.RedditAuthentication;
 import com.gmail.jorgegilcavazos.ballislife.features.application.BallIsLifeApplication;
 import com.gmail.jorgegilcavazos.ballislife.features.common.OnCommentClickListener;
+import com.gmail.jorgegilcavazos.ballislife.features.common.OnLoadMoreCommentsClickListener;
 import com.gmail.jorgegilcavazos.ballislife.features.common.OnSubmissionClickListener;
 import com.gmail.jorgegilcavazos.ballislife.features.common.ThreadAdapter;
 import com.gmail.jorgegilcavazos.ballislife.features.model.SubmissionWrapper;
@@ -46,7 +47,7 @@ import butterknife.ButterKnife;
 
 public class SubmissionActivity extends AppCompatActivity implements SubmissionView,
         SwipeRefreshLayout.OnRefreshListener, OnCommentClickListener, OnSubmissionClickListener,
-        View.OnClickListener {
+        OnLoadMoreCommentsClickListener, View.OnClickListener {
     private static final String TAG = "SubmissionActivity";
     private static final String KEY_COMMENT_TO_REPLY_POS = "CommentToReplyPos";
     private static final String KEY_COMMENT_TO_REPLY_FULL_NAME = "CommentToReplyFullName";
@@ -104,6 +105,7 @@ public class SubmissionActivity extends AppCompatActivity implements SubmissionV
         threadAdapter = new ThreadAdapter(this, redditAuthentication, new ArrayList<>(), true);
         threadAdapter.setCommentClickListener(this);
         threadAdapter.setSubmissionClickListener(this);
+        threadAdapter.setLoadMoreCommentsClickListener(this);
 
         linearLayoutManager = new LinearLayoutManager(this);
         submissionRecyclerView.setLayoutManager(linearLayoutManager);
@@ -182,6 +184,13 @@ public class SubmissionActivity extends AppCompatActivity implements SubmissionV
                 presenter.loadComments(threadId, sorting, true /* forceReload */);
                 getSupportActionBar().setSubtitle("TOP");
                 return true;
+            case R.id.action_next_comment:
+                int next = threadAdapter.nextTopLevelCommentPosition(
+                        linearLayoutManager.findFirstVisibleItemPosition());
+                if (next != -1) {
+                    linearLayoutManager.scrollToPositionWithOffset(next, 0);
+                }
+                return true;
         }
         return super.onOptionsItemSelected(item);
     }
@@ -218,6 +227,16 @@ public class SubmissionActivity extends AppCompatActivity implements SubmissionV
         threadAdapter.addComment(position, comment);
     }
 
+    @Override
+    public void showMoreComments(int position, List<ThreadItem> items) {
+        threadAdapter.replaceLoadMore(position, items);
+    }
+
+    @Override
+    public void showErrorLoadingMoreComments() {
+        Toast.makeText(this, R.string.error_loading_more_comments, Toast.LENGTH_SHORT).show();
+    }
+
     @Override
     public void showErrorAddingComment() {
         Toast.makeText(this, R.string.saving_failed, Toast.LENGTH_SHORT).show();
@@ -324,6 +343,11 @@ public class SubmissionActivity extends AppCompatActivity implements SubmissionV
         presenter.onReplyToCommentBtnClick(position, parentComment);
     }
 
+    @Override
+    public void onLoadMoreComments(CommentNode parent) {
+        presenter.onLoadMoreComments(parent);
+    }
+
     @Override
     public void onSubmissionClick(SubmissionWrapper submissionWrapper) {
         // No action on submission click.
@@ -6,10 +6,14 @@ import com.gmail.jorgegilcavazos.ballislife.base.BasePresenter;
 import com.gmail.jorgegilcavazos.ballislife.data.reddit.RedditAuthentication;
 import com.gmail.jorgegilcavazos.ballislife.data.repository.submissions.SubmissionRepository;
 import com.gmail.jorgegilcavazos.ballislife.data.service.RedditService;
+import com.gmail.jorgegilcavazos.ballislife.features.model.LoadedComments;
+import com.gmail.jorgegilcavazos.ballislife.features.model.LoadedReplies;
 import com.gmail.jorgegilcavazos.ballislife.features.model.SubmissionWrapper;
 import com.gmail.jorgegilcavazos.ballislife.features.model.ThreadItem;
+import com.gmail.jorgegilcavazos.ballislife.util.CommentIndex;
 import com.gmail.jorgegilcavazos.ballislife.util.CommentsTraverser;
 import com.gmail.jorgegilcavazos.ballislife.util.Constants;
+import com.gmail.jorgegilcavazos.ballislife.util.SnuDownCache;
 import com.gmail.jorgegilcavazos.ballislife.util.Utilities;
 import com.gmail.jorgegilcavazos.ballislife.util.exception.NotLoggedInException;
 import com.gmail.jorgegilcavazos.ballislife.util.exception.ReplyNotAvailableException;
@@ -21,16 +25,23 @@ import net.dean.jraw.models.Comment;
 import net.dean.jraw.models.CommentNode;
 import net.dean.jraw.models.CommentSort;
 import net.dean.jraw.models.Submission;
+import net.dean.jraw.models.Thing;
 import net.dean.jraw.models.VoteDirection;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import io.reactivex.Observable;
+import io.reactivex.Single;
 import io.reactivex.disposables.CompositeDisposable;
+import io.reactivex.disposables.Disposable;
 import io.reactivex.observers.DisposableCompletableObserver;
+import io.reactivex.observers.DisposableObserver;
 import io.reactivex.observers.DisposableSingleObserver;
 
 public class SubmissionPresenter extends BasePresenter<SubmissionView> {
@@ -41,6 +52,18 @@ public class SubmissionPresenter extends BasePresenter<SubmissionView> {
     private SharedPreferences redditPrefs;
     private CompositeDisposable disposables;
     private BaseSchedulerProvider schedulerProvider;
+    // Sorting of the comments shown, used if the submission needs to be fetched again.
+    private CommentSort sorting = CommentSort.TOP;
+    // Submission shown. Cached trees may be shared with other screens, they're only traversed and
+    // changed on the single scheduler.
+    private SubmissionWrapper submissionWrapper;
+    // Index of the comments shown, by fullname.
+    private CommentIndex commentIndex;
+    // Comments whose "load more" row was tapped, by fullname, until their replies are shown.
+    private final Set<String> loadingMore = new HashSet<>();
+    // Comments tapped while a batch was being loaded, they're loaded together in the next one.
+    private final List<CommentNode> loadMoreQueue = new ArrayList<>();
+    private Disposable loadMoreDisposable;
 
     @Inject
     public SubmissionPresenter(
@@ -63,24 +86,40 @@ public class SubmissionPresenter extends BasePresenter<SubmissionView> {
 
     public void loadComments(String threadId, CommentSort sorting, final String
             commentIdToScroll, boolean forceReload) {
+        this.sorting = sorting;
+        // Replies being loaded belong to the tree being replaced.
+        cancelLoadMore();
         view.hideFab();
         view.setLoadingIndicator(true);
+        // A snapshot from disk may be shown first, only scroll once when the comments appear.
+        boolean[] scrolled = {false};
         disposables.add(redditAuthentication.authenticate(redditPrefs).andThen
-                (submissionRepository.getSubmission(threadId, sorting, forceReload))
+                (submissionRepository.getSubmissionWithSnapshot(threadId, sorting, forceReload))
+                .observeOn(schedulerProvider.single())
+                .map(submissionWrapper -> {
+                    CommentsTraverser traverser = new CommentsTraverser(
+                            submissionWrapper.getSubmission().getComments().getChildren());
+                    // Render bodies in the background so binding the comments is a lookup.
+                    SnuDownCache.getInstance().selfText(submissionWrapper);
+                    SnuDownCache.getInstance().prerender(traverser);
+                    List<ThreadItem> items = traverser.toList();
+                    return new LoadedComments(submissionWrapper, items, new CommentIndex(items));
+                })
                 .subscribeOn(schedulerProvider.io())
-                .observeOn(schedulerProvider.ui()).subscribeWith(new DisposableSingleObserver<SubmissionWrapper>() {
+                .observeOn(schedulerProvider.ui()).subscribeWith(new DisposableObserver<LoadedComments>() {
                     @Override
-                    public void onSuccess(SubmissionWrapper submissionWrapper) {
-                        List<ThreadItem> items = CommentsTraverser.Companion.flattenCommentTree
-                                (submissionWrapper.getSubmission().getComments().getChildren());
+                    public void onNext(LoadedComments loadedComments) {
+                        commentIndex = loadedComments.getIndex();
+                        submissionWrapper = loadedComments.getSubmissionWrapper();
 
-                        Optional<Integer> pos = findComment(items, commentIdToScroll);
+                        Optional<Integer> pos = findComment(commentIdToScroll);
 
-                        view.showComments(items, submissionWrapper.getSubmission());
-                        view.setLoadingIndicator(false);
+                        view.showComments(loadedComments.getItems(),
+                                loadedComments.getSubmissionWrapper().getSubmission());
                         view.showFab();
 
-                        if (pos.isPresent()) {
+                        if (pos.isPresent() && !scrolled[0]) {
+                            scrolled[0] = true;
                             view.scrollToComment(pos.get());
                         }
                     }
@@ -89,10 +128,117 @@ public class SubmissionPresenter extends BasePresenter<SubmissionView> {
                     public void onError(Throwable e) {
                         view.setLoadingIndicator(false);
                     }
+
+                    @Override
+                    public void onComplete() {
+                        view.setLoadingIndicator(false);
+                    }
                 })
         );
     }
 
+    /**
+     * Loads the next batch of the replies of a comment that weren't loaded with the thread. Taps
+     * on other "load more" rows while a batch is loading are coalesced into the next batch, whose
+     * replies are all requested at once. The replies are added to the shown tree and their rows
+     * are built on the single scheduler, like every other traversal of the tree.
+     */
+    public void onLoadMoreComments(CommentNode parent) {
+        if (commentIndex == null || !loadingMore.add(parent.getComment().getFullName())) {
+            return;
+        }
+        loadMoreQueue.add(parent);
+        if (loadMoreDisposable == null) {
+            loadMoreBatch();
+        }
+    }
+
+    private void loadMoreBatch() {
+        final List<CommentNode> batch = new ArrayList<>(loadMoreQueue);
+        final SubmissionWrapper shownSubmission = submissionWrapper;
+        final CommentSort sort = sorting;
+        loadMoreQueue.clear();
+        loadMoreDisposable = redditAuthentication.authenticate(redditPrefs)
+                .andThen(Single.defer(() -> redditService.getMoreComments(
+                        redditAuthentication.getRedditClient(),
+                        shownSubmission.getSubmission().getFullName(), sort, batch)))
+                .observeOn(schedulerProvider.single())
+                .flatMapObservable(moreByParent -> {
+                    List<LoadedReplies> loaded = new ArrayList<>();
+                    for (CommentNode parent : batch) {
+                        List<CommentNode> replies = insertMoreComments(parent,
+                                moreByParent.get(parent.getComment().getFullName()));
+                        SnuDownCache.getInstance().prerender(new CommentsTraverser(replies));
+                        loaded.add(new LoadedReplies(parent,
+                                CommentsTraverser.loadedReplies(parent, replies)));
+                    }
+                    // The tree grew, the cache entry is weighed again.
+                    submissionRepository.saveSubmission(shownSubmission);
+                    return Observable.fromIterable(loaded);
+                })
+                .subscribeOn(schedulerProvider.io())
+                .observeOn(schedulerProvider.ui())
+                .subscribeWith(new DisposableObserver<LoadedReplies>() {
+                    @Override
+                    public void onNext(LoadedReplies loadedReplies) {
+                        String parentFullName = loadedReplies.getParent().getComment()
+                                .getFullName();
+                        int position = commentIndex.loadMorePosition(parentFullName);
+                        loadingMore.remove(parentFullName);
+                        // The comments may have been shown again since, e.g. from the network
+                        // after a snapshot, the replies belong to the previous tree.
+                        if (shownSubmission != submissionWrapper || position == -1) {
+                            return;
+                        }
+                        commentIndex.replaceLoadMore(parentFullName, loadedReplies.getItems());
+                        view.showMoreComments(position, loadedReplies.getItems());
+                    }
+
+                    @Override
+                    public void onError(Throwable e) {
+                        view.showErrorLoadingMoreComments();
+                        finishLoadMoreBatch(batch);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        finishLoadMoreBatch(batch);
+                    }
+                });
+        disposables.add(loadMoreDisposable);
+    }
+
+    /**
+     * Adds the loaded replies to the tree of the given comment, returning those added directly
+     * under it.
+     */
+    private List<CommentNode> insertMoreComments(CommentNode parent, List<Thing> moreComments) {
+        // Loaded replies are appended after the ones the comment already had.
+        int loaded = parent.getChildren().size();
+        parent.insertMoreComments(moreComments);
+        List<CommentNode> children = parent.getChildren();
+        return new ArrayList<>(children.subList(loaded, children.size()));
+    }
+
+    private void finishLoadMoreBatch(List<CommentNode> batch) {
+        for (CommentNode parent : batch) {
+            loadingMore.remove(parent.getComment().getFullName());
+        }
+        loadMoreDisposable = null;
+        if (!loadMoreQueue.isEmpty()) {
+            loadMoreBatch();
+        }
+    }
+
+    private void cancelLoadMore() {
+        if (loadMoreDisposable != null) {
+            loadMoreDisposable.dispose();
+            loadMoreDisposable = null;
+        }
+        loadMoreQueue.clear();
+        loadingMore.clear();
+    }
+
     public void onVoteSubmission(final Submission submission, final VoteDirection vote) {
         disposables.add(redditAuthentication.authenticate(redditPrefs)
                 .andThen(redditAuthentication.checkUserLoggedIn()).flatMapCompletable((loggedIn)
@@ -246,14 +392,11 @@ public class SubmissionPresenter extends BasePresenter<SubmissionView> {
 
     public void onReplyToComment(final int position, final String submissionId, final String
             commentFullName, final String text) {
-        Optional<Submission> submission = submissionRepository.getCachedSubmission(submissionId);
-        if (!submission.isPresent()) {
-            throw new IllegalStateException("A cached submission should've been available.");
-        }
-        Optional<CommentNode> parent = submission.get().getComments().walkTree()
-                .firstMatch(node -> node.getComment().getFullName().equals(commentFullName));
-        if (!parent.isPresent()) {
-            throw new IllegalStateException("Could not find comment to reply to.");
+        CommentNode parent = commentIndex == null ? null : commentIndex.node(commentFullName);
+        if (parent == null) {
+            // The comments were reloaded while replying and the comment isn't shown anymore.
+            view.showErrorAddingComment();
+            return;
         }
 
         view.showSavingToast();
@@ -261,21 +404,20 @@ public class SubmissionPresenter extends BasePresenter<SubmissionView> {
                 .andThen(redditAuthentication.checkUserLoggedIn()).flatMap((loggedIn) -> {
                     if (loggedIn) {
                         return redditService.replyToComment(redditAuthentication.getRedditClient
-                                (), parent.get().getComment(), text);
+                                (), parent.getComment(), text);
                     } else {
                         throw new NotLoggedInException();
                     }
                 })
-                // Comment is not immediately available after being posted in the next call
-                // (probably a small delay from reddit's servers) so we need to wait for a bit
-                // before fetching the posted comment.
-                .delay(4, TimeUnit.SECONDS).flatMap(s -> redditService.getComment
-                        (redditAuthentication.getRedditClient(), submissionId, s))
+                // Built from the reply when possible, fetched by id otherwise.
+                .flatMap(posted -> redditService.getPostedComment(
+                        redditAuthentication.getRedditClient(), submissionId, posted))
                 .observeOn(schedulerProvider.ui())
                 .subscribeOn(schedulerProvider.io())
                 .subscribeWith(new DisposableSingleObserver<CommentNode>() {
                     @Override
                     public void onSuccess(CommentNode comment) {
+                        commentIndex.insert(commentIndex.position(commentFullName) + 1, comment);
                         view.addComment(comment, position + 1);
                     }
 
@@ -306,31 +448,26 @@ public class SubmissionPresenter extends BasePresenter<SubmissionView> {
     }
 
     public void onReplyToThread(final String text, final String submissionId) {
-        Optional<Submission> submission = submissionRepository.getCachedSubmission(submissionId);
-        if (!submission.isPresent()) {
-            throw new IllegalStateException("A cached submission should've been available.");
-        }
-
         view.showSavingToast();
         disposables.add(redditAuthentication.authenticate(redditPrefs)
                 .andThen(redditAuthentication.checkUserLoggedIn()).flatMap((loggedIn) -> {
                     if (loggedIn) {
-                        return redditService.replyToThread(redditAuthentication.getRedditClient()
-                                , submission.get(), text);
+                        return submissionToReplyTo(submissionId);
                     } else {
                         throw new NotLoggedInException();
                     }
                 })
-                // Comment is not immediately available after being posted in the next call
-                // (probably a small delay from reddit's servers) so we need to wait for a bit
-                // before fetching the posted comment.
-                .delay(4, TimeUnit.SECONDS).flatMap(commentId -> redditService.getComment
-                        (redditAuthentication.getRedditClient(), submissionId, commentId))
+                .flatMap(submission -> redditService.replyToThread(
+                        redditAuthentication.getRedditClient(), submission, text))
+                // Built from the reply when possible, fetched by id otherwise.
+                .flatMap(posted -> redditService.getPostedComment(
+                        redditAuthentication.getRedditClient(), submissionId, posted))
                 .subscribeOn(schedulerProvider.io())
                 .observeOn(schedulerProvider.ui())
                 .subscribeWith(new DisposableSingleObserver<CommentNode>() {
                     @Override
                     public void onSuccess(CommentNode comment) {
+                        commentIndex.insert(0, comment);
                         view.addComment(comment, 0);
                         view.scrollToComment(0);
                     }
@@ -370,21 +507,32 @@ public class SubmissionPresenter extends BasePresenter<SubmissionView> {
     }
 
     public void stop() {
+        cancelLoadMore();
         if (disposables != null) {
             disposables.clear();
         }
     }
 
-    private Optional<Integer> findComment(List<ThreadItem> items, String id) {
+    /**
+     * Returns the cached submission, or fetches it again if it was evicted from the cache since
+     * its comments were shown.
+     */
+    private Single<Submission> submissionToReplyTo(String submissionId) {
+        return Single.defer(() -> {
+            Optional<Submission> cached = submissionRepository.getCachedSubmission(submissionId);
+            if (cached.isPresent()) {
+                return Single.just(cached.get());
+            }
+            return submissionRepository.getSubmission(submissionId, sorting, false)
+                    .map(SubmissionWrapper::getSubmission);
+        });
+    }
+
+    private Optional<Integer> findComment(String id) {
         if (id == null) {
             return Optional.absent();
         }
-        for (int i = 0; i < items.size(); i++) {
-            CommentNode node = items.get(i).getCommentNode();
-            if (node != null && node.getComment().getId().equals(id)) {
-                return Optional.of(i);
-            }
-        }
-        return Optional.absent();
+        int position = commentIndex.position("t1_" + id);
+        return position == -1 ? Optional.absent() : Optional.of(position);
     }
 }
@@ -16,6 +16,10 @@ public interface SubmissionView {
 
     void addComment(CommentNode comment, int position);
 
+    void showMoreComments(int position, List<ThreadItem> items);
+
+    void showErrorLoadingMoreComments();
+
     void showErrorAddingComment();
 
     void showNotLoggedInError();
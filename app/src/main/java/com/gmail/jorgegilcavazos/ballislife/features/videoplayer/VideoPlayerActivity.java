@@ -11,14 +11,11 @@ import com.gmail.jorgegilcavazos.ballislife.R;
 import com.gmail.jorgegilcavazos.ballislife.data.service.StreamableService;
 import com.gmail.jorgegilcavazos.ballislife.features.application.BallIsLifeApplication;
 import com.gmail.jorgegilcavazos.ballislife.util.schedulers.BaseSchedulerProvider;
-import com.jakewharton.retrofit2.adapter.rxjava2.RxJava2CallAdapterFactory;
 
 import javax.inject.Inject;
 
 import butterknife.BindView;
 import butterknife.ButterKnife;
-import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 
 public class VideoPlayerActivity extends AppCompatActivity implements VideoPlayerView ,
         EasyVideoCallback {
@@ -28,6 +25,9 @@ public class VideoPlayerActivity extends AppCompatActivity implements VideoPlaye
     @Inject
     BaseSchedulerProvider schedulerProvider;
 
+    @Inject
+    StreamableService streamableService;
+
     @BindView(R.id.player) EasyVideoPlayer videoPlayer;
 
     private VideoPlayerPresenter presenter;
@@ -43,14 +43,6 @@ public class VideoPlayerActivity extends AppCompatActivity implements VideoPlaye
         videoPlayer.setAutoPlay(true);
         videoPlayer.setLoop(true);
 
-        Retrofit retrofit = new Retrofit.Builder()
-                .baseUrl("https://api.streamable.com/")
-                .addConverterFactory(GsonConverterFactory.create())
-                .addCallAdapterFactory(RxJava2CallAdapterFactory.create())
-                .build();
-
-        StreamableService streamableService = retrofit.create(StreamableService.class);
-
         presenter = new VideoPlayerPresenter(streamableService, schedulerProvider);
         presenter.attachView(this);
 
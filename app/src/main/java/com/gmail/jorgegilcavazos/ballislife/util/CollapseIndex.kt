@@ -0,0 +1,169 @@
+package com.gmail.jorgegilcavazos.ballislife.util
+
+import java.util.*
+
+/**
+ * Maps the rows of a flattened comment tree, given by their depths in pre-order, to the positions
+ * they're displayed at when some subtrees are collapsed, and back.
+ *
+ * The subtree of every row is computed once, and the hidden rows are kept in a segment tree over
+ * the flattened order where collapsing a row covers the range of its descendants. Collapsing or
+ * expanding a subtree of any size and mapping a position to a row or a row to a position are all
+ * logarithmic in the number of rows. Collapsed subtrees can be nested, expanding a row leaves the
+ * subtrees collapsed inside of it collapsed.
+ */
+class CollapseIndex(depths: IntArray) {
+
+  private val size = depths.size
+  // Exclusive end of the subtree of each row, i.e. the row after its last descendant.
+  private val subtreeEnds = IntArray(size)
+  // The top-level row each row is under.
+  private val roots = IntArray(size)
+  private val collapsed = BooleanArray(size)
+
+  // Number of collapsed rows covering each segment, and the number of visible rows in it.
+  private val covers = IntArray(Math.max(4 * size, 1))
+  private val visible = IntArray(Math.max(4 * size, 1))
+
+  init {
+    val open = ArrayDeque<Int>()
+    for (row in 0 until size) {
+      while (!open.isEmpty() && depths[open.peek()] >= depths[row]) {
+        subtreeEnds[open.pop()] = row
+      }
+      roots[row] = if (open.isEmpty()) row else roots[open.peekLast()]
+      open.push(row)
+    }
+    while (!open.isEmpty()) {
+      subtreeEnds[open.pop()] = size
+    }
+    if (size > 0) {
+      build(1, 0, size)
+    }
+  }
+
+  fun visibleCount() = if (size == 0) 0 else visible[1]
+
+  fun isCollapsed(row: Int) = collapsed[row]
+
+  /**
+   * Returns the number of rows under the given one, whether they're visible or not.
+   */
+  fun descendantCount(row: Int) = subtreeEnds[row] - row - 1
+
+  /**
+   * Hides the descendants of the given row, returning how many rows went from visible to hidden.
+   * They were displayed right after the row.
+   */
+  fun collapse(row: Int): Int {
+    if (collapsed[row] || descendantCount(row) == 0) {
+      return 0
+    }
+    val before = visibleCount()
+    collapsed[row] = true
+    update(1, 0, size, row + 1, subtreeEnds[row], 1)
+    return before - visibleCount()
+  }
+
+  /**
+   * Shows the descendants of the given row again, returning how many rows went from hidden to
+   * visible. They're displayed right after the row.
+   */
+  fun expand(row: Int): Int {
+    if (!collapsed[row]) {
+      return 0
+    }
+    val before = visibleCount()
+    collapsed[row] = false
+    update(1, 0, size, row + 1, subtreeEnds[row], -1)
+    return visibleCount() - before
+  }
+
+  /**
+   * Returns the row displayed at the given position, which must be less than [visibleCount].
+   */
+  fun rowAt(position: Int): Int {
+    if (position < 0 || position >= visibleCount()) {
+      throw IndexOutOfBoundsException("Position: $position, visible: ${visibleCount()}")
+    }
+    var node = 1
+    var start = 0
+    var end = size
+    var remaining = position
+    while (end - start > 1) {
+      val mid = (start + end) ushr 1
+      if (visible[2 * node] > remaining) {
+        node = 2 * node
+        end = mid
+      } else {
+        remaining -= visible[2 * node]
+        node = 2 * node + 1
+        start = mid
+      }
+    }
+    return start
+  }
+
+  /**
+   * Returns the position the given row is displayed at, or -1 if it's hidden.
+   */
+  fun positionOf(row: Int): Int {
+    var node = 1
+    var start = 0
+    var end = size
+    var position = 0
+    while (true) {
+      if (covers[node] > 0) {
+        return -1
+      }
+      if (end - start == 1) {
+        return position
+      }
+      val mid = (start + end) ushr 1
+      if (row < mid) {
+        node = 2 * node
+        end = mid
+      } else {
+        position += visible[2 * node]
+        node = 2 * node + 1
+        start = mid
+      }
+    }
+  }
+
+  /**
+   * Returns the top-level row after the one the given row is under, or -1 if it's the last one.
+   * Top-level rows are never hidden.
+   */
+  fun nextTopLevelRow(row: Int): Int {
+    val next = subtreeEnds[roots[row]]
+    return if (next < size) next else -1
+  }
+
+  private fun build(node: Int, start: Int, end: Int) {
+    if (end - start > 1) {
+      val mid = (start + end) ushr 1
+      build(2 * node, start, mid)
+      build(2 * node + 1, mid, end)
+    }
+    visible[node] = end - start
+  }
+
+  private fun update(node: Int, start: Int, end: Int, from: Int, to: Int, delta: Int) {
+    if (to <= start || end <= from) {
+      return
+    }
+    if (from <= start && end <= to) {
+      covers[node] += delta
+    } else {
+      val mid = (start + end) ushr 1
+      update(2 * node, start, mid, from, to, delta)
+      update(2 * node + 1, mid, end, from, to, delta)
+    }
+    visible[node] = when {
+      covers[node] > 0 -> 0
+      end - start == 1 -> 1
+      else -> visible[2 * node] + visible[2 * node + 1]
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package com.gmail.jorgegilcavazos.ballislife.util
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.ThreadItem
+import net.dean.jraw.models.CommentNode
+import java.util.*
+
+/**
+ * Index of the comments of a flattened thread by fullname, so that the comment being replied to
+ * or scrolled to is found without walking the comment tree or the flattened rows. The "load more"
+ * rows are indexed by the fullname of the comment whose replies they load. Positions are those of
+ * the rows given to the index, kept up to date as comments are [insert]ed and "load more" rows
+ * are replaced.
+ *
+ * Should only be used from one thread at a time.
+ */
+class CommentIndex(items: List<ThreadItem>) {
+
+  private class Entry(val node: CommentNode, var position: Int)
+
+  private val entries = HashMap<String, Entry>(items.size * 2)
+  private val loadMoreEntries = HashMap<String, Entry>()
+
+  init {
+    add(0, items)
+  }
+
+  fun node(fullName: String): CommentNode? = entries[fullName]?.node
+
+  /**
+   * Returns the position of the row of the comment with the given fullname, or -1 if there is
+   * none.
+   */
+  fun position(fullName: String): Int = entries[fullName]?.position ?: -1
+
+  /**
+   * Returns the position of the "load more" row of the comment with the given fullname, or -1 if
+   * there is none.
+   */
+  fun loadMorePosition(parentFullName: String): Int =
+      loadMoreEntries[parentFullName]?.position ?: -1
+
+  /**
+   * Registers a comment inserted into the rows at the given position, e.g. a reply. The rows
+   * after it are shifted, which is linear but only happens when the user posts a comment.
+   */
+  fun insert(position: Int, node: CommentNode) {
+    shift(position, 1)
+    entries.put(node.comment.fullName, Entry(node, position))
+  }
+
+  /**
+   * Registers the rows that replaced the "load more" row of the comment with the given fullname,
+   * e.g. the replies it loaded. The rows after it are shifted.
+   */
+  fun replaceLoadMore(parentFullName: String, items: List<ThreadItem>) {
+    val entry = loadMoreEntries.remove(parentFullName) ?: return
+    shift(entry.position + 1, items.size - 1)
+    add(entry.position, items)
+  }
+
+  private fun add(start: Int, items: List<ThreadItem>) {
+    for ((i, item) in items.withIndex()) {
+      val node = item.commentNode
+      val loadMoreParent = item.loadMoreParent
+      if (node != null) {
+        entries.put(node.comment.fullName, Entry(node, start + i))
+      } else if (loadMoreParent != null) {
+        loadMoreEntries.put(loadMoreParent.comment.fullName, Entry(loadMoreParent, start + i))
+      }
+    }
+  }
+
+  private fun shift(from: Int, delta: Int) {
+    for (entry in entries.values) {
+      if (entry.position >= from) {
+        entry.position += delta
+      }
+    }
+    for (entry in loadMoreEntries.values) {
+      if (entry.position >= from) {
+        entry.position += delta
+      }
+    }
+  }
+}
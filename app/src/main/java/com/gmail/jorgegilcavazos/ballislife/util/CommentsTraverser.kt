@@ -5,24 +5,127 @@ import com.gmail.jorgegilcavazos.ballislife.features.model.ThreadItem
 import net.dean.jraw.models.CommentNode
 import java.util.*
 
-class CommentsTraverser {
+/**
+ * Flattens a comment tree into the rows displayed by a [ThreadAdapter]: every comment in
+ * pre-order, followed by a "load more" row after the replies of a comment that has replies that
+ * aren't loaded yet.
+ *
+ * The tree is walked iteratively with an explicit stack, so long reply chains can't overflow the
+ * call stack. Rows are produced lazily, a [ThreadItem] is only allocated for the rows iterated.
+ */
+class CommentsTraverser(private val topLevelComments: List<CommentNode>) : Iterable<ThreadItem> {
+
   companion object {
     fun flattenCommentTree(topLevelComments: List<CommentNode>): List<ThreadItem> {
-      var items: MutableList<ThreadItem> = ArrayList()
-      for (node in topLevelComments) {
-        traverse(node, items)
+      return CommentsTraverser(topLevelComments).toList()
+    }
+
+    /**
+     * Returns the rows that take the place of the "load more" row of the given comment once the
+     * given replies were loaded into it, ending with a new "load more" row if some still aren't.
+     */
+    @JvmStatic
+    fun loadedReplies(parent: CommentNode, replies: List<CommentNode>): List<ThreadItem> {
+      val items = ArrayList<ThreadItem>()
+      items.addAll(CommentsTraverser(replies))
+      if (parent.hasMoreComments()) {
+        items.add(ThreadItem(ThreadAdapter.TYPE_LOAD_MORE, null, parent.depth + 1, parent))
       }
       return items
     }
+  }
+
+  override fun iterator(): Iterator<ThreadItem> {
+    return object : Iterator<ThreadItem> {
+      private val cursor = Cursor()
+      private var hasRow = cursor.moveToNext()
+
+      override fun hasNext() = hasRow
 
-    private fun traverse(root: CommentNode, items: MutableList<ThreadItem>) {
-      items.add(ThreadItem(ThreadAdapter.TYPE_COMMENT, root, root.depth))
-      for (node in root.children) {
-        traverse(node, items)
+      override fun next(): ThreadItem {
+        if (!hasRow) {
+          throw NoSuchElementException()
+        }
+        val item = cursor.toThreadItem()
+        hasRow = cursor.moveToNext()
+        return item
       }
-      if (root.hasMoreComments()) {
-        items.add(ThreadItem(ThreadAdapter.TYPE_LOAD_MORE, null, root.depth + 1))
+    }
+  }
+
+  /**
+   * Returns every row.
+   */
+  fun toList(): List<ThreadItem> {
+    val items = ArrayList<ThreadItem>()
+    val cursor = Cursor()
+    while (cursor.moveToNext()) {
+      items.add(cursor.toThreadItem())
+    }
+    return items
+  }
+
+  /**
+   * Returns the comments of every comment row, in order, skipping "load more" rows.
+   */
+  fun commentNodes(): List<CommentNode> {
+    val nodes = ArrayList<CommentNode>()
+    val cursor = Cursor()
+    while (cursor.moveToNext()) {
+      cursor.node?.let { nodes.add(it) }
+    }
+    return nodes
+  }
+
+  /**
+   * Walks the rows in order, exposing the current one through its fields.
+   */
+  private inner class Cursor {
+    private val stack = ArrayDeque<Frame>()
+
+    var type = 0
+      private set
+    var node: CommentNode? = null
+      private set
+    var depth = 0
+      private set
+    var loadMoreParent: CommentNode? = null
+      private set
+
+    init {
+      stack.push(Frame(null, topLevelComments.iterator()))
+    }
+
+    fun moveToNext(): Boolean {
+      while (true) {
+        val frame = stack.peek() ?: return false
+        if (frame.children.hasNext()) {
+          val child = frame.children.next()
+          type = ThreadAdapter.TYPE_COMMENT
+          node = child
+          depth = child.depth
+          loadMoreParent = null
+          // Leaves don't need a frame, that's most comments in a thread.
+          if (!child.children.isEmpty() || child.hasMoreComments()) {
+            stack.push(Frame(child, child.children.iterator()))
+          }
+          return true
+        }
+
+        stack.pop()
+        val parent = frame.parent
+        if (parent != null && parent.hasMoreComments()) {
+          type = ThreadAdapter.TYPE_LOAD_MORE
+          node = null
+          depth = parent.depth + 1
+          loadMoreParent = parent
+          return true
+        }
       }
     }
+
+    fun toThreadItem() = ThreadItem(type, node, depth, loadMoreParent)
   }
+
+  private class Frame(val parent: CommentNode?, val children: Iterator<CommentNode>)
 }
@@ -7,9 +7,10 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.TimeZone;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Utility methods used in various points of the application.
@@ -20,51 +21,62 @@ public final class DateFormatUtil {
     public static final int TIME_UNIT_MINUTES = 1;
     public static final int TIME_UNIT_HOURS = 2;
     public static final int TIME_UNIT_DAYS = 3;
+    private static final long MILLIS_PER_MINUTE = 60 * 1000;
+    private static final int MAX_LOCALIZED_GAME_TIMES = 64;
+
+    // SimpleDateFormat isn't thread-safe, so each thread gets its own instance of each format.
+    private static final ThreadLocal<SimpleDateFormat> NO_DASH_DATE_FORMAT =
+            threadLocalFormat("yyyyMMdd");
+    private static final ThreadLocal<SimpleDateFormat> NAVIGATOR_DATE_FORMAT =
+            threadLocalFormat("EEEE, MMMM d");
+    private static final ThreadLocal<SimpleDateFormat> GAME_TIME_FORMAT =
+            threadLocalFormat("h:mm a");
+    private static final TimeZone GAME_TIME_ZONE = TimeZone.getTimeZone("America/New_York");
+
+    /**
+     * Game times localized to a time zone, keyed by the zone id and the ET time, e.g.
+     * "America/Chicago|7:00 pm ET". There are only a handful of different start times in a day.
+     */
+    private static final Map<String, String> LOCALIZED_GAME_TIMES = new HashMap<>();
 
     /**
      * Receives a Date object and returns a human-readable string, e.g. "5m ago".
      */
     public static String formatRedditDate(Date date) {
-        String postedOn;
-        Date now = new Date();
-        long minutesAgo = (TimeUnit.MILLISECONDS.toMinutes(now.getTime() - date.getTime()));
-        long hoursAgo = (TimeUnit.MILLISECONDS.toHours(now.getTime() - date.getTime()));
-        long daysAgo = (TimeUnit.MILLISECONDS.toDays(now.getTime() - date.getTime()));
+        return formatRedditDate(date.getTime(), System.currentTimeMillis());
+    }
+
+    /**
+     * Returns a human-readable string of the time between the given times in millis, e.g. "5m".
+     */
+    public static String formatRedditDate(long createdMillis, long nowMillis) {
+        long minutesAgo = (nowMillis - createdMillis) / MILLIS_PER_MINUTE;
 
         if (minutesAgo == 0) {
-            postedOn = " just now ";
+            return " just now ";
         } else if (minutesAgo < 60) {
-            postedOn = minutesAgo + "m";
+            return minutesAgo + "m";
+        } else if (minutesAgo < 49 * 60) {
+            return minutesAgo / 60 + "hr";
         } else {
-            if (hoursAgo < 49) {
-                postedOn = hoursAgo + "hr";
-            } else {
-                postedOn = daysAgo + " days";
-            }
+            return minutesAgo / (24 * 60) + " days";
         }
-
-        return postedOn;
     }
 
     /**
      * Receives a Date object and returns a human-readable string, e.g. "5 minutes ago".
      */
     public static Pair<Integer, Optional<Long>> formatRedditDateLong(Date date) {
-        Date now = new Date();
-        long minutesAgo = (TimeUnit.MILLISECONDS.toMinutes(now.getTime() - date.getTime()));
-        long hoursAgo = (TimeUnit.MILLISECONDS.toHours(now.getTime() - date.getTime()));
-        long daysAgo = (TimeUnit.MILLISECONDS.toDays(now.getTime() - date.getTime()));
+        long minutesAgo = (System.currentTimeMillis() - date.getTime()) / MILLIS_PER_MINUTE;
 
         if (minutesAgo == 0) {
             return new Pair<>(TIME_UNIT_JUST_NOW, Optional.<Long>absent());
         } else if (minutesAgo < 60) {
             return new Pair<>(TIME_UNIT_MINUTES, Optional.of(minutesAgo));
+        } else if (minutesAgo < 49 * 60) {
+            return new Pair<>(TIME_UNIT_HOURS, Optional.of(minutesAgo / 60));
         } else {
-            if (hoursAgo < 49) {
-                return new Pair<>(TIME_UNIT_HOURS, Optional.of(hoursAgo));
-            } else {
-                return new Pair<>(TIME_UNIT_DAYS, Optional.of(daysAgo));
-            }
+            return new Pair<>(TIME_UNIT_DAYS, Optional.of(minutesAgo / (24 * 60)));
         }
     }
 
@@ -95,8 +107,7 @@ public final class DateFormatUtil {
      */
     public static String formatToolbarDate(String dateString) {
         try {
-            SimpleDateFormat format = new SimpleDateFormat("yyyyMMdd", Locale.US);
-            Date date = format.parse(dateString);
+            Date date = NO_DASH_DATE_FORMAT.get().parse(dateString);
             if (isDateToday(date)) {
                 return "Today";
             }
@@ -117,8 +128,7 @@ public final class DateFormatUtil {
         } else if(isDateTomorrow(date)) {
             return "Tomorrow";
         } else {
-            SimpleDateFormat format = new SimpleDateFormat("EEEE, MMMM d", Locale.US);
-            return format.format(date);
+            return NAVIGATOR_DATE_FORMAT.get().format(date);
         }
 
     }
@@ -152,8 +162,7 @@ public final class DateFormatUtil {
     }
 
     public static String getNoDashDateString(Date date) {
-        SimpleDateFormat format = new SimpleDateFormat("yyyyMMdd", Locale.US);
-        return format.format(date);
+        return NO_DASH_DATE_FORMAT.get().format(date);
     }
 
     public static String localizeGameTime(String dateETString) {
@@ -161,21 +170,39 @@ public final class DateFormatUtil {
     }
 
     /**
-     * Returns localized date from game time String (e.g. 9:00 pm ET) -> 7:00 pm of timeZone
+     * Returns localized date from game time String (e.g. 9:00 pm ET) -> 7:00 pm of timeZone.
+     * Each time is only parsed and formatted the first time it's localized to a time zone, so
+     * that games can be localized when they're loaded and then looked up when displayed.
      */
     public static String localizeGameTime(String dateETString, TimeZone timeZone) {
-        SimpleDateFormat sdf = new SimpleDateFormat("h:mm a", Locale.US);
-        sdf.setTimeZone(TimeZone.getTimeZone("America/New_York"));
+        String key = timeZone.getID() + "|" + dateETString;
+        synchronized (LOCALIZED_GAME_TIMES) {
+            String localized = LOCALIZED_GAME_TIMES.get(key);
+            if (localized != null) {
+                return localized;
+            }
+        }
 
+        SimpleDateFormat sdf = GAME_TIME_FORMAT.get();
+        String localized;
         try {
+            sdf.setTimeZone(GAME_TIME_ZONE);
             Date date = sdf.parse(dateETString);
             sdf.setTimeZone(timeZone);
-            return sdf.format(date);
+            localized = sdf.format(date);
         } catch (ParseException e) {
             FirebaseCrash.report(new RuntimeException("Unlocalizable date string: " +
                     dateETString + " to timezone: " + timeZone));
             return dateETString;
         }
+
+        synchronized (LOCALIZED_GAME_TIMES) {
+            if (LOCALIZED_GAME_TIMES.size() >= MAX_LOCALIZED_GAME_TIMES) {
+                LOCALIZED_GAME_TIMES.clear();
+            }
+            LOCALIZED_GAME_TIMES.put(key, localized);
+        }
+        return localized;
     }
 
     public static long getDateStartUtc(Calendar date) {
@@ -199,4 +226,13 @@ public final class DateFormatUtil {
         dateEnd.add(Calendar.MINUTE, -1);
         return dateEnd.getTimeInMillis() / 1000;
     }
+
+    private static ThreadLocal<SimpleDateFormat> threadLocalFormat(final String pattern) {
+        return new ThreadLocal<SimpleDateFormat>() {
+            @Override
+            protected SimpleDateFormat initialValue() {
+                return new SimpleDateFormat(pattern, Locale.US);
+            }
+        };
+    }
 }
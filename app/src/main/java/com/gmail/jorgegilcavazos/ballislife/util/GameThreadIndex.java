@@ -0,0 +1,128 @@
+package com.gmail.jorgegilcavazos.ballislife.util;
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameThreadSummary;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of a day's game threads by type and teams. Every title is read once when the index is
+ * built, after that finding the thread of a game is a single map lookup.
+ *
+ * A title matches a team when it contains the team's nickname as a word, e.g. "SPURS" for the
+ * San Antonio Spurs. When several threads match the same game, the one with the most comments
+ * wins.
+ */
+public class GameThreadIndex {
+    private static final int TEAM_COUNT = TeamName.values().length;
+    private static final Map<String, TeamName> TEAMS_BY_ABBR = new HashMap<>();
+    private static final Map<String, TeamName> TEAMS_BY_NICKNAME = new HashMap<>();
+
+    static {
+        for (TeamName teamName : TeamName.values()) {
+            String capsName = teamName.getTeamName().toUpperCase();
+            TEAMS_BY_ABBR.put(teamName.toString(), teamName);
+            TEAMS_BY_NICKNAME.put(capsName.substring(capsName.lastIndexOf(" ") + 1), teamName);
+        }
+    }
+
+    private final Map<Integer, GameThreadSummary> bestThreads = new HashMap<>();
+
+    public GameThreadIndex(Collection<GameThreadSummary> threads) {
+        for (GameThreadSummary thread : threads) {
+            add(thread);
+        }
+    }
+
+    /**
+     * Returns the id of the thread of the given type (live or post game) for the game between the
+     * given teams, or an empty string if there is none.
+     */
+    public String find(String type, String homeTeamAbbr, String awayTeamAbbr) {
+        TeamName homeTeam = TEAMS_BY_ABBR.get(homeTeamAbbr);
+        TeamName awayTeam = TEAMS_BY_ABBR.get(awayTeamAbbr);
+        if (homeTeam == null || awayTeam == null
+                || (!type.equals(RedditUtils.LIVE_GT_TYPE)
+                && !type.equals(RedditUtils.POST_GT_TYPE))) {
+            return "";
+        }
+
+        GameThreadSummary thread = bestThreads.get(key(type, homeTeam, awayTeam));
+        return thread == null ? "" : thread.getId();
+    }
+
+    private void add(GameThreadSummary thread) {
+        if (thread.getTitle() == null) {
+            return;
+        }
+        String capsTitle = thread.getTitle().toUpperCase();
+        String type = threadType(capsTitle);
+        if (type == null) {
+            return;
+        }
+
+        List<TeamName> teams = teamsInTitle(capsTitle);
+        for (int i = 0; i < teams.size(); i++) {
+            for (int j = i + 1; j < teams.size(); j++) {
+                Integer key = key(type, teams.get(i), teams.get(j));
+                GameThreadSummary best = bestThreads.get(key);
+                if (best == null || thread.getNum_comments() > best.getNum_comments()) {
+                    bestThreads.put(key, thread);
+                }
+            }
+        }
+    }
+
+    /**
+     * Usually formatted as "GAME THREAD: Cleveland Cavaliers @ San Antonio Spurs" or
+     * "POST GAME THREAD: ...". Returns null for other threads.
+     */
+    private static String threadType(String capsTitle) {
+        if (capsTitle.contains("POST GAME THREAD") || capsTitle.contains("POST-GAME THREAD")) {
+            return RedditUtils.POST_GT_TYPE;
+        }
+        if (capsTitle.contains("GAME THREAD") && !capsTitle.contains("POST")) {
+            return RedditUtils.LIVE_GT_TYPE;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the distinct teams whose nickname appears as a word of the title.
+     */
+    private static List<TeamName> teamsInTitle(String capsTitle) {
+        List<TeamName> teams = new ArrayList<>(2);
+        int length = capsTitle.length();
+        int start = 0;
+        while (start < length) {
+            while (start < length && !Character.isLetterOrDigit(capsTitle.charAt(start))) {
+                start++;
+            }
+            int end = start;
+            while (end < length && Character.isLetterOrDigit(capsTitle.charAt(end))) {
+                end++;
+            }
+            if (end > start) {
+                TeamName team = TEAMS_BY_NICKNAME.get(capsTitle.substring(start, end));
+                if (team != null && !teams.contains(team)) {
+                    teams.add(team);
+                }
+            }
+            start = end;
+        }
+        return teams;
+    }
+
+    /**
+     * Builds a key that doesn't depend on which team is home and which is away.
+     */
+    private static Integer key(String type, TeamName team1, TeamName team2) {
+        int low = Math.min(team1.ordinal(), team2.ordinal());
+        int high = Math.max(team1.ordinal(), team2.ordinal());
+        int typeBit = RedditUtils.POST_GT_TYPE.equals(type) ? 1 : 0;
+        return (low * TEAM_COUNT + high) * 2 + typeBit;
+    }
+}
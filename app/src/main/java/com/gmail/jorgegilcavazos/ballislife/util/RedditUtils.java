@@ -10,7 +10,6 @@ import com.gmail.jorgegilcavazos.ballislife.features.model.GameThreadSummary;
 import com.gmail.jorgegilcavazos.ballislife.features.common.FullCardViewHolder;
 import com.gmail.jorgegilcavazos.ballislife.features.common.PostListViewHolder;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public final class RedditUtils {
@@ -67,67 +66,11 @@ public final class RedditUtils {
             return "";
         }
 
-        String homeTeamFullName = null;
-        String awayTeamFullName = null;
-
-        for (TeamName teamName : TeamName.values()) {
-            if (teamName.toString().equals(homeTeamAbbr)) {
-                homeTeamFullName = teamName.getTeamName();
-            }
-            if (teamName.toString().equals(awayTeamAbbr)) {
-                awayTeamFullName = teamName.getTeamName();
-            }
-        }
-
-        if (homeTeamFullName == null || awayTeamFullName == null) {
-            return "";
-        }
-
-        List<GameThreadSummary> matchingThreads = new ArrayList<>();
-
-        for (GameThreadSummary thread : threadList) {
-            String capsTitle = thread.getTitle().toUpperCase();
-
-            // Usually formatted as "GAME THREAD: Cleveland Cavaliers @ San Antonio Spurs".
-            switch (type) {
-                case LIVE_GT_TYPE:
-                    if (capsTitle.contains("GAME THREAD") && !capsTitle.contains("POST")
-                            && titleContainsTeam(capsTitle, homeTeamFullName)
-                            && titleContainsTeam(capsTitle, awayTeamFullName)) {
-                        matchingThreads.add(thread);
-                    }
-                    break;
-                case POST_GT_TYPE:
-                    if ((capsTitle.contains("POST GAME THREAD")
-                            || capsTitle.contains("POST-GAME THREAD"))
-                            && titleContainsTeam(capsTitle, homeTeamFullName)
-                            && titleContainsTeam(capsTitle, awayTeamFullName)) {
-                        matchingThreads.add(thread);
-                    }
-                    break;
-            }
-        }
-
-        int maxComments = -1;
-        String bestThreadId = "";
-        for (GameThreadSummary thread : matchingThreads) {
-            if (thread.getNum_comments() > maxComments) {
-                maxComments = thread.getNum_comments();
-                bestThreadId = thread.getId();
-            }
-        }
-
-        return bestThreadId;
+        return new GameThreadIndex(threadList).find(type, homeTeamAbbr, awayTeamAbbr);
     }
 
     public static CharSequence bindSnuDown(String rawHtml) {
-        rawHtml = rawHtml.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
-                .replace("&apos;", "'").replace("&amp;", "&").replace("<li><p>", "<p>• ")
-                .replace("</li>", "<br>").replaceAll("<li.*?>", "•").replace("<p>", "<div>")
-                .replace("</p>","</div>");
-        rawHtml = rawHtml.substring(0, rawHtml.lastIndexOf("\n") );
-
-        return trim(Html.fromHtml(noTrailingwhiteLines(rawHtml)));
+        return trim(Html.fromHtml(SnuDownTransformer.transform(rawHtml)));
     }
 
     public static CharSequence trim(CharSequence s) {
@@ -144,23 +87,6 @@ public final class RedditUtils {
         return s.subSequence(start, end);
     }
 
-    public static String noTrailingwhiteLines(String text) {
-        while (text.charAt(text.length() - 1) == '\n') {
-            text = text.substring(0, text.length() - 1);
-        }
-        return text;
-    }
-
-    /**
-     * Checks that the title contains at least the team name, e.g "Spurs".
-     */
-    public static boolean titleContainsTeam(String title, String fullTeamName) {
-        String capsTitle = title.toUpperCase();
-        String capsTeam = fullTeamName.toUpperCase(); // Ex. "SAN ANTONIO SPURS".
-        String capsName = capsTeam.substring(capsTeam.lastIndexOf(" ") + 1); // Ex. "SPURS".
-        return capsTitle.contains(capsName);
-    }
-
     // TODO: make generic holder and make FullCard, PostList and WideCard extend from it.
     public static void setUpvotedColors(Context context, final FullCardViewHolder holder) {
         DrawableCompat.setTint(holder.btnUpvote.getDrawable().mutate(),
@@ -0,0 +1,83 @@
+package com.gmail.jorgegilcavazos.ballislife.util
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.SubmissionWrapper
+import net.dean.jraw.models.Comment
+import net.dean.jraw.models.CommentNode
+import java.util.*
+
+/**
+ * Bounded cache of comment and self-text bodies rendered by [RedditUtils.bindSnuDown], keyed by
+ * the fullname of the comment or submission and the time it was last edited, so that an edited
+ * body is rendered again.
+ *
+ * Lists of comments are meant to be [prerender]ed in the background when they're built, so that
+ * binding a view is just a lookup. Bodies that weren't prerendered are rendered on first bind and
+ * kept for when the view is recycled.
+ */
+class SnuDownCache(
+    private val maxEntries: Int,
+    private val renderer: (String) -> CharSequence) {
+
+  companion object {
+    private const val MAX_ENTRIES = 1000
+
+    @JvmStatic
+    val instance = SnuDownCache(MAX_ENTRIES, RedditUtils::bindSnuDown)
+  }
+
+  private val bodies = object : LinkedHashMap<String, CharSequence>(16, 0.75f, true) {
+    override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, CharSequence>): Boolean {
+      return size > maxEntries
+    }
+  }
+
+  fun comment(comment: Comment): CharSequence {
+    return render(comment.fullName, comment.data("edited"), comment.data("body_html"))
+  }
+
+  fun selfText(submissionWrapper: SubmissionWrapper): CharSequence {
+    return render("t3_" + submissionWrapper.id, submissionWrapper.submission?.data("edited"),
+        submissionWrapper.selfTextHtml)
+  }
+
+  /**
+   * Renders the bodies of the given comments, in order, that aren't cached yet. Only as many as
+   * half the cache are rendered so that the first comments of a long thread aren't evicted by the
+   * last ones. Should be called from a background thread.
+   */
+  fun prerender(nodes: Iterable<CommentNode>) {
+    var rendered = 0
+    for (node in nodes) {
+      if (rendered++ >= maxEntries / 2) {
+        return
+      }
+      comment(node.comment)
+    }
+  }
+
+  /**
+   * Renders the bodies of the first comments of the given thread, see [prerender].
+   */
+  fun prerender(traverser: CommentsTraverser) {
+    prerender(traverser.asSequence().mapNotNull { it.commentNode }.asIterable())
+  }
+
+  @Synchronized
+  fun clear() = bodies.clear()
+
+  private fun render(fullName: String, edited: String?, html: String?): CharSequence {
+    if (html == null || html.isEmpty()) {
+      return ""
+    }
+    val key = fullName + "|" + edited
+    synchronized(this) {
+      bodies[key]?.let { return it }
+    }
+    // Rendered outside of the lock so a bind on the main thread never waits on a prerender.
+    val body = renderer(html)
+    synchronized(this) {
+      bodies.put(key, body)
+    }
+    return body
+  }
+}
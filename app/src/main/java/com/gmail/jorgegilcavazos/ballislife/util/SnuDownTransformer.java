@@ -0,0 +1,139 @@
+package com.gmail.jorgegilcavazos.ballislife.util;
+
+/**
+ * Turns the escaped "body_html" of a reddit comment or self post into the HTML given to
+ * {@link android.text.Html#fromHtml(String)} in a single pass over the input.
+ *
+ * The output is the same as decoding the entities reddit escapes the HTML with (&amp;lt;,
+ * &amp;gt;, &amp;quot;, &amp;apos; and &amp;amp;), then rewriting list items and paragraphs into
+ * tags that render well in a TextView, then dropping everything after the last line break and
+ * any trailing line breaks. Tags are matched on the decoded text, while entities are only
+ * decoded once, so "&amp;amp;lt;" becomes "&amp;lt;" and not "&lt;".
+ */
+public final class SnuDownTransformer {
+
+    private SnuDownTransformer() {
+    }
+
+    public static String transform(String rawHtml) {
+        int length = rawHtml.length();
+        // Decoding only shrinks the input, and rewritten tags grow by a few chars at most.
+        StringBuilder out = new StringBuilder(length + 16);
+
+        int i = 0;
+        while (i < length) {
+            int decoded = decodedCharAt(rawHtml, i);
+            char c = (char) decoded;
+            int next = i + (decoded >>> 16);
+            if (c != '<') {
+                out.append(c);
+                i = next;
+                continue;
+            }
+
+            int end;
+            if ((end = match(rawHtml, i, "<li><p>")) != -1) {
+                out.append("<div>• ");
+            } else if ((end = match(rawHtml, i, "</li>")) != -1) {
+                out.append("<br>");
+            } else if ((end = matchListItem(rawHtml, i, out)) != -1) {
+                // Already appended.
+            } else if ((end = match(rawHtml, i, "<p>")) != -1) {
+                out.append("<div>");
+            } else if ((end = match(rawHtml, i, "</p>")) != -1) {
+                out.append("</div>");
+            } else {
+                out.append(c);
+                end = next;
+            }
+            i = end;
+        }
+
+        int lastLineBreak = out.lastIndexOf("\n");
+        if (lastLineBreak == -1) {
+            throw new StringIndexOutOfBoundsException("No line break in: " + rawHtml);
+        }
+        int newLength = lastLineBreak;
+        while (newLength > 0 && out.charAt(newLength - 1) == '\n') {
+            newLength--;
+        }
+        out.setLength(newLength);
+        return out.toString();
+    }
+
+    /**
+     * Returns the raw index right after the given pattern if the decoded text at the given raw
+     * index starts with it, or -1.
+     */
+    private static int match(String rawHtml, int start, String pattern) {
+        int i = start;
+        for (int p = 0; p < pattern.length(); p++) {
+            if (i >= rawHtml.length()) {
+                return -1;
+            }
+            int decoded = decodedCharAt(rawHtml, i);
+            if ((char) decoded != pattern.charAt(p)) {
+                return -1;
+            }
+            i += decoded >>> 16;
+        }
+        return i;
+    }
+
+    /**
+     * Matches the regex "&lt;li.*?&gt;" on the decoded text and appends its replacement to the
+     * given builder, returning the raw index right after it or -1. Like the regex, a list item tag
+     * can't span lines. The regex ran after "&lt;li&gt;&lt;p&gt;" was replaced by "&lt;p&gt;• ",
+     * so when one is found inside the tag, the tag ends at its "&lt;p&gt;".
+     */
+    private static int matchListItem(String rawHtml, int start, StringBuilder out) {
+        int i = match(rawHtml, start, "<li");
+        if (i == -1) {
+            return -1;
+        }
+        while (i < rawHtml.length()) {
+            int nestedEnd = match(rawHtml, i, "<li><p>");
+            if (nestedEnd != -1) {
+                out.append("•• ");
+                return nestedEnd;
+            }
+            int decoded = decodedCharAt(rawHtml, i);
+            char c = (char) decoded;
+            i += decoded >>> 16;
+            if (c == '>') {
+                out.append('•');
+                return i;
+            }
+            if (isLineTerminator(c)) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the decoded char at the given raw index in the low 16 bits and the number of raw
+     * chars it takes in the high bits.
+     */
+    private static int decodedCharAt(String rawHtml, int i) {
+        char c = rawHtml.charAt(i);
+        if (c == '&') {
+            if (rawHtml.startsWith("&lt;", i)) {
+                return '<' | (4 << 16);
+            } else if (rawHtml.startsWith("&gt;", i)) {
+                return '>' | (4 << 16);
+            } else if (rawHtml.startsWith("&quot;", i)) {
+                return '"' | (6 << 16);
+            } else if (rawHtml.startsWith("&apos;", i)) {
+                return '\'' | (6 << 16);
+            } else if (rawHtml.startsWith("&amp;", i)) {
+                return '&' | (5 << 16);
+            }
+        }
+        return c | (1 << 16);
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
@@ -0,0 +1,30 @@
+package com.gmail.jorgegilcavazos.ballislife.util;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import timber.log.Timber;
+
+/**
+ * Logs the time from a call being started to its response headers being received, including
+ * connecting and the TLS handshake when a pooled connection couldn't be reused. Meant for debug
+ * builds, to compare the cost of repeated screen opens.
+ */
+public class TimeToFirstByteInterceptor implements Interceptor {
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        long startNs = System.nanoTime();
+        Response response = chain.proceed(request);
+        long ttfbMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
+
+        Timber.d("%s %s%s: first byte after %d ms (%d ms on the wire)", request.method(),
+                request.url().host(), request.url().encodedPath(), ttfbMs,
+                response.receivedResponseAtMillis() - response.sentRequestAtMillis());
+        return response;
+    }
+}
@@ -11,7 +11,10 @@ public final class Utilities {
         if (periodValue.isEmpty()) {
             return periodValue;
         }
-        int period = Integer.parseInt(periodValue);
+        return getPeriodString(Integer.parseInt(periodValue), periodName);
+    }
+
+    public static String getPeriodString(int period, String periodName) {
         int overtimePeriod = period - 4;
         if (period <= 4) {
             return period + " " + periodName;
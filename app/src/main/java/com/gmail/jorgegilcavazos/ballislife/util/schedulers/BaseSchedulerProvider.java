@@ -17,4 +17,11 @@ public interface BaseSchedulerProvider {
 
     @NonNull
     Scheduler ui();
+
+    /**
+     * Returns a {@link Scheduler} that runs all of its work on the same thread, one task after
+     * the other.
+     */
+    @NonNull
+    Scheduler single();
 }
\ No newline at end of file
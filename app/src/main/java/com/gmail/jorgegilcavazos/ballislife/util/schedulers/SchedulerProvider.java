@@ -36,4 +36,10 @@ public class SchedulerProvider implements BaseSchedulerProvider {
     public Scheduler ui() {
         return AndroidSchedulers.mainThread();
     }
+
+    @Override
+    @NonNull
+    public Scheduler single() {
+        return Schedulers.single();
+    }
 }
\ No newline at end of file
@@ -27,4 +27,10 @@ public class TrampolineSchedulerProvider implements BaseSchedulerProvider {
     public Scheduler ui() {
         return Schedulers.trampoline();
     }
+
+    @NonNull
+    @Override
+    public Scheduler single() {
+        return Schedulers.trampoline();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.gmail.jorgegilcavazos.ballislife.data.json
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreValues
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameThreadSummary
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+import com.gmail.jorgegilcavazos.ballislife.features.model.Highlight
+import com.gmail.jorgegilcavazos.ballislife.features.model.Standings
+import com.gmail.jorgegilcavazos.ballislife.features.model.StatLine
+import com.google.gson.Gson
+import com.google.gson.GsonBuilder
+import com.google.gson.reflect.TypeToken
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+class FirebaseTypeAdapterFactoryTest {
+
+  private val gson = GsonBuilder().registerTypeAdapterFactory(FirebaseTypeAdapterFactory()).create()
+  private val reflectiveGson = Gson()
+
+  private val gamesType = object : TypeToken<Map<String, GameV2>>() {}.type
+  private val highlightsType = object : TypeToken<Map<String, Highlight>>() {}.type
+  private val gameThreadsType = object : TypeToken<Map<String, GameThreadSummary>>() {}.type
+
+  @Test
+  fun gamesParsedAsWithReflection() {
+    val json = readResource("json/day_games.json")
+
+    val games: Map<String, GameV2> = gson.fromJson(json, gamesType)
+
+    assertEquals(reflectiveGson.fromJson<Map<String, GameV2>>(json, gamesType), games)
+    assertEquals(10, games.size)
+  }
+
+  @Test
+  fun gamesRoundTrip() {
+    val games: Map<String, GameV2> = gson.fromJson(readResource("json/day_games.json"), gamesType)
+
+    val json = gson.toJson(games, gamesType)
+
+    assertEquals(games, gson.fromJson<Map<String, GameV2>>(json, gamesType))
+  }
+
+  @Test
+  fun missingGameFieldsReadAsEmpty() {
+    val game = gson.fromJson("{\"id\": \"1\", \"timeUtc\": 150, \"extra\": [1, 2]}",
+        GameV2::class.java)
+
+    assertEquals("1", game.id)
+    assertEquals(150L, game.timeUtc)
+    assertEquals("", game.homeTeamScore)
+  }
+
+  @Test
+  fun highlightsParsedAsWithReflection() {
+    val json = readResource("json/highlights.json")
+
+    val highlights: Map<String, Highlight> = gson.fromJson(json, highlightsType)
+    val expected: Map<String, Highlight> = reflectiveGson.fromJson(json, highlightsType)
+
+    assertEquals(expected.keys, highlights.keys)
+    for ((key, highlight) in highlights) {
+      val other = expected[key]!!
+      assertEquals(other.id, highlight.id)
+      assertEquals(other.title, highlight.title)
+      assertEquals(other.thumbnail, highlight.thumbnail)
+      assertEquals(other.hdThumbnail, highlight.hdThumbnail)
+      assertEquals(other.url, highlight.url)
+      assertEquals(other.createdUtc, highlight.createdUtc)
+    }
+  }
+
+  @Test
+  fun gameThreadsParsedAsWithReflection() {
+    val json = readResource("json/game_threads.json")
+
+    val threads: Map<String, GameThreadSummary> = gson.fromJson(json, gameThreadsType)
+    val expected: Map<String, GameThreadSummary> = reflectiveGson.fromJson(json, gameThreadsType)
+
+    assertEquals(expected.keys, threads.keys)
+    for ((key, thread) in threads) {
+      val other = expected[key]!!
+      assertEquals(other.id, thread.id)
+      assertEquals(other.title, thread.title)
+      assertEquals(other.created_utc, thread.created_utc)
+      assertEquals(other.num_comments, thread.num_comments)
+    }
+  }
+
+  @Test
+  fun standingsParsedAsWithReflection() {
+    val json = readResource("json/standings.json")
+
+    val standings = gson.fromJson(json, Standings::class.java)
+    val expected = reflectiveGson.fromJson(json, Standings::class.java)
+
+    assertEquals(15, standings.east.size)
+    assertTeamsEqual(expected.east, standings.east)
+    assertTeamsEqual(expected.west, standings.west)
+  }
+
+  @Test
+  fun boxScoreParsedAsWithReflection() {
+    val json = readResource("json/box_score.json")
+
+    val boxScore = gson.fromJson(json, BoxScoreValues::class.java)
+    val expected = reflectiveGson.fromJson(json, BoxScoreValues::class.java)
+
+    assertEquals(13, boxScore.hls.pstsg.size)
+    assertLinesEqual(expected.hls.pstsg, boxScore.hls.pstsg)
+    assertLinesEqual(expected.vls.pstsg, boxScore.vls.pstsg)
+  }
+
+  @Test
+  fun boxScoreRoundTrip() {
+    val boxScore = gson.fromJson(readResource("json/box_score.json"), BoxScoreValues::class.java)
+
+    val parsed = gson.fromJson(gson.toJson(boxScore), BoxScoreValues::class.java)
+
+    assertLinesEqual(boxScore.hls.pstsg, parsed.hls.pstsg)
+    assertLinesEqual(boxScore.vls.pstsg, parsed.vls.pstsg)
+  }
+
+  private fun assertTeamsEqual(
+      expected: List<Standings.TeamStanding>, teams: List<Standings.TeamStanding>) {
+    assertEquals(expected.size, teams.size)
+    for ((other, team) in expected.zip(teams)) {
+      assertEquals(other.abbreviation, team.abbreviation)
+      assertEquals(other.location, team.location)
+      assertEquals(other.name, team.name)
+      assertEquals(other.seed, team.seed)
+      assertEquals(other.stats.map { it.name to it.value }, team.stats.map { it.name to it.value })
+    }
+  }
+
+  private fun assertLinesEqual(expected: List<StatLine>, lines: List<StatLine>) {
+    assertEquals(expected.size, lines.size)
+    for ((other, line) in expected.zip(lines)) {
+      assertEquals(other.fn, line.fn)
+      assertEquals(other.ln, line.ln)
+      assertEquals(
+          listOf(other.pts, other.min, other.ast, other.reb, other.blk, other.stl, other.tov,
+              other.pf, other.fga, other.fgm),
+          listOf(line.pts, line.min, line.ast, line.reb, line.blk, line.stl, line.tov, line.pf,
+              line.fga, line.fgm))
+    }
+  }
+
+  private fun readResource(name: String): String {
+    return javaClass.classLoader.getResource(name).readText()
+  }
+}
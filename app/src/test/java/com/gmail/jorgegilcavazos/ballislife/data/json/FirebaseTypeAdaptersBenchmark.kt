@@ -0,0 +1,78 @@
+package com.gmail.jorgegilcavazos.ballislife.data.json
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.BoxScoreValues
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameThreadSummary
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+import com.gmail.jorgegilcavazos.ballislife.features.model.Highlight
+import com.gmail.jorgegilcavazos.ballislife.features.model.Standings
+import com.google.gson.Gson
+import com.google.gson.GsonBuilder
+import com.google.gson.reflect.TypeToken
+import org.junit.Ignore
+import org.junit.Test
+import java.lang.management.ManagementFactory
+import java.lang.reflect.Type
+
+/**
+ * Compares parse time and allocations of the streaming adapters against Gson's reflective
+ * adapters on the payloads in test resources. Run manually, results are printed to stdout.
+ * Allocations are measured with HotSpot's per-thread allocation counter.
+ */
+@Ignore("Benchmark, run manually")
+class FirebaseTypeAdaptersBenchmark {
+
+  companion object {
+    private const val WARMUP_ITERATIONS = 2_000
+    private const val ITERATIONS = 10_000
+  }
+
+  private val streamingGson =
+      GsonBuilder().registerTypeAdapterFactory(FirebaseTypeAdapterFactory()).create()
+  private val reflectiveGson = Gson()
+
+  @Test
+  fun dayGames() {
+    compare("day_games", object : TypeToken<Map<String, GameV2>>() {}.type)
+  }
+
+  @Test
+  fun highlights() {
+    compare("highlights", object : TypeToken<Map<String, Highlight>>() {}.type)
+  }
+
+  @Test
+  fun gameThreads() {
+    compare("game_threads", object : TypeToken<Map<String, GameThreadSummary>>() {}.type)
+  }
+
+  @Test
+  fun standings() {
+    compare("standings", Standings::class.java)
+  }
+
+  @Test
+  fun boxScore() {
+    compare("box_score", BoxScoreValues::class.java)
+  }
+
+  private fun compare(payload: String, type: Type) {
+    val json = javaClass.classLoader.getResource("json/$payload.json").readText()
+    measure("$payload reflective", reflectiveGson, json, type)
+    measure("$payload streaming", streamingGson, json, type)
+  }
+
+  private fun measure(name: String, gson: Gson, json: String, type: Type) {
+    repeat(WARMUP_ITERATIONS) { gson.fromJson<Any>(json, type) }
+
+    val threadId = Thread.currentThread().id
+    val threads = ManagementFactory.getThreadMXBean() as com.sun.management.ThreadMXBean
+    val startBytes = threads.getThreadAllocatedBytes(threadId)
+    val startNanos = System.nanoTime()
+    repeat(ITERATIONS) { gson.fromJson<Any>(json, type) }
+    val elapsedNanos = System.nanoTime() - startNanos
+    val allocatedBytes = threads.getThreadAllocatedBytes(threadId) - startBytes
+
+    println("%-24s %8.1f us/op %10d B/op".format(
+        name, elapsedNanos / 1000.0 / ITERATIONS, allocatedBytes / ITERATIONS))
+  }
+}
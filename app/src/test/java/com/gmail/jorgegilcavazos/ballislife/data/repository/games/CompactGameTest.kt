@@ -0,0 +1,99 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.games
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotSame
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Test
+
+class CompactGameTest {
+
+  private val noIntern: (String) -> String = { it }
+
+  @Test
+  fun liveGameRoundTrips() {
+    val game = createGame(clock = "5:07", homeScore = "88", awayScore = "102")
+
+    assertEquals(game, CompactGame.from(game, noIntern)!!.toGameV2())
+  }
+
+  @Test
+  fun lastMinuteClockRoundTrips() {
+    val game = createGame(clock = "45.3")
+
+    assertEquals(game, CompactGame.from(game, noIntern)!!.toGameV2())
+  }
+
+  @Test
+  fun preGameWithEmptyValuesRoundTrips() {
+    val game = createGame(status = "1", clock = "", homeScore = "", awayScore = "", period = "")
+
+    assertEquals(game, CompactGame.from(game, noIntern)!!.toGameV2())
+  }
+
+  @Test
+  fun unknownTeamIsNotCompacted() {
+    assertNull(CompactGame.from(createGame(homeTeamAbbr = "WST"), noIntern))
+  }
+
+  @Test
+  fun valueThatDoesNotRoundTripIsNotCompacted() {
+    assertNull(CompactGame.from(createGame(homeScore = "088"), noIntern))
+    assertNull(CompactGame.from(createGame(clock = "5:7"), noIntern))
+  }
+
+  @Test
+  fun viewNotKept() {
+    val compact = CompactGame.from(createGame(), noIntern)!!
+
+    assertNotSame(compact.toGameV2(), compact.toGameV2())
+  }
+
+  @Test
+  fun stringsAreInterned() {
+    val pool = HashMap<String, String>()
+    val intern: (String) -> String = { pool.getOrPut(it) { it } }
+
+    val first = CompactGame.from(createGame(), intern)!!.toGameV2()
+    val second = CompactGame.from(createGame(arena = String("AT&T Center".toCharArray())), intern)!!
+        .toGameV2()
+
+    assertSame(first.arena, second.arena)
+  }
+
+  private fun createGame(
+      status: String = "2",
+      clock: String = "7:45",
+      homeScore: String = "60",
+      awayScore: String = "58",
+      period: String = "3",
+      homeTeamAbbr: String = "SAS",
+      arena: String = "AT&T Center"): GameV2 {
+    return GameV2(
+        arena = arena,
+        awayTeamAbbr = "GSW",
+        awayTeamCity = "Golden State",
+        awayTeamId = "1610612744",
+        awayTeamKey = "GSW",
+        awayTeamNickname = "Warriors",
+        awayTeamScore = awayScore,
+        city = "San Antonio",
+        date = "20171110",
+        gameClock = clock,
+        gameStatus = status,
+        homeTeamAbbr = homeTeamAbbr,
+        homeTeamCity = "San Antonio",
+        homeTeamId = "1610612759",
+        homeTeamKey = "SAS",
+        homeTeamNickname = "Spurs",
+        homeTeamScore = homeScore,
+        id = "0021700123",
+        periodName = "Qtr",
+        periodStatus = "",
+        periodValue = period,
+        time = "1930",
+        timeUtc = 1510363800,
+        totalPeriods = "4")
+  }
+}
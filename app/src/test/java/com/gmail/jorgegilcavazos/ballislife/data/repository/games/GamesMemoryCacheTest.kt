@@ -0,0 +1,114 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.games
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotSame
+import org.junit.Before
+import org.junit.Test
+
+class GamesMemoryCacheTest {
+
+  private lateinit var cache: GamesMemoryCache
+
+  @Before
+  fun setup() {
+    cache = GamesMemoryCache()
+  }
+
+  @Test
+  fun gamesBetweenExcludesBounds() {
+    val game1 = createGame("1", 100)
+    val game2 = createGame("2", 150)
+    val game3 = createGame("3", 200)
+    cache.putAll(hashMapOf("a" to game1, "b" to game2, "c" to game3))
+
+    assertEquals(listOf(game2), cache.gamesBetween(100, 200))
+  }
+
+  @Test
+  fun gamesBetweenSortedById() {
+    val game3 = createGame("3", 110)
+    val game1 = createGame("1", 130)
+    val game2 = createGame("2", 120)
+    cache.putAll(hashMapOf("a" to game3, "b" to game1, "c" to game2))
+
+    assertEquals(listOf(game1, game2, game3), cache.gamesBetween(100, 200))
+  }
+
+  @Test
+  fun updatedGameReplacesPreviousEntry() {
+    cache.putAll(hashMapOf("a" to createGame("1", 150, "100")))
+    val updated = createGame("1", 150, "102")
+
+    cache.putAll(hashMapOf("a" to updated))
+
+    assertEquals(listOf(updated), cache.gamesBetween(100, 200))
+    assertEquals(1, cache.size())
+  }
+
+  @Test
+  fun rescheduledGameMovesInIndex() {
+    cache.putAll(hashMapOf("a" to createGame("1", 150)))
+    val rescheduled = createGame("1", 350)
+
+    cache.putAll(hashMapOf("a" to rescheduled))
+
+    assertEquals(emptyList<GameV2>(), cache.gamesBetween(100, 200))
+    assertEquals(listOf(rescheduled), cache.gamesBetween(300, 400))
+  }
+
+  @Test
+  fun readGamesAreNotKept() {
+    val game = createGame("1", 150, "100", homeTeamAbbr = "CLE")
+    cache.putAll(hashMapOf("a" to game))
+
+    val first = cache.get("a")
+    val second = cache.get("a")
+
+    assertEquals(game, first)
+    assertEquals(game, second)
+    assertNotSame(first, second)
+  }
+
+  @Test
+  fun clearRemovesAllGames() {
+    cache.putAll(hashMapOf("a" to createGame("1", 150)))
+
+    cache.clear()
+
+    assertEquals(emptyList<GameV2>(), cache.gamesBetween(100, 200))
+    assertEquals(0, cache.size())
+  }
+
+  private fun createGame(
+      id: String,
+      timeUtc: Long,
+      homeScore: String = "",
+      homeTeamAbbr: String = ""): GameV2 {
+    return GameV2(
+        arena = "AT&T",
+        awayTeamAbbr = "SAS",
+        awayTeamCity = "San Antonio",
+        awayTeamId = "1545334321",
+        awayTeamKey = "SAS",
+        awayTeamNickname = "Spurs",
+        awayTeamScore = "110",
+        city = "San Antonio",
+        date = "20171110",
+        gameClock = "",
+        gameStatus = "",
+        homeTeamAbbr = homeTeamAbbr,
+        homeTeamCity = "",
+        homeTeamId = "",
+        homeTeamKey = "",
+        homeTeamNickname = "",
+        homeTeamScore = homeScore,
+        id = id,
+        periodName = "",
+        periodStatus = "",
+        periodValue = "",
+        time = "",
+        timeUtc = timeUtc,
+        totalPeriods = "")
+  }
+}
@@ -0,0 +1,110 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.games
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+import com.gmail.jorgegilcavazos.ballislife.features.model.NbaGame
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+class GamesPollingPolicyTest {
+
+  private val now = 1_000_000L
+
+  @Test
+  fun liveGame() {
+    val games = listOf(createGame(NbaGame.IN_GAME, clock = "7:45"))
+
+    assertEquals(GamesPollingPolicy.LIVE_INTERVAL_MS,
+        GamesPollingPolicy.nextPollDelayMs(games, now))
+  }
+
+  @Test
+  fun closingMinutesOfAnyGameWins() {
+    val games = listOf(
+        createGame(NbaGame.IN_GAME, clock = "7:45"),
+        createGame(NbaGame.IN_GAME, clock = "38.2"))
+
+    assertEquals(GamesPollingPolicy.CLOSING_MINUTES_INTERVAL_MS,
+        GamesPollingPolicy.nextPollDelayMs(games, now))
+  }
+
+  @Test
+  fun liveGameBetweenPeriods() {
+    val games = listOf(createGame(NbaGame.IN_GAME, clock = ""))
+
+    assertEquals(GamesPollingPolicy.BREAK_INTERVAL_MS,
+        GamesPollingPolicy.nextPollDelayMs(games, now))
+  }
+
+  @Test
+  fun gameStartingSoon() {
+    val games = listOf(
+        createGame(NbaGame.POST_GAME),
+        createGame(NbaGame.PRE_GAME, timeUtc = now + 10 * 60))
+
+    assertEquals(GamesPollingPolicy.PRE_GAME_INTERVAL_MS,
+        GamesPollingPolicy.nextPollDelayMs(games, now))
+  }
+
+  @Test
+  fun stopWhenGamesFarFromStarting() {
+    val games = listOf(createGame(NbaGame.PRE_GAME, timeUtc = now + 5 * 60 * 60))
+
+    assertEquals(GamesPollingPolicy.STOP_POLLING, GamesPollingPolicy.nextPollDelayMs(games, now))
+  }
+
+  @Test
+  fun gameJustPastItsStartTime() {
+    val games = listOf(createGame(NbaGame.PRE_GAME, timeUtc = now - 10 * 60))
+
+    assertEquals(GamesPollingPolicy.PRE_GAME_INTERVAL_MS,
+        GamesPollingPolicy.nextPollDelayMs(games, now))
+  }
+
+  @Test
+  fun stopWhenGameLongOverdue() {
+    val games = listOf(createGame(NbaGame.PRE_GAME, timeUtc = now - 3 * 60 * 60))
+
+    assertEquals(GamesPollingPolicy.STOP_POLLING, GamesPollingPolicy.nextPollDelayMs(games, now))
+  }
+
+  @Test
+  fun stopWhenAllGamesFinished() {
+    val games = listOf(createGame(NbaGame.POST_GAME), createGame(NbaGame.POST_GAME))
+
+    assertEquals(GamesPollingPolicy.STOP_POLLING, GamesPollingPolicy.nextPollDelayMs(games, now))
+  }
+
+  @Test
+  fun stopWhenNoGames() {
+    assertEquals(GamesPollingPolicy.STOP_POLLING,
+        GamesPollingPolicy.nextPollDelayMs(emptyList(), now))
+  }
+
+  private fun createGame(status: String, clock: String = "", timeUtc: Long = now): GameV2 {
+    return GameV2(
+        arena = "AT&T",
+        awayTeamAbbr = "SAS",
+        awayTeamCity = "San Antonio",
+        awayTeamId = "1545334321",
+        awayTeamKey = "SAS",
+        awayTeamNickname = "Spurs",
+        awayTeamScore = "110",
+        city = "San Antonio",
+        date = "20171110",
+        gameClock = clock,
+        gameStatus = status,
+        homeTeamAbbr = "",
+        homeTeamCity = "",
+        homeTeamId = "",
+        homeTeamKey = "",
+        homeTeamNickname = "",
+        homeTeamScore = "",
+        id = "1",
+        periodName = "",
+        periodStatus = "",
+        periodValue = "",
+        time = "",
+        timeUtc = timeUtc,
+        totalPeriods = "")
+  }
+}
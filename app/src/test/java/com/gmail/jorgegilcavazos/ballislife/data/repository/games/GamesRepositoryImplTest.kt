@@ -1,9 +1,14 @@
 package com.gmail.jorgegilcavazos.ballislife.data.repository.games
 
+import com.gmail.jorgegilcavazos.ballislife.data.firebase.LiveScoresBus
 import com.gmail.jorgegilcavazos.ballislife.data.service.NbaGamesService
 import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2
+import com.gmail.jorgegilcavazos.ballislife.features.model.NbaGame
 import com.gmail.jorgegilcavazos.ballislife.util.schedulers.TrampolineSchedulerProvider
+import com.google.gson.Gson
 import io.reactivex.Single
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
 import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
@@ -18,14 +23,20 @@ import java.util.*
 class GamesRepositoryImplTest {
 
   @Mock private lateinit var gamesService: NbaGamesService
+  @Mock private lateinit var gamesDiskCache: GamesDiskCache
 
+  private lateinit var liveScoresBus: LiveScoresBus
+  private lateinit var finishedGames: FinishedGames
   private lateinit var repository: GamesRepositoryImpl
 
   @Before
   fun setup() {
     MockitoAnnotations.initMocks(this)
 
-    repository = GamesRepositoryImpl(gamesService, TrampolineSchedulerProvider())
+    liveScoresBus = LiveScoresBus(Gson())
+    finishedGames = FinishedGames()
+    repository = GamesRepositoryImpl(gamesService, gamesDiskCache, finishedGames, liveScoresBus,
+        TrampolineSchedulerProvider())
   }
 
   @Test
@@ -106,6 +117,174 @@ class GamesRepositoryImplTest {
     testObserver.assertError({ it == exception })
   }
 
+  @Test
+  fun gamesFromDiskIfMemoryEmpty() {
+    val calendar = Calendar.getInstance()
+    val game1 = createGame("1", calendar)
+    val game2 = createGame("2", calendar)
+    `when`(gamesDiskCache.getGames(anyString())).thenReturn(hashMapOf("owei" to game2))
+    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong()))
+        .thenReturn(Single.just(hashMapOf("9f0ji2" to game1, "owei" to game2)))
+
+    val testObserver = repository.games(calendar, false).test()
+
+    testObserver.assertValueAt(1, { it.isMemorySuccess && it.games == listOf(game2) })
+    testObserver.assertValueAt(3, { it.isNetworkSuccess && it.games == listOf(game1, game2) })
+  }
+
+  @Test
+  fun diskNotReadIfMemoryAvailable() {
+    val calendar = Calendar.getInstance()
+    val game1 = createGame("1", calendar)
+    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong()))
+        .thenReturn(Single.just(hashMapOf("9f0ji2" to game1)))
+    repository.saveGamesInCache(hashMapOf("9f0ji2" to game1), true)
+
+    repository.games(calendar, false).test()
+
+    verify(gamesDiskCache, never()).getGames(anyString())
+  }
+
+  @Test
+  fun networkResultSavedToDisk() {
+    val game1 = createGame("1")
+    val response = hashMapOf("9f0ji2" to game1)
+    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong()))
+        .thenReturn(Single.just(response))
+
+    repository.games(Calendar.getInstance(), true).test()
+
+    verify(gamesDiskCache).saveGames(anyString(), eq(response))
+  }
+
+  @Test
+  fun finishedGamesFromNetworkAreRecorded() {
+    val finished = createGame("1").copy(gameStatus = NbaGame.POST_GAME)
+    val live = createGame("2").copy(gameStatus = NbaGame.IN_GAME)
+    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong()))
+        .thenReturn(Single.just(hashMapOf("9f0ji2" to finished, "owei" to live)))
+
+    repository.games(Calendar.getInstance(), true).test()
+
+    assertTrue(finishedGames.isFinished("1"))
+    assertFalse(finishedGames.isFinished("2"))
+  }
+
+  @Test
+  fun prefetchLoadsAdjacentDaysFromNetwork() {
+    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong()))
+        .thenReturn(Single.just(emptyMap()))
+
+    repository.prefetchGames(Calendar.getInstance(), 2)
+
+    verify(gamesService, times(4)).getDayGames(anyString(), anyLong(), anyLong())
+    verify(gamesDiskCache, times(4)).saveGames(anyString(), anyMap())
+  }
+
+  @Test
+  fun prefetchSkipsDaysInMemory() {
+    val tomorrow = Calendar.getInstance()
+    tomorrow.add(Calendar.DAY_OF_YEAR, 1)
+    repository.saveGamesInCache(hashMapOf("9f0ji2" to createGame("1", tomorrow)), true)
+    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong()))
+        .thenReturn(Single.just(emptyMap()))
+
+    repository.prefetchGames(Calendar.getInstance(), 1)
+
+    verify(gamesService, times(1)).getDayGames(anyString(), anyLong(), anyLong())
+  }
+
+  @Test
+  fun prefetchUsesFreshDiskDays() {
+    `when`(gamesDiskCache.lastSavedAt(anyString())).thenReturn(System.currentTimeMillis())
+
+    repository.prefetchGames(Calendar.getInstance(), 1)
+
+    verify(gamesDiskCache, times(2)).getGames(anyString())
+    verifyZeroInteractions(gamesService)
+  }
+
+  @Test
+  fun prefetchIgnoresNetworkErrors() {
+    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong()))
+        .thenReturn(Single.error(SocketTimeoutException()))
+
+    repository.prefetchGames(Calendar.getInstance(), 1)
+
+    verify(gamesService, times(2)).getDayGames(anyString(), anyLong(), anyLong())
+  }
+
+  @Test
+  fun liveScoresPatchCachedGame() {
+    val calendar = Calendar.getInstance()
+    repository.saveGamesInCache(hashMapOf("9f0ji2" to createGame("1", calendar)), true)
+
+    val testObserver = repository.liveScores(calendar).test()
+    liveScoresBus.post("{\"9f0ji2\": {\"homeTeamScore\": \"88\", \"gameClock\": \"2:31\"}}")
+
+    testObserver.assertValueCount(1)
+    testObserver.assertValueAt(0, {
+      it.isLiveUpdate
+          && it.games.size == 1
+          && it.games[0].homeTeamScore == "88"
+          && it.games[0].gameClock == "2:31"
+          && it.games[0].awayTeamScore == "110"
+    })
+  }
+
+  @Test
+  fun liveScoresPatchedGameServedFromMemory() {
+    val calendar = Calendar.getInstance()
+    repository.saveGamesInCache(hashMapOf("9f0ji2" to createGame("1", calendar)), true)
+    `when`(gamesService.getDayGames(anyString(), anyLong(), anyLong()))
+        .thenReturn(Single.error(SocketTimeoutException()))
+
+    liveScoresBus.post("{\"9f0ji2\": {\"homeTeamScore\": \"88\"}}")
+    val testObserver = repository.games(calendar, false).test()
+
+    testObserver.assertValueAt(1, { it.isMemorySuccess && it.games[0].homeTeamScore == "88" })
+  }
+
+  @Test
+  fun liveScoresIgnoreOtherDaysAndUncachedGames() {
+    val calendar = Calendar.getInstance()
+    val tomorrow = Calendar.getInstance()
+    tomorrow.add(Calendar.DAY_OF_YEAR, 1)
+    repository.saveGamesInCache(hashMapOf("owei" to createGame("2", tomorrow)), true)
+
+    val testObserver = repository.liveScores(calendar).test()
+    liveScoresBus.post("{\"owei\": {\"homeTeamScore\": \"88\"}, \"fjwoe\": {}}")
+
+    testObserver.assertNoValues()
+  }
+
+  @Test
+  fun liveScoresIgnoreMalformedPayload() {
+    val calendar = Calendar.getInstance()
+    repository.saveGamesInCache(hashMapOf("9f0ji2" to createGame("1", calendar)), true)
+
+    val testObserver = repository.liveScores(calendar).test()
+    liveScoresBus.post("not json")
+
+    testObserver.assertNoValues()
+    testObserver.assertNoErrors()
+  }
+
+  @Test
+  fun liveScoresIgnoreMalformedDelta() {
+    val calendar = Calendar.getInstance()
+    repository.saveGamesInCache(hashMapOf("9f0ji2" to createGame("1", calendar)), true)
+
+    val testObserver = repository.liveScores(calendar).test()
+    liveScoresBus.post("{\"9f0ji2\": {\"homeTeamScore\": \"88\", \"gameClock\": {}}}")
+    liveScoresBus.post("{\"9f0ji2\": {\"awayTeamScore\": \"112\"}}")
+
+    testObserver.assertValueCount(1)
+    testObserver.assertValueAt(0, {
+      it.games[0].homeTeamScore != "88" && it.games[0].awayTeamScore == "112"
+    })
+  }
+
   private fun createGame(id: String, calendar: Calendar = Calendar.getInstance()): GameV2 {
     return GameV2(
         arena = "AT&T",
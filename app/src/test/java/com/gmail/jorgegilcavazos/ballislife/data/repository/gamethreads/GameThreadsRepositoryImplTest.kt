@@ -0,0 +1,158 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.gamethreads
+
+import android.content.SharedPreferences
+import com.gmail.jorgegilcavazos.ballislife.data.service.RedditGameThreadsService
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameThreadSummary
+import com.gmail.jorgegilcavazos.ballislife.util.DateFormatUtil
+import com.gmail.jorgegilcavazos.ballislife.util.RedditUtils
+import com.gmail.jorgegilcavazos.ballislife.util.schedulers.BaseSchedulerProvider
+import io.reactivex.Single
+import io.reactivex.schedulers.TestScheduler
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mock
+import org.mockito.Mockito.*
+import org.mockito.MockitoAnnotations
+import java.util.*
+import java.util.concurrent.TimeUnit
+
+class GameThreadsRepositoryImplTest {
+
+  @Mock private lateinit var gameThreadsService: RedditGameThreadsService
+  @Mock private lateinit var preferences: SharedPreferences
+  @Mock private lateinit var editor: SharedPreferences.Editor
+  @Mock private lateinit var schedulerProvider: BaseSchedulerProvider
+
+  private val clock = TestScheduler()
+  private val gameDate = 1510358400000L
+
+  private lateinit var repository: GameThreadsRepositoryImpl
+
+  @Before
+  fun setup() {
+    MockitoAnnotations.initMocks(this)
+
+    `when`(schedulerProvider.computation()).thenReturn(clock)
+    `when`(preferences.getString(anyString(), any())).thenReturn(null)
+    `when`(preferences.edit()).thenReturn(editor)
+    `when`(editor.putString(anyString(), anyString())).thenReturn(editor)
+
+    repository = GameThreadsRepositoryImpl(gameThreadsService, preferences, schedulerProvider)
+  }
+
+  @Test
+  fun foundIdIsNotLookedUpAgain() {
+    `when`(gameThreadsService.fetchGameThreads(anyString()))
+        .thenReturn(Single.just(threads("GAME THREAD: San Antonio Spurs @ Cleveland Cavaliers")))
+
+    repository.findGameThreadId(gameDate, RedditUtils.LIVE_GT_TYPE, "CLE", "SAS", false)
+        .test().assertValue("abc")
+    repository.findGameThreadId(gameDate, RedditUtils.LIVE_GT_TYPE, "CLE", "SAS", false)
+        .test().assertValue("abc")
+
+    verify(gameThreadsService, times(1)).fetchGameThreads(anyString())
+    verify(editor).putString(anyString(), eq("abc"))
+  }
+
+  @Test
+  fun persistedIdIsUsedWithoutFetching() {
+    `when`(preferences.getString(anyString(), any())).thenReturn("xyz")
+
+    repository.findGameThreadId(gameDate, RedditUtils.LIVE_GT_TYPE, "CLE", "SAS", false)
+        .test().assertValue("xyz")
+
+    verify(gameThreadsService, never()).fetchGameThreads(anyString())
+  }
+
+  @Test
+  fun notFoundIsNotLookedUpAgainRightAway() {
+    `when`(gameThreadsService.fetchGameThreads(anyString()))
+        .thenReturn(Single.just(threads("Unrelated thread")))
+
+    repository.findGameThreadId(gameDate, RedditUtils.LIVE_GT_TYPE, "CLE", "SAS", false)
+        .test().assertValue("")
+    clock.advanceTimeBy(30, TimeUnit.SECONDS)
+    repository.findGameThreadId(gameDate, RedditUtils.LIVE_GT_TYPE, "CLE", "SAS", false)
+        .test().assertValue("")
+
+    verify(gameThreadsService, times(1)).fetchGameThreads(anyString())
+    verify(editor, never()).putString(anyString(), anyString())
+  }
+
+  @Test
+  fun notFoundIsLookedUpAgainAfterAWhile() {
+    `when`(gameThreadsService.fetchGameThreads(anyString()))
+        .thenReturn(Single.just(threads("Unrelated thread")))
+
+    repository.findGameThreadId(gameDate, RedditUtils.LIVE_GT_TYPE, "CLE", "SAS", false).test()
+    clock.advanceTimeBy(61, TimeUnit.SECONDS)
+    repository.findGameThreadId(gameDate, RedditUtils.LIVE_GT_TYPE, "CLE", "SAS", false).test()
+
+    verify(gameThreadsService, times(2)).fetchGameThreads(anyString())
+  }
+
+  @Test
+  fun notFoundIsLookedUpAgainWhenForced() {
+    `when`(gameThreadsService.fetchGameThreads(anyString()))
+        .thenReturn(Single.just(threads("Unrelated thread")),
+            Single.just(threads("GAME THREAD: San Antonio Spurs @ Cleveland Cavaliers")))
+
+    repository.findGameThreadId(gameDate, RedditUtils.LIVE_GT_TYPE, "CLE", "SAS", false)
+        .test().assertValue("")
+    repository.findGameThreadId(gameDate, RedditUtils.LIVE_GT_TYPE, "CLE", "SAS", true)
+        .test().assertValue("abc")
+  }
+
+  @Test
+  fun threadTypesAreCachedSeparately() {
+    `when`(gameThreadsService.fetchGameThreads(anyString()))
+        .thenReturn(Single.just(threads("GAME THREAD: San Antonio Spurs @ Cleveland Cavaliers")))
+
+    repository.findGameThreadId(gameDate, RedditUtils.LIVE_GT_TYPE, "CLE", "SAS", false)
+        .test().assertValue("abc")
+    repository.findGameThreadId(gameDate, RedditUtils.POST_GT_TYPE, "CLE", "SAS", false)
+        .test().assertValue("")
+
+    verify(gameThreadsService, times(2)).fetchGameThreads(anyString())
+  }
+
+  @Test
+  fun pastDaysEvictedOnWrite() {
+    clock.advanceTimeTo(gameDate, TimeUnit.MILLISECONDS)
+    val today = DateFormatUtil.getNoDashDateString(Date(gameDate))
+    val todayKey = "game_thread_id_$today|${RedditUtils.POST_GT_TYPE}|BOS|NYK"
+    val pastKey = "game_thread_id_20170101|${RedditUtils.LIVE_GT_TYPE}|BOS|NYK"
+    `when`(preferences.all).thenReturn(mapOf(todayKey to "def", pastKey to "ghi"))
+    `when`(gameThreadsService.fetchGameThreads(anyString()))
+        .thenReturn(Single.just(threads("GAME THREAD: San Antonio Spurs @ Cleveland Cavaliers")))
+
+    repository.findGameThreadId(gameDate, RedditUtils.LIVE_GT_TYPE, "CLE", "SAS", false).test()
+
+    verify(editor).remove(pastKey)
+    verify(editor, never()).remove(todayKey)
+    verify(editor).putString(anyString(), eq("abc"))
+  }
+
+  @Test
+  fun persistedDaysEvictedOncePerDay() {
+    clock.advanceTimeTo(gameDate, TimeUnit.MILLISECONDS)
+    `when`(preferences.all).thenReturn(emptyMap<String, Any>())
+    `when`(gameThreadsService.fetchGameThreads(anyString()))
+        .thenReturn(Single.just(hashMapOf(
+            "-Kx1" to GameThreadSummary(
+                "abc", "GAME THREAD: San Antonio Spurs @ Cleveland Cavaliers", 1510358400L, 250),
+            "-Kx2" to GameThreadSummary(
+                "def", "GAME THREAD: New York Knicks @ Boston Celtics", 1510358400L, 250))))
+
+    repository.findGameThreadId(gameDate, RedditUtils.LIVE_GT_TYPE, "CLE", "SAS", false).test()
+    repository.findGameThreadId(gameDate, RedditUtils.LIVE_GT_TYPE, "BOS", "NYK", false).test()
+
+    verify(editor).putString(anyString(), eq("abc"))
+    verify(editor).putString(anyString(), eq("def"))
+    verify(preferences, times(1)).all
+  }
+
+  private fun threads(title: String): Map<String, GameThreadSummary> {
+    return hashMapOf("-Kx1" to GameThreadSummary("abc", title, 1510358400L, 250))
+  }
+}
@@ -0,0 +1,109 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.submissions
+
+import android.content.ComponentCallbacks2
+import com.gmail.jorgegilcavazos.ballislife.features.model.SubmissionWrapper
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Test
+
+class SubmissionMemoryCacheTest {
+
+  private val weights = HashMap<String, Long>()
+  private val cache = SubmissionMemoryCache(100) { weights[it.id] ?: 0 }
+
+  @Test
+  fun evictsLeastRecentlyUsedWhenOverWeight() {
+    cache.put(createSubmission("a", 40))
+    cache.put(createSubmission("b", 40))
+    cache.get("a")
+
+    cache.put(createSubmission("c", 40))
+
+    assertNotNull(cache.get("a"))
+    assertNull(cache.get("b"))
+    assertNotNull(cache.get("c"))
+    assertEquals(1, cache.stats().evictions)
+  }
+
+  @Test
+  fun evictsByWeightNotCount() {
+    cache.put(createSubmission("a", 10))
+    cache.put(createSubmission("b", 10))
+    cache.put(createSubmission("c", 90))
+
+    assertNull(cache.get("a"))
+    assertNull(cache.get("b"))
+    assertEquals(1, cache.stats().size)
+    assertEquals(90, cache.stats().weight)
+  }
+
+  @Test
+  fun keepsLastSubmissionEvenIfOverWeight() {
+    cache.put(createSubmission("a", 10))
+    cache.put(createSubmission("b", 500))
+
+    assertNull(cache.get("a"))
+    assertNotNull(cache.get("b"))
+  }
+
+  @Test
+  fun replacingSubmissionUpdatesWeight() {
+    cache.put(createSubmission("a", 60))
+    cache.put(createSubmission("a", 20))
+    cache.put(createSubmission("b", 60))
+
+    assertNotNull(cache.get("a"))
+    assertEquals(80, cache.stats().weight)
+  }
+
+  @Test
+  fun trimHalfWhenRunningLow() {
+    cache.put(createSubmission("a", 30))
+    cache.put(createSubmission("b", 30))
+    cache.put(createSubmission("c", 30))
+
+    cache.trimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW)
+
+    assertEquals(1, cache.stats().size)
+    assertNotNull(cache.get("c"))
+  }
+
+  @Test
+  fun trimAllButLastInBackground() {
+    cache.put(createSubmission("a", 10))
+    cache.put(createSubmission("b", 10))
+
+    cache.trimMemory(ComponentCallbacks2.TRIM_MEMORY_BACKGROUND)
+
+    assertEquals(1, cache.stats().size)
+    assertNotNull(cache.get("b"))
+  }
+
+  @Test
+  fun noTrimWhileRunningModerate() {
+    cache.put(createSubmission("a", 30))
+    cache.put(createSubmission("b", 30))
+
+    cache.trimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE)
+
+    assertEquals(2, cache.stats().size)
+  }
+
+  @Test
+  fun countsHitsAndMisses() {
+    cache.put(createSubmission("a", 10))
+
+    cache.get("a")
+    cache.get("a")
+    cache.get("b")
+
+    assertEquals(2, cache.stats().hits)
+    assertEquals(1, cache.stats().misses)
+  }
+
+  private fun createSubmission(id: String, weight: Long): SubmissionWrapper {
+    weights.put(id, weight)
+    return SubmissionWrapper(id, null, "title", "author")
+  }
+}
@@ -0,0 +1,133 @@
+package com.gmail.jorgegilcavazos.ballislife.data.repository.submissions
+
+import com.gmail.jorgegilcavazos.ballislife.data.reddit.RedditAuthentication
+import com.gmail.jorgegilcavazos.ballislife.data.service.RedditService
+import com.gmail.jorgegilcavazos.ballislife.util.schedulers.TrampolineSchedulerProvider
+import io.reactivex.Single
+import io.reactivex.subjects.SingleSubject
+import net.dean.jraw.models.CommentSort
+import net.dean.jraw.models.Submission
+import org.junit.Assert.assertSame
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mock
+import org.mockito.Mockito.*
+import org.mockito.MockitoAnnotations
+
+class SubmissionRepositoryImplTest {
+
+  @Mock private lateinit var redditAuthentication: RedditAuthentication
+  @Mock private lateinit var redditService: RedditService
+  @Mock private lateinit var submissionDiskCache: SubmissionDiskCache
+
+  private lateinit var repository: SubmissionRepositoryImpl
+
+  @Before
+  fun setup() {
+    MockitoAnnotations.initMocks(this)
+
+    repository = SubmissionRepositoryImpl(redditAuthentication, redditService,
+        submissionDiskCache, TrampolineSchedulerProvider())
+  }
+
+  @Test
+  fun snapshotEmittedBeforeNetwork() {
+    val snapshot = createSubmission("Snapshot")
+    val network = SingleSubject.create<Submission>()
+    val fresh = createSubmission("Fresh")
+    `when`(submissionDiskCache.get("abc", CommentSort.NEW)).thenReturn(snapshot)
+    `when`(redditService.getSubmission(any(), eq("abc"), eq(CommentSort.NEW))).thenReturn(network)
+
+    val testObserver = repository.getSubmissionWithSnapshot("abc", CommentSort.NEW, false).test()
+    network.onSuccess(fresh)
+
+    testObserver.assertValueCount(2)
+    testObserver.assertValueAt(0, { it.submission === snapshot })
+    testObserver.assertValueAt(1, { it.submission === fresh })
+    testObserver.assertComplete()
+  }
+
+  @Test
+  fun onlyNetworkWithoutSnapshot() {
+    val fresh = createSubmission("Fresh")
+    `when`(redditService.getSubmission(any(), eq("abc"), eq(CommentSort.NEW)))
+        .thenReturn(Single.just(fresh))
+
+    val testObserver = repository.getSubmissionWithSnapshot("abc", CommentSort.NEW, false).test()
+
+    testObserver.assertValueCount(1)
+    testObserver.assertValueAt(0, { it.submission === fresh })
+  }
+
+  @Test
+  fun forceReloadSkipsSnapshot() {
+    val fresh = createSubmission("Fresh")
+    `when`(redditService.getSubmission(any(), eq("abc"), eq(CommentSort.NEW)))
+        .thenReturn(Single.just(fresh))
+
+    repository.getSubmissionWithSnapshot("abc", CommentSort.NEW, true).test().assertValueCount(1)
+
+    verify(submissionDiskCache, never()).get(anyString(), any())
+  }
+
+  @Test
+  fun networkResultSavedAsSnapshot() {
+    val fresh = createSubmission("Fresh")
+    `when`(redditService.getSubmission(any(), eq("abc"), eq(CommentSort.TOP)))
+        .thenReturn(Single.just(fresh))
+
+    repository.getSubmissionWithSnapshot("abc", CommentSort.TOP, true).test()
+
+    verify(submissionDiskCache).save(fresh, CommentSort.TOP)
+  }
+
+  @Test
+  fun memoryCacheUsedBeforeSnapshot() {
+    val fresh = createSubmission("Fresh")
+    `when`(redditService.getSubmission(any(), eq("abc"), eq(CommentSort.NEW)))
+        .thenReturn(Single.just(fresh))
+    repository.getSubmission("abc", CommentSort.NEW, false).test()
+
+    val testObserver = repository.getSubmissionWithSnapshot("abc", CommentSort.NEW, false).test()
+
+    testObserver.assertValueCount(1)
+    verify(submissionDiskCache, never()).get(anyString(), any())
+    verify(redditService, times(1)).getSubmission(any(), anyString(), any())
+  }
+
+  @Test
+  fun snapshotCachedUntilNetworkResult() {
+    val snapshot = createSubmission("Snapshot")
+    val network = SingleSubject.create<Submission>()
+    val fresh = createSubmission("Fresh")
+    `when`(submissionDiskCache.get("abc", CommentSort.NEW)).thenReturn(snapshot)
+    `when`(redditService.getSubmission(any(), eq("abc"), eq(CommentSort.NEW))).thenReturn(network)
+
+    repository.getSubmissionWithSnapshot("abc", CommentSort.NEW, false).test()
+
+    assertSame(snapshot, repository.getCachedSubmission("abc").get())
+    network.onSuccess(fresh)
+    assertSame(fresh, repository.getCachedSubmission("abc").get())
+  }
+
+  @Test
+  fun memoryCacheReadOnSubscription() {
+    val fresh = createSubmission("Fresh")
+    `when`(redditService.getSubmission(any(), eq("abc"), eq(CommentSort.NEW)))
+        .thenReturn(Single.just(fresh))
+    val beforeCached = repository.getSubmissionWithSnapshot("abc", CommentSort.NEW, false)
+    repository.getSubmission("abc", CommentSort.NEW, false).test()
+
+    beforeCached.test().assertValueCount(1)
+
+    verify(submissionDiskCache, never()).get(anyString(), any())
+  }
+
+  private fun createSubmission(title: String): Submission {
+    val submission = mock(Submission::class.java)
+    `when`(submission.id).thenReturn("abc")
+    `when`(submission.title).thenReturn(title)
+    `when`(submission.author).thenReturn("author")
+    return submission
+  }
+}
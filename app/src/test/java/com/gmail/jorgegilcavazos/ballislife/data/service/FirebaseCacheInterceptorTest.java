@@ -0,0 +1,106 @@
+package com.gmail.jorgegilcavazos.ballislife.data.service;
+
+import com.gmail.jorgegilcavazos.ballislife.data.repository.games.FinishedGames;
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameV2;
+import com.gmail.jorgegilcavazos.ballislife.features.model.NbaGame;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.schedulers.TestScheduler;
+import okhttp3.Request;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class FirebaseCacheInterceptorTest {
+
+    private static final String HOST = "nba-app-ca681.firebaseio.com";
+    private static final long NOW_SECONDS = 1510400000;
+
+    private FinishedGames finishedGames;
+    private FirebaseCacheInterceptor interceptor;
+
+    @Before
+    public void setUp() {
+        TestScheduler clock = new TestScheduler();
+        clock.advanceTimeTo(NOW_SECONDS, TimeUnit.SECONDS);
+        finishedGames = new FinishedGames();
+        interceptor = new FirebaseCacheInterceptor(HOST, finishedGames, clock);
+    }
+
+    @Test
+    public void todaysGamesCachedForSeconds() {
+        String cacheControl = interceptor.cacheControlFor(
+                request("games/2017-18/.json?startAt=" + (NOW_SECONDS - 3600)
+                        + "&endAt=" + (NOW_SECONDS + 3600)));
+
+        assertEquals("public, max-age=" + FirebaseCacheInterceptor.LIVE_GAMES_MAX_AGE_SECONDS,
+                cacheControl);
+    }
+
+    @Test
+    public void pastDaysGamesCachedLonger() {
+        String cacheControl = interceptor.cacheControlFor(
+                request("games/2017-18/.json?endAt=" + (NOW_SECONDS - TimeUnit.DAYS.toSeconds(2))));
+
+        assertEquals("public, max-age=" + FirebaseCacheInterceptor.PAST_GAMES_MAX_AGE_SECONDS,
+                cacheControl);
+    }
+
+    @Test
+    public void finishedBoxScoreCachedLonger() {
+        finishedGames.addFinished(Collections.singletonList(createGame("0021700123")));
+
+        assertEquals("public, max-age="
+                        + FirebaseCacheInterceptor.FINISHED_BOX_SCORE_MAX_AGE_SECONDS,
+                interceptor.cacheControlFor(request("boxscore/0021700123/g.json")));
+        assertEquals("public, max-age="
+                        + FirebaseCacheInterceptor.LIVE_BOX_SCORE_MAX_AGE_SECONDS,
+                interceptor.cacheControlFor(request("boxscore/0021700124/g.json")));
+    }
+
+    @Test
+    public void boxScoreOfSettledDayCachedLonger() {
+        Request pastDay = request("boxscore/0021700123/g.json").newBuilder()
+                .header(FirebaseCacheInterceptor.DAY_END_HEADER,
+                        String.valueOf(NOW_SECONDS - TimeUnit.DAYS.toSeconds(1)))
+                .build();
+        Request today = pastDay.newBuilder()
+                .header(FirebaseCacheInterceptor.DAY_END_HEADER,
+                        String.valueOf(NOW_SECONDS + 3600))
+                .build();
+
+        assertEquals("public, max-age="
+                        + FirebaseCacheInterceptor.FINISHED_BOX_SCORE_MAX_AGE_SECONDS,
+                interceptor.cacheControlFor(pastDay));
+        assertEquals("public, max-age="
+                        + FirebaseCacheInterceptor.LIVE_BOX_SCORE_MAX_AGE_SECONDS,
+                interceptor.cacheControlFor(today));
+    }
+
+    @Test
+    public void standingsCachedForHours() {
+        assertEquals("public, max-age=" + FirebaseCacheInterceptor.STANDINGS_MAX_AGE_SECONDS,
+                interceptor.cacheControlFor(request("standings/22017.json")));
+    }
+
+    @Test
+    public void otherHostsLeftUntouched() {
+        assertNull(interceptor.cacheControlFor(new Request.Builder()
+                .request("https://api.streamable.com/videos/abc")
+                .build()));
+    }
+
+    private Request request(String path) {
+        return new Request.Builder().request("https://" + HOST + "/" + path).build();
+    }
+
+    private GameV2 createGame(String id) {
+        return new GameV2("", "", "", "", "", "", "", "", "", "", NbaGame.POST_GAME, "", "", "",
+                "", "", "", id, "", "", "", "", 0, "");
+    }
+}
@@ -0,0 +1,130 @@
+package com.gmail.jorgegilcavazos.ballislife.data.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import net.dean.jraw.RedditClient;
+import net.dean.jraw.http.SubmissionRequest;
+import net.dean.jraw.models.Comment;
+import net.dean.jraw.models.CommentNode;
+import net.dean.jraw.models.MoreChildren;
+import net.dean.jraw.models.Submission;
+import net.dean.jraw.models.Thing;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+public class RedditServiceImplTest {
+
+    @Mock
+    RedditClient mockRedditClient;
+
+    RedditServiceImpl redditService;
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        redditService = new RedditServiceImpl();
+    }
+
+    @Test
+    public void postedCommentBuiltFromReply() {
+        ObjectNode data = new ObjectMapper().createObjectNode();
+        data.put("id", "abc");
+        data.put("name", "t1_abc");
+        data.put("body_html", "&lt;p&gt;Reply&lt;/p&gt;\n");
+        data.put("replies", "");
+
+        CommentNode node = redditService.getPostedComment(mockRedditClient, "thread",
+                new Comment(data)).blockingGet();
+
+        assertEquals("abc", node.getComment().getId());
+        verifyZeroInteractions(mockRedditClient);
+    }
+
+    @Test
+    public void postedCommentFetchedUntilAvailable() throws Exception {
+        Comment posted = mock(Comment.class);
+        when(posted.getId()).thenReturn("abc");
+        CommentNode node = createNode("abc");
+        Submission withoutComment = createSubmission();
+        Submission withComment = createSubmission(node);
+        when(mockRedditClient.getSubmission(any(SubmissionRequest.class)))
+                .thenReturn(withoutComment, withComment);
+
+        CommentNode fetched = redditService.getPostedComment(mockRedditClient, "thread", posted)
+                .blockingGet();
+
+        assertSame(node, fetched);
+        verify(mockRedditClient, times(2)).getSubmission(any(SubmissionRequest.class));
+    }
+
+    @Test
+    public void moreCommentsSplitByRequestedParent() {
+        ObjectMapper mapper = new ObjectMapper();
+        ArrayNode things = mapper.createArrayNode();
+        things.add(createThing(mapper, "t1", "t1_a1", "t1_a"));
+        things.add(createThing(mapper, "t1", "t1_b1", "t1_b"));
+        things.add(createThing(mapper, "t1", "t1_a2", "t1_a1"));
+        things.add(createThing(mapper, "more", "t1_a3", "t1_a"));
+        things.add(createThing(mapper, "t1", "t1_c1", "t1_c"));
+
+        Map<String, List<Thing>> split = RedditServiceImpl.splitByParent(
+                Arrays.asList("t1_a", "t1_b"), things);
+
+        List<Thing> aThings = split.get("t1_a");
+        assertEquals(3, aThings.size());
+        assertEquals("t1_a1", ((Comment) aThings.get(0)).getFullName());
+        assertEquals("t1_a2", ((Comment) aThings.get(1)).getFullName());
+        assertTrue(aThings.get(2) instanceof MoreChildren);
+        assertEquals(1, split.get("t1_b").size());
+        assertEquals(2, split.size());
+    }
+
+    private static ObjectNode createThing(ObjectMapper mapper, String kind, String fullName,
+                                          String parentFullName) {
+        ObjectNode data = mapper.createObjectNode();
+        data.put("id", fullName.substring(3));
+        data.put("name", fullName);
+        data.put("parent_id", parentFullName);
+        data.put("body_html", "&lt;p&gt;Reply&lt;/p&gt;\n");
+        data.put("replies", "");
+        ObjectNode thing = mapper.createObjectNode();
+        thing.put("kind", kind);
+        thing.set("data", data);
+        return thing;
+    }
+
+    private static Submission createSubmission(CommentNode... topLevelComments) {
+        CommentNode root = mock(CommentNode.class);
+        when(root.getChildren()).thenReturn(Arrays.asList(topLevelComments));
+        Submission submission = mock(Submission.class);
+        when(submission.getComments()).thenReturn(root);
+        return submission;
+    }
+
+    private static CommentNode createNode(String id) {
+        Comment comment = mock(Comment.class);
+        when(comment.getId()).thenReturn(id);
+        CommentNode node = mock(CommentNode.class);
+        when(node.getComment()).thenReturn(comment);
+        return node;
+    }
+}
@@ -0,0 +1,115 @@
+package com.gmail.jorgegilcavazos.ballislife.data.service;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Single;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class SingleFlightTest {
+
+    private static final long TTL_MS = 1000;
+
+    private TestScheduler clock;
+    private SingleFlight<String, String> singleFlight;
+    private AtomicInteger subscriptions;
+    private PublishSubject<String> response;
+
+    @Before
+    public void setUp() {
+        clock = new TestScheduler();
+        singleFlight = new SingleFlight<>(TTL_MS, clock);
+        subscriptions = new AtomicInteger();
+        response = PublishSubject.create();
+    }
+
+    @Test
+    public void concurrentRequestsShareOneSubscription() {
+        TestObserver<String> first = singleFlight.get("key", this::request).test();
+        TestObserver<String> second = singleFlight.get("key", this::request).test();
+
+        response.onNext("value");
+
+        first.assertValue("value");
+        second.assertValue("value");
+        assertEquals(1, subscriptions.get());
+        assertEquals(1, singleFlight.stats().getMisses());
+        assertEquals(1, singleFlight.stats().getCoalesced());
+    }
+
+    @Test
+    public void differentKeysAreNotShared() {
+        singleFlight.get("key1", this::request).test();
+        singleFlight.get("key2", this::request).test();
+
+        assertEquals(2, subscriptions.get());
+    }
+
+    @Test
+    public void freshResultServedFromMemory() {
+        singleFlight.get("key", this::request).test();
+        response.onNext("value");
+
+        clock.advanceTimeBy(TTL_MS - 1, TimeUnit.MILLISECONDS);
+        TestObserver<String> observer = singleFlight.get("key", this::request).test();
+
+        observer.assertValue("value");
+        assertEquals(1, subscriptions.get());
+        assertEquals(1, singleFlight.stats().getHits());
+    }
+
+    @Test
+    public void expiredResultRequestedAgain() {
+        singleFlight.get("key", this::request).test();
+        response.onNext("value");
+
+        clock.advanceTimeBy(TTL_MS, TimeUnit.MILLISECONDS);
+        singleFlight.get("key", this::request).test();
+
+        assertEquals(2, subscriptions.get());
+        assertEquals(2, singleFlight.stats().getMisses());
+    }
+
+    @Test
+    public void errorsAreNotCached() {
+        singleFlight.get("key", this::request).test();
+        response.onError(new Exception());
+
+        response = PublishSubject.create();
+        TestObserver<String> observer = singleFlight.get("key", this::request).test();
+        response.onNext("value");
+
+        observer.assertValue("value");
+        assertEquals(2, subscriptions.get());
+    }
+
+    @Test
+    public void requestCancelledOnlyWhenAllSubscribersDispose() {
+        TestObserver<String> first = singleFlight.get("key", this::request).test();
+        TestObserver<String> second = singleFlight.get("key", this::request).test();
+
+        first.dispose();
+        response.onNext("value");
+
+        second.assertValue("value");
+    }
+
+    @Test
+    public void requestCancelledWhenAllSubscribersDispose() {
+        singleFlight.get("key", this::request).test().dispose();
+
+        assertFalse(response.hasObservers());
+    }
+
+    private Single<String> request() {
+        return response.firstOrError().doOnSubscribe(d -> subscriptions.incrementAndGet());
+    }
+}
@@ -7,6 +7,7 @@ import com.gmail.jorgegilcavazos.ballislife.util.schedulers.TrampolineSchedulerP
 import io.reactivex.Observable
 import io.reactivex.disposables.CompositeDisposable
 import io.reactivex.subjects.PublishSubject
+import org.junit.Assert.assertFalse
 import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
@@ -36,6 +37,8 @@ class GamesPresenterTest {
     `when`(mockView.nextDayClicks()).thenReturn(nextDayClicks)
     `when`(mockView.gameClicks()).thenReturn(gameClicks)
     `when`(mockRepository.games(anyObject(), anyBoolean())).thenReturn(Observable.empty())
+    `when`(mockRepository.liveScores(anyObject())).thenReturn(Observable.never())
+    `when`(mockRepository.pollGames(anyObject())).thenReturn(Observable.empty())
 
     presenter = GamesPresenter(mockRepository, TrampolineSchedulerProvider(), CompositeDisposable(),
         mockNetworkUtils)
@@ -107,6 +110,26 @@ class GamesPresenterTest {
     verify(mockView).setNoGamesIndicator(false)
   }
 
+  @Test
+  fun prefetchAdjacentDaysAfterNetworkResult() {
+    `when`(mockRepository.games(anyObject(), ArgumentMatchers.anyBoolean()))
+        .thenReturn(Observable.just(GamesUiModel.networkSuccess(listOf(createGameV2()))))
+
+    presenter.loadGames(false)
+
+    verify(mockRepository).prefetchGames(anyObject(), eq(GamesPresenter.PREFETCH_WINDOW_DAYS))
+  }
+
+  @Test
+  fun noPrefetchBeforeNetworkResult() {
+    `when`(mockRepository.games(anyObject(), ArgumentMatchers.anyBoolean()))
+        .thenReturn(Observable.just(GamesUiModel.memorySuccess(listOf(createGameV2()))))
+
+    presenter.loadGames(false)
+
+    verify(mockRepository, never()).prefetchGames(anyObject(), anyInt())
+  }
+
   @Test
   fun showGamesIfResultContainsGames() {
     val games = listOf(createGameV2())
@@ -139,6 +162,95 @@ class GamesPresenterTest {
     verify(mockView).setLoadingIndicator(false)
   }
 
+  @Test
+  fun updateGamesOnLiveUpdate() {
+    val games = listOf(createGameV2())
+    `when`(mockRepository.liveScores(anyObject()))
+        .thenReturn(Observable.just(GamesUiModel.liveUpdate(games)))
+
+    presenter.loadGames(false)
+
+    verify(mockView).updateGames(games)
+    verify(mockView, never()).showGames(games)
+  }
+
+  @Test
+  fun pollGamesAfterLoad() {
+    val polledGames = listOf(createGameV2())
+    `when`(mockRepository.games(anyObject(), ArgumentMatchers.anyBoolean()))
+        .thenReturn(Observable.just(GamesUiModel.networkSuccess(listOf())))
+    `when`(mockRepository.pollGames(anyObject()))
+        .thenReturn(Observable.just(GamesUiModel.networkSuccess(polledGames)))
+
+    presenter.loadGames(false)
+
+    verify(mockView).showGames(polledGames)
+  }
+
+  @Test
+  fun prefetchOnlyOnceForPolledDay() {
+    `when`(mockRepository.games(anyObject(), ArgumentMatchers.anyBoolean()))
+        .thenReturn(Observable.just(GamesUiModel.networkSuccess(listOf())))
+    `when`(mockRepository.pollGames(anyObject())).thenReturn(Observable.just(
+        GamesUiModel.networkSuccess(listOf(createGameV2())),
+        GamesUiModel.networkSuccess(listOf(createGameV2()))))
+
+    presenter.loadGames(false)
+
+    verify(mockRepository).prefetchGames(anyObject(), eq(GamesPresenter.PREFETCH_WINDOW_DAYS))
+  }
+
+  @Test
+  fun noPollingWhileDisabled() {
+    presenter.setPollingEnabled(false)
+
+    presenter.loadGames(false)
+
+    verify(mockRepository, never()).pollGames(anyObject())
+  }
+
+  @Test
+  fun pollingResumesWhenEnabled() {
+    presenter.setPollingEnabled(false)
+    presenter.loadGames(false)
+
+    presenter.setPollingEnabled(true)
+
+    verify(mockRepository).pollGames(anyObject())
+  }
+
+  @Test
+  fun newLoadCancelsLoadInFlight() {
+    val staleLoad = PublishSubject.create<GamesUiModel>()
+    val latestLoad = PublishSubject.create<GamesUiModel>()
+    val staleGames = listOf(createGameV2())
+    val latestGames = listOf(createGameV2(), createGameV2())
+    `when`(mockRepository.games(anyObject(), ArgumentMatchers.anyBoolean()))
+        .thenReturn(staleLoad, latestLoad)
+
+    nextDayClicks.onNext(Object())
+    nextDayClicks.onNext(Object())
+    staleLoad.onNext(GamesUiModel.networkSuccess(staleGames))
+    latestLoad.onNext(GamesUiModel.networkSuccess(latestGames))
+
+    assertFalse(staleLoad.hasObservers())
+    verify(mockView, never()).showGames(staleGames)
+    verify(mockView).showGames(latestGames)
+  }
+
+  @Test
+  fun loadErrorDoesNotStopLaterLoads() {
+    val games = listOf(createGameV2())
+    `when`(mockRepository.games(anyObject(), ArgumentMatchers.anyBoolean()))
+        .thenReturn(Observable.error(Exception()),
+            Observable.just(GamesUiModel.networkSuccess(games)))
+
+    presenter.loadGames(false)
+    presenter.loadGames(true)
+
+    verify(mockView).showGames(games)
+  }
+
   @Test
   fun showNoNetworkSnackbarIfNetUnavailable() {
     `when`(mockNetworkUtils.isNetworkAvailable()).thenReturn(false)
@@ -168,6 +280,13 @@ class GamesPresenterTest {
     verify(mockView).dismissSnackbar()
   }
 
+  @Test
+  fun cancelPrefetchOnDetach() {
+    presenter.detachView()
+
+    verify(mockRepository).cancelPrefetch()
+  }
+
   private fun createGameV2(): GameV2 {
     return GameV2(
         arena = "AT&T",
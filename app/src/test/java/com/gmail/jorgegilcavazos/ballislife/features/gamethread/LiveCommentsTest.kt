@@ -0,0 +1,187 @@
+package com.gmail.jorgegilcavazos.ballislife.features.gamethread
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.CommentChange
+import com.gmail.jorgegilcavazos.ballislife.features.model.ThreadItem
+import net.dean.jraw.models.Comment
+import net.dean.jraw.models.CommentNode
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mockito.`when`
+import org.mockito.Mockito.mock
+
+class LiveCommentsTest {
+
+  private lateinit var liveComments: LiveComments
+
+  @Before
+  fun setup() {
+    liveComments = LiveComments()
+  }
+
+  @Test
+  fun firstRefreshShowsAllComments() {
+    val refresh = liveComments.refresh(listOf(node("t1_a"), node("t1_b")))
+
+    assertEquals(2, refresh.items!!.size)
+    assertTrue(refresh.changes.isEmpty())
+  }
+
+  @Test
+  fun unchangedRefreshHasNoChanges() {
+    liveComments.refresh(listOf(node("t1_a"), node("t1_b")))
+
+    val refresh = liveComments.refresh(listOf(node("t1_a"), node("t1_b")))
+
+    assertNull(refresh.items)
+    assertTrue(refresh.changes.isEmpty())
+  }
+
+  @Test
+  fun newCommentsInsertedAtTheirPosition() {
+    liveComments.refresh(listOf(node("t1_a"), node("t1_b")))
+
+    val changes = liveComments.refresh(
+        listOf(node("t1_new"), node("t1_a"), node("t1_reply"), node("t1_b"))).changes
+
+    assertEquals(2, changes.size)
+    assertEquals(0, (changes[0] as CommentChange.Insert).position)
+    assertEquals(2, (changes[1] as CommentChange.Insert).position)
+  }
+
+  @Test
+  fun changedCommentsUpdated() {
+    liveComments.refresh(listOf(node("t1_a"), node("t1_b")))
+
+    val changes = liveComments.refresh(listOf(node("t1_a"), node("t1_b", score = 5))).changes
+
+    assertEquals(1, changes.size)
+    assertEquals(1, (changes[0] as CommentChange.Update).position)
+  }
+
+  @Test
+  fun missingCommentsRemovedFromTheBottomUp() {
+    liveComments.refresh(listOf(node("t1_a"), node("t1_b"), node("t1_c")))
+
+    val changes = liveComments.refresh(listOf(node("t1_b"))).changes
+
+    assertEquals(2, changes.size)
+    assertEquals(2, (changes[0] as CommentChange.Remove).position)
+    assertEquals(0, (changes[1] as CommentChange.Remove).position)
+  }
+
+  @Test
+  fun reorderedCommentsMoved() {
+    liveComments.refresh(listOf(node("t1_a"), node("t1_b")))
+
+    val changes = liveComments.refresh(listOf(node("t1_b"), node("t1_a"))).changes
+
+    assertEquals(1, changes.size)
+    val move = changes[0] as CommentChange.Move
+    assertEquals(1, move.fromPosition)
+    assertEquals(0, move.toPosition)
+  }
+
+  @Test
+  fun changesBringShownCommentsUpToDate() {
+    val shown = mutableListOf("t1_a", "t1_b", "t1_c", "t1_d", "t1_e", "t1_f")
+    liveComments.refresh(shown.map { node(it) })
+    val latest = listOf("t1_new", "t1_e", "t1_b", "t1_f", "t1_a", "t1_d", "t1_reply")
+
+    for (change in liveComments.refresh(latest.map { node(it) }).changes) {
+      when (change) {
+        is CommentChange.Insert -> shown.add(change.position, fullName(change.item))
+        is CommentChange.Remove -> shown.removeAt(change.position)
+        is CommentChange.Move -> shown.add(change.toPosition, shown.removeAt(change.fromPosition))
+        is CommentChange.Update -> shown[change.position] = fullName(change.item)
+      }
+    }
+
+    assertEquals(latest, shown)
+  }
+
+  @Test
+  fun addedReplyNotInsertedAgain() {
+    liveComments.refresh(listOf(node("t1_a")))
+    liveComments.add(1, node("t1_reply"))
+
+    val changes = liveComments.refresh(listOf(node("t1_a"), node("t1_reply"))).changes
+
+    assertTrue(changes.isEmpty())
+  }
+
+  @Test
+  fun clearShowsAllCommentsAgain() {
+    liveComments.refresh(listOf(node("t1_a")))
+    liveComments.clear()
+
+    val refresh = liveComments.refresh(listOf(node("t1_a"), node("t1_b")))
+
+    assertEquals(2, refresh.items!!.size)
+  }
+
+  @Test
+  fun nodeLookupFollowsRefreshes() {
+    val updated = node("t1_a", score = 2)
+    liveComments.refresh(listOf(node("t1_a"), node("t1_b")))
+    liveComments.refresh(listOf(updated))
+
+    assertSame(updated, liveComments.node("t1_a"))
+    assertNull(liveComments.node("t1_b"))
+  }
+
+  @Test
+  fun replyAddedAfterParent() {
+    liveComments.refresh(listOf(node("t1_a"), node("t1_b")))
+    liveComments.addReply("t1_a", node("t1_reply"))
+
+    val refresh = liveComments.refresh(listOf(node("t1_a"), node("t1_reply"), node("t1_b")))
+
+    assertTrue(refresh.changes.isEmpty())
+  }
+
+  @Test
+  fun replyToCommentFromRefresh() {
+    val first = node("t1_a")
+    val streamed = node("t1_b")
+    liveComments.refresh(listOf(first))
+    liveComments.refresh(listOf(first, streamed))
+
+    assertSame(first, liveComments.node("t1_a"))
+    assertSame(streamed, liveComments.node("t1_b"))
+
+    liveComments.addReply("t1_b", node("t1_reply"))
+    val refresh = liveComments.refresh(listOf(first, streamed, node("t1_reply")))
+
+    assertTrue(refresh.changes.isEmpty())
+  }
+
+  @Test
+  fun replyAddedAfterParentShiftedByEarlierReply() {
+    liveComments.refresh(listOf(node("t1_a"), node("t1_b")))
+    liveComments.addReply("t1_a", node("t1_reply_a"))
+    liveComments.addReply("t1_b", node("t1_reply_b"))
+
+    val refresh = liveComments.refresh(listOf(
+        node("t1_a"), node("t1_reply_a"), node("t1_b"), node("t1_reply_b")))
+
+    assertTrue(refresh.changes.isEmpty())
+  }
+
+  private fun fullName(item: ThreadItem) = item.commentNode!!.comment.fullName
+
+  private fun node(fullName: String, score: Int = 1, body: String = "body"): CommentNode {
+    val comment = mock(Comment::class.java)
+    `when`(comment.fullName).thenReturn(fullName)
+    `when`(comment.score).thenReturn(score)
+    `when`(comment.data("body_html")).thenReturn(body)
+    `when`(comment.hasBeenEdited()).thenReturn(false)
+    val node = mock(CommentNode::class.java)
+    `when`(node.comment).thenReturn(comment)
+    `when`(node.depth).thenReturn(1)
+    return node
+  }
+}
@@ -0,0 +1,59 @@
+package com.gmail.jorgegilcavazos.ballislife.features.model
+
+import com.gmail.jorgegilcavazos.ballislife.R
+import net.dean.jraw.models.Comment
+import net.dean.jraw.models.Flair
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import org.mockito.Mockito.`when`
+import org.mockito.Mockito.mock
+import java.util.*
+
+class CommentMetadataTest {
+
+  @Test
+  fun flairWithIcon() {
+    val metadata = CommentMetadata.of(createComment(createFlair("Spurs1", "Spurs")))
+
+    assertEquals("Spurs", metadata.flairText)
+    assertEquals(R.drawable.sas, metadata.flairRes)
+  }
+
+  @Test
+  fun flairTextWithApostrophe() {
+    val metadata = CommentMetadata.of(createComment(createFlair("unknown", "Don't @ me")))
+
+    assertEquals("Don't @ me", metadata.flairText)
+    assertEquals(-1, metadata.flairRes)
+  }
+
+  @Test
+  fun noFlair() {
+    val metadata = CommentMetadata.of(createComment(null))
+
+    assertEquals("", metadata.flairText)
+    assertEquals(-1, metadata.flairRes)
+  }
+
+  @Test
+  fun timestampFromClockTick() {
+    val metadata = CommentMetadata.of(createComment(null))
+
+    assertEquals("50m", metadata.timestamp(metadata.createdMillis + 50 * 60 * 1000))
+    assertEquals("4hr", metadata.timestamp(metadata.createdMillis + 4 * 60 * 60 * 1000))
+  }
+
+  private fun createComment(flair: Flair?): Comment {
+    val comment = mock(Comment::class.java)
+    `when`(comment.authorFlair).thenReturn(flair)
+    `when`(comment.created).thenReturn(Date(1_500_000_000_000))
+    return comment
+  }
+
+  private fun createFlair(cssClass: String, text: String): Flair {
+    val flair = mock(Flair::class.java)
+    `when`(flair.cssClass).thenReturn(cssClass)
+    `when`(flair.text).thenReturn(text)
+    return flair
+  }
+}
@@ -0,0 +1,64 @@
+package com.gmail.jorgegilcavazos.ballislife.util
+
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+class CollapseIndexTest {
+
+  // a(1) b(2) c(3) d(2) e(1) f(2)
+  private val depths = intArrayOf(1, 2, 3, 2, 1, 2)
+
+  @Test
+  fun everythingVisibleByDefault() {
+    val index = CollapseIndex(depths)
+
+    assertEquals(6, index.visibleCount())
+    assertEquals(3, index.rowAt(3))
+    assertEquals(3, index.positionOf(3))
+  }
+
+  @Test
+  fun collapseHidesDescendants() {
+    val index = CollapseIndex(depths)
+
+    assertEquals(3, index.collapse(0))
+
+    assertEquals(3, index.visibleCount())
+    assertEquals(4, index.rowAt(1))
+    assertEquals(-1, index.positionOf(2))
+    assertEquals(2, index.positionOf(5))
+  }
+
+  @Test
+  fun expandKeepsNestedCollapsed() {
+    val index = CollapseIndex(depths)
+    assertEquals(1, index.collapse(1))
+    assertEquals(2, index.collapse(0))
+
+    assertEquals(2, index.expand(0))
+
+    assertEquals(listOf(0, 1, 3, 4, 5), (0 until index.visibleCount()).map { index.rowAt(it) })
+  }
+
+  @Test
+  fun leafCannotBeCollapsed() {
+    val index = CollapseIndex(depths)
+
+    assertEquals(0, index.collapse(2))
+    assertEquals(false, index.isCollapsed(2))
+  }
+
+  @Test
+  fun nextTopLevelRow() {
+    val index = CollapseIndex(depths)
+
+    assertEquals(4, index.nextTopLevelRow(0))
+    assertEquals(4, index.nextTopLevelRow(2))
+    assertEquals(-1, index.nextTopLevelRow(5))
+  }
+
+  @Test
+  fun emptyList() {
+    assertEquals(0, CollapseIndex(IntArray(0)).visibleCount())
+  }
+}
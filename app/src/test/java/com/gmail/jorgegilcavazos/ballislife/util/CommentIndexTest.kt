@@ -0,0 +1,92 @@
+package com.gmail.jorgegilcavazos.ballislife.util
+
+import com.gmail.jorgegilcavazos.ballislife.features.common.ThreadAdapter
+import com.gmail.jorgegilcavazos.ballislife.features.model.ThreadItem
+import net.dean.jraw.models.Comment
+import net.dean.jraw.models.CommentNode
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Test
+import org.mockito.Mockito.`when`
+import org.mockito.Mockito.mock
+
+class CommentIndexTest {
+
+  @Test
+  fun positionsCountLoadMoreRows() {
+    val b = createNode("t1_b")
+    val index = CommentIndex(listOf(
+        createItem(createNode("t1_a")),
+        ThreadItem(ThreadAdapter.TYPE_LOAD_MORE, null, 2),
+        createItem(b)))
+
+    assertEquals(0, index.position("t1_a"))
+    assertEquals(2, index.position("t1_b"))
+    assertSame(b, index.node("t1_b"))
+  }
+
+  @Test
+  fun unknownComment() {
+    val index = CommentIndex(listOf(createItem(createNode("t1_a"))))
+
+    assertEquals(-1, index.position("t1_z"))
+    assertNull(index.node("t1_z"))
+  }
+
+  @Test
+  fun insertShiftsFollowingRows() {
+    val index = CommentIndex(listOf(createItem(createNode("t1_a")), createItem(createNode("t1_b"))))
+
+    index.insert(1, createNode("t1_reply"))
+
+    assertEquals(0, index.position("t1_a"))
+    assertEquals(1, index.position("t1_reply"))
+    assertEquals(2, index.position("t1_b"))
+  }
+
+  @Test
+  fun replaceLoadMoreShiftsFollowingRows() {
+    val a = createNode("t1_a")
+    val index = CommentIndex(listOf(
+        createItem(a),
+        ThreadItem(ThreadAdapter.TYPE_LOAD_MORE, null, 2, a),
+        createItem(createNode("t1_b"))))
+
+    assertEquals(1, index.loadMorePosition("t1_a"))
+
+    index.replaceLoadMore("t1_a", listOf(
+        createItem(createNode("t1_c")),
+        createItem(createNode("t1_d")),
+        ThreadItem(ThreadAdapter.TYPE_LOAD_MORE, null, 2, a)))
+
+    assertEquals(1, index.position("t1_c"))
+    assertEquals(2, index.position("t1_d"))
+    assertEquals(3, index.loadMorePosition("t1_a"))
+    assertEquals(4, index.position("t1_b"))
+  }
+
+  @Test
+  fun replaceLoadMoreWithNothing() {
+    val a = createNode("t1_a")
+    val index = CommentIndex(listOf(
+        createItem(a),
+        ThreadItem(ThreadAdapter.TYPE_LOAD_MORE, null, 2, a),
+        createItem(createNode("t1_b"))))
+
+    index.replaceLoadMore("t1_a", emptyList())
+
+    assertEquals(-1, index.loadMorePosition("t1_a"))
+    assertEquals(1, index.position("t1_b"))
+  }
+
+  private fun createItem(node: CommentNode) = ThreadItem(ThreadAdapter.TYPE_COMMENT, node, 1)
+
+  private fun createNode(fullName: String): CommentNode {
+    val comment = mock(Comment::class.java)
+    `when`(comment.fullName).thenReturn(fullName)
+    val node = mock(CommentNode::class.java)
+    `when`(node.comment).thenReturn(comment)
+    return node
+  }
+}
@@ -0,0 +1,94 @@
+package com.gmail.jorgegilcavazos.ballislife.util
+
+import com.gmail.jorgegilcavazos.ballislife.features.common.ThreadAdapter
+import net.dean.jraw.models.Comment
+import net.dean.jraw.models.CommentNode
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertSame
+import org.junit.Test
+import org.mockito.Mockito.`when`
+import org.mockito.Mockito.mock
+
+class CommentsTraverserTest {
+
+  @Test
+  fun flattensInPreOrderWithLoadMoreRows() {
+    val grandChild = createNode("c", 3)
+    val child = createNode("b", 2, listOf(grandChild), hasMore = true)
+    val topLevel = listOf(createNode("a", 1, listOf(child)), createNode("d", 1))
+
+    val items = CommentsTraverser(topLevel).toList()
+
+    assertEquals(listOf("a", "b", "c", null, "d"), items.map { it.commentNode?.comment?.id })
+    assertEquals(listOf(1, 2, 3, 3, 1), items.map { it.depth })
+    assertEquals(ThreadAdapter.TYPE_LOAD_MORE, items[3].type)
+  }
+
+  @Test
+  fun deepChainDoesNotOverflow() {
+    var node = createNode("leaf", 10_001)
+    for (depth in 10_000 downTo 1) {
+      node = createNode(depth.toString(), depth, listOf(node))
+    }
+
+    assertEquals(10_001, CommentsTraverser(listOf(node)).commentNodes().size)
+  }
+
+  @Test
+  fun commentNodesSkipsLoadMoreRows() {
+    val child = createNode("b", 2, hasMore = true)
+    val topLevel = listOf(createNode("a", 1, listOf(child)))
+
+    val nodes = CommentsTraverser(topLevel).commentNodes()
+
+    assertEquals(listOf("a", "b"), nodes.map { it.comment.id })
+  }
+
+  @Test
+  fun loadMoreRowsKnowTheirParent() {
+    val child = createNode("b", 2, hasMore = true)
+    val topLevel = listOf(createNode("a", 1, listOf(child)))
+
+    val items = CommentsTraverser(topLevel).toList()
+
+    assertSame(child, items[2].loadMoreParent)
+  }
+
+  @Test
+  fun loadedRepliesEndWithLoadMoreRowWhileSomeAreMissing() {
+    val reply = createNode("c", 3, hasMore = true)
+    val parent = createNode("b", 2, listOf(reply), hasMore = true)
+
+    val items = CommentsTraverser.loadedReplies(parent, listOf(reply))
+
+    assertEquals(listOf("c", null, null), items.map { it.commentNode?.comment?.id })
+    assertEquals(listOf(3, 4, 3), items.map { it.depth })
+    assertSame(reply, items[1].loadMoreParent)
+    assertSame(parent, items[2].loadMoreParent)
+  }
+
+  @Test
+  fun loadedRepliesWithNoneMissing() {
+    val reply = createNode("c", 3)
+    val parent = createNode("b", 2, listOf(reply))
+
+    val items = CommentsTraverser.loadedReplies(parent, listOf(reply))
+
+    assertEquals(listOf("c"), items.map { it.commentNode?.comment?.id })
+  }
+
+  private fun createNode(
+      id: String,
+      depth: Int,
+      children: List<CommentNode> = emptyList(),
+      hasMore: Boolean = false): CommentNode {
+    val comment = mock(Comment::class.java)
+    `when`(comment.id).thenReturn(id)
+    val node = mock(CommentNode::class.java)
+    `when`(node.comment).thenReturn(comment)
+    `when`(node.depth).thenReturn(depth)
+    `when`(node.children).thenReturn(children)
+    `when`(node.hasMoreComments()).thenReturn(hasMore)
+    return node
+  }
+}
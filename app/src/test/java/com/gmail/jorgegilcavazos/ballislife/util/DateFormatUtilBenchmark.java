@@ -0,0 +1,143 @@
+package com.gmail.jorgegilcavazos.ballislife.util;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares formatting the relative times of a 10k comment thread and localizing the start times
+ * of a day of games the way {@link DateFormatUtil} used to against how it does now. Run manually,
+ * results are printed to stdout. Allocations are measured with HotSpot's per-thread allocation
+ * counter.
+ */
+@Ignore("Benchmark, run manually")
+public class DateFormatUtilBenchmark {
+    private static final int COMMENTS = 10_000;
+    private static final int WARMUP_ITERATIONS = 50;
+    private static final int ITERATIONS = 200;
+    private static final String[] GAME_TIMES = {"7:00 pm ET", "7:30 pm ET", "8:00 pm ET",
+            "9:00 pm ET", "10:00 pm ET", "10:30 pm ET", "7:00 pm ET", "7:30 pm ET", "8:00 pm ET",
+            "10:30 pm ET", "7:00 pm ET", "8:00 pm ET", "9:30 pm ET", "7:30 pm ET", "10:00 pm ET"};
+
+    @Test
+    public void commentTimestamps() {
+        long now = System.currentTimeMillis();
+        Random random = new Random(42);
+        Date[] created = new Date[COMMENTS];
+        long[] createdMillis = new long[COMMENTS];
+        for (int i = 0; i < COMMENTS; i++) {
+            // Spread over the three days a thread is usually commented on.
+            createdMillis[i] = now - (long) (random.nextDouble() * TimeUnit.DAYS.toMillis(3));
+            created[i] = new Date(createdMillis[i]);
+        }
+
+        measure("10k comments, Date and TimeUnit", () -> {
+            int length = 0;
+            for (Date date : created) {
+                length += formatRedditDateWithDate(date).length();
+            }
+            return length;
+        });
+        measure("10k comments, clock tick", () -> {
+            long clockTick = System.currentTimeMillis();
+            int length = 0;
+            for (long millis : createdMillis) {
+                length += DateFormatUtil.formatRedditDate(millis, clockTick).length();
+            }
+            return length;
+        });
+    }
+
+    @Test
+    public void gameTimes() {
+        measure("day of games, new formatter", () -> {
+            int length = 0;
+            for (String time : GAME_TIMES) {
+                length += localizeGameTimeWithNewFormatter(time, TimeZone.getDefault()).length();
+            }
+            return length;
+        });
+        measure("day of games, localized once", () -> {
+            int length = 0;
+            for (String time : GAME_TIMES) {
+                length += DateFormatUtil.localizeGameTime(time).length();
+            }
+            return length;
+        });
+    }
+
+    /**
+     * The previous implementation of {@link DateFormatUtil#formatRedditDate(Date)}.
+     */
+    private static String formatRedditDateWithDate(Date date) {
+        String postedOn;
+        Date now = new Date();
+        long minutesAgo = (TimeUnit.MILLISECONDS.toMinutes(now.getTime() - date.getTime()));
+        long hoursAgo = (TimeUnit.MILLISECONDS.toHours(now.getTime() - date.getTime()));
+        long daysAgo = (TimeUnit.MILLISECONDS.toDays(now.getTime() - date.getTime()));
+
+        if (minutesAgo == 0) {
+            postedOn = " just now ";
+        } else if (minutesAgo < 60) {
+            postedOn = minutesAgo + "m";
+        } else {
+            if (hoursAgo < 49) {
+                postedOn = hoursAgo + "hr";
+            } else {
+                postedOn = daysAgo + " days";
+            }
+        }
+
+        return postedOn;
+    }
+
+    /**
+     * The previous implementation of {@link DateFormatUtil#localizeGameTime(String, TimeZone)}.
+     */
+    private static String localizeGameTimeWithNewFormatter(String dateETString,
+                                                           TimeZone timeZone) {
+        SimpleDateFormat sdf = new SimpleDateFormat("h:mm a", Locale.US);
+        sdf.setTimeZone(TimeZone.getTimeZone("America/New_York"));
+
+        try {
+            Date date = sdf.parse(dateETString);
+            sdf.setTimeZone(timeZone);
+            return sdf.format(date);
+        } catch (ParseException e) {
+            return dateETString;
+        }
+    }
+
+    private void measure(String name, Operation operation) {
+        int sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += operation.run();
+        }
+
+        long threadId = Thread.currentThread().getId();
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long startBytes = threads.getThreadAllocatedBytes(threadId);
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += operation.run();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long allocatedBytes = threads.getThreadAllocatedBytes(threadId) - startBytes;
+
+        System.out.println(String.format("%-32s %10.1f us/op %10d B/op (%d)", name,
+                elapsedNanos / 1000.0 / ITERATIONS, allocatedBytes / ITERATIONS, sink));
+    }
+
+    private interface Operation {
+        int run();
+    }
+}
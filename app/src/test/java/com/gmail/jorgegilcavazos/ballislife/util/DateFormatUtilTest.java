@@ -39,6 +39,17 @@ public class DateFormatUtilTest {
         assertEquals("2 days", twoDaysAgoString);
     }
 
+    @Test
+    public void testFormatRedditDate_fromClockTick() {
+        long created = 1_500_000_000_000L;
+        long minute = 60 * 1000;
+
+        assertEquals(" just now ", DateFormatUtil.formatRedditDate(created, created + 59_999));
+        assertEquals("59m", DateFormatUtil.formatRedditDate(created, created + 59 * minute));
+        assertEquals("48hr", DateFormatUtil.formatRedditDate(created, created + 2939 * minute));
+        assertEquals("2 days", DateFormatUtil.formatRedditDate(created, created + 2940 * minute));
+    }
+
     @Test
     public void testFormatRedditDateLong() {
         Calendar now = Calendar.getInstance();
@@ -0,0 +1,124 @@
+package com.gmail.jorgegilcavazos.ballislife.util;
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameThreadSummary;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares resolving the threads of a 15 game day by scanning every title for each game, as
+ * {@link RedditUtils#findGameThreadId} used to, against building a {@link GameThreadIndex} once
+ * and looking each game up. Run manually, results are printed to stdout.
+ */
+@Ignore("Benchmark, run manually")
+public class GameThreadIndexBenchmark {
+    private static final int GAMES = 15;
+    private static final int OTHER_THREADS = 300;
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int ITERATIONS = 10_000;
+
+    private final TeamName[] teams = TeamName.values();
+    private final List<GameThreadSummary> threads = new ArrayList<>();
+
+    @Test
+    public void findDayGames() {
+        Random random = new Random(42);
+        for (int i = 0; i < GAMES; i++) {
+            String away = teams[2 * i].getTeamName();
+            String home = teams[2 * i + 1].getTeamName();
+            threads.add(new GameThreadSummary("live" + i, "GAME THREAD: " + away + " @ " + home
+                    + " - (November 10, 2017)", 0, random.nextInt(5000)));
+            threads.add(new GameThreadSummary("post" + i, "[Post Game Thread] The " + home
+                    + " defeat the " + away + ", 110-102", 0, random.nextInt(5000)));
+        }
+        for (int i = 0; i < OTHER_THREADS; i++) {
+            threads.add(new GameThreadSummary("other" + i, "[Highlight] "
+                    + teams[random.nextInt(teams.length)].getTeamName() + " with the dunk number "
+                    + i, 0, random.nextInt(500)));
+        }
+
+        measure("linear scan", this::findAllLinear);
+        measure("index", this::findAllIndexed);
+    }
+
+    private int findAllLinear() {
+        int found = 0;
+        for (int i = 0; i < GAMES; i++) {
+            found += findLinear(teams[2 * i + 1].toString(), teams[2 * i].toString()).length();
+        }
+        return found;
+    }
+
+    private int findAllIndexed() {
+        GameThreadIndex index = new GameThreadIndex(threads);
+        int found = 0;
+        for (int i = 0; i < GAMES; i++) {
+            found += index.find(RedditUtils.LIVE_GT_TYPE, teams[2 * i + 1].toString(),
+                    teams[2 * i].toString()).length();
+        }
+        return found;
+    }
+
+    /**
+     * The previous implementation of {@link RedditUtils#findGameThreadId} for live threads.
+     */
+    private String findLinear(String homeTeamAbbr, String awayTeamAbbr) {
+        String homeTeamFullName = null;
+        String awayTeamFullName = null;
+        for (TeamName teamName : TeamName.values()) {
+            if (teamName.toString().equals(homeTeamAbbr)) {
+                homeTeamFullName = teamName.getTeamName();
+            }
+            if (teamName.toString().equals(awayTeamAbbr)) {
+                awayTeamFullName = teamName.getTeamName();
+            }
+        }
+
+        int maxComments = -1;
+        String bestThreadId = "";
+        for (GameThreadSummary thread : threads) {
+            String capsTitle = thread.getTitle().toUpperCase();
+            if (capsTitle.contains("GAME THREAD") && !capsTitle.contains("POST")
+                    && titleContainsTeam(capsTitle, homeTeamFullName)
+                    && titleContainsTeam(capsTitle, awayTeamFullName)
+                    && thread.getNum_comments() > maxComments) {
+                maxComments = thread.getNum_comments();
+                bestThreadId = thread.getId();
+            }
+        }
+        return bestThreadId;
+    }
+
+    /**
+     * Checks that the title contains at least the team name, e.g "Spurs".
+     */
+    private static boolean titleContainsTeam(String title, String fullTeamName) {
+        String capsTitle = title.toUpperCase();
+        String capsTeam = fullTeamName.toUpperCase(); // Ex. "SAN ANTONIO SPURS".
+        String capsName = capsTeam.substring(capsTeam.lastIndexOf(" ") + 1); // Ex. "SPURS".
+        return capsTitle.contains(capsName);
+    }
+
+    private void measure(String name, Operation operation) {
+        int sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += operation.run();
+        }
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += operation.run();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        System.out.println(String.format("%-12s %8.1f us/day (%d)", name,
+                elapsedNanos / 1000.0 / ITERATIONS, sink));
+    }
+
+    private interface Operation {
+        int run();
+    }
+}
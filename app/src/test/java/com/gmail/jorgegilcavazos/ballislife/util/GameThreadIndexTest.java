@@ -0,0 +1,51 @@
+package com.gmail.jorgegilcavazos.ballislife.util;
+
+import com.gmail.jorgegilcavazos.ballislife.features.model.GameThreadSummary;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+public class GameThreadIndexTest {
+
+    @Test
+    public void findIgnoresHomeAndAwayOrder() {
+        GameThreadIndex index = new GameThreadIndex(Collections.singletonList(
+                new GameThreadSummary("id0", "Game Thread: Spurs @ Cavaliers", 0, 0)));
+
+        assertEquals("id0", index.find(RedditUtils.LIVE_GT_TYPE, "CLE", "SAS"));
+        assertEquals("id0", index.find(RedditUtils.LIVE_GT_TYPE, "SAS", "CLE"));
+        assertEquals("", index.find(RedditUtils.POST_GT_TYPE, "CLE", "SAS"));
+    }
+
+    @Test
+    public void nicknameMustBeAWholeWord() {
+        GameThreadIndex index = new GameThreadIndex(Collections.singletonList(
+                new GameThreadSummary("id0", "Game Thread: Charlotte Hornets @ Spurs", 0, 0)));
+
+        assertEquals("id0", index.find(RedditUtils.LIVE_GT_TYPE, "SAS", "CHA"));
+        assertEquals("", index.find(RedditUtils.LIVE_GT_TYPE, "SAS", "BKN"));
+    }
+
+    @Test
+    public void firstThreadWinsOnCommentTies() {
+        GameThreadIndex index = new GameThreadIndex(Arrays.asList(
+                new GameThreadSummary("id0", "Post Game Thread: Bulls @ Warriors", 0, 5),
+                new GameThreadSummary("id1", "[POST GAME THREAD] Bulls beat Warriors", 0, 5),
+                new GameThreadSummary("id2", "Post-Game Thread: Bulls @ Warriors", 0, 2)));
+
+        assertEquals("id0", index.find(RedditUtils.POST_GT_TYPE, "GSW", "CHI"));
+    }
+
+    @Test
+    public void unknownTeamOrTypeFindsNothing() {
+        GameThreadIndex index = new GameThreadIndex(Collections.singletonList(
+                new GameThreadSummary("id0", "Game Thread: Spurs @ Cavaliers", 0, 0)));
+
+        assertEquals("", index.find(RedditUtils.LIVE_GT_TYPE, "CLE", "XYZ"));
+        assertEquals("", index.find("OTHER", "CLE", "SAS"));
+    }
+}
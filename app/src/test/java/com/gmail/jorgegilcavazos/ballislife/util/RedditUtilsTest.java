@@ -109,27 +109,6 @@ public class RedditUtilsTest {
         assertEquals("id4", actual);
     }
 
-    @Test
-    public void testTitleContainsTeam_FullName() {
-        boolean isInTitle = RedditUtils.titleContainsTeam(
-                "Game Thread: Los Angeles Lakers @ San Antonio Spurs", "San Antonio Spurs");
-        assertTrue(isInTitle);
-    }
-
-    @Test
-    public void testTitleContainsTeam_ShortName() {
-        boolean isInTitle = RedditUtils.titleContainsTeam(
-                "Game Thread: Los Angeles Lakers @ Spurs", "San Antonio Spurs");
-        assertTrue(isInTitle);
-    }
-
-    @Test
-    public void testTitleContainsTeam_IncompleteName() {
-        boolean isInTitle = RedditUtils.titleContainsTeam(
-                "Game Thread: Angeles Lakers @ San Antonio Spurs", "Los Angeles Lakers");
-        assertTrue(isInTitle);
-    }
-
     private GameThreadSummary makeFakeGameThreadSummary(String id, String title, long createdUtc) {
         GameThreadSummary gameThreadSummary = new GameThreadSummary();
         gameThreadSummary.setId(id);
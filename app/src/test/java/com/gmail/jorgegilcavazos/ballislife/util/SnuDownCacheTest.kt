@@ -0,0 +1,78 @@
+package com.gmail.jorgegilcavazos.ballislife.util
+
+import net.dean.jraw.models.Comment
+import net.dean.jraw.models.CommentNode
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import org.mockito.Mockito.`when`
+import org.mockito.Mockito.mock
+
+class SnuDownCacheTest {
+
+  private val rendered = ArrayList<String>()
+  private val cache = SnuDownCache(4) {
+    rendered.add(it)
+    "rendered $it"
+  }
+
+  @Test
+  fun bodyRenderedOnce() {
+    val comment = createComment("t1_a", "<p>hi</p>")
+
+    assertEquals("rendered <p>hi</p>", cache.comment(comment))
+    assertEquals("rendered <p>hi</p>", cache.comment(comment))
+    assertEquals(1, rendered.size)
+  }
+
+  @Test
+  fun editedBodyRenderedAgain() {
+    cache.comment(createComment("t1_a", "<p>hi</p>"))
+
+    val body = cache.comment(createComment("t1_a", "<p>bye</p>", edited = "1510000000.0"))
+
+    assertEquals("rendered <p>bye</p>", body)
+    assertEquals(2, rendered.size)
+  }
+
+  @Test
+  fun leastRecentlyUsedEvicted() {
+    val first = createComment("t1_0", "<p>0</p>")
+    cache.comment(first)
+    for (i in 1..4) {
+      cache.comment(createComment("t1_$i", "<p>$i</p>"))
+    }
+
+    cache.comment(first)
+
+    assertEquals(6, rendered.size)
+  }
+
+  @Test
+  fun prerenderStopsAtHalfTheCache() {
+    val nodes = (1..10).map {
+      val node = mock(CommentNode::class.java)
+      val comment = createComment("t1_$it", "<p>$it</p>")
+      `when`(node.comment).thenReturn(comment)
+      node
+    }
+
+    cache.prerender(nodes)
+
+    assertEquals(listOf("<p>1</p>", "<p>2</p>"), rendered)
+  }
+
+  @Test
+  fun emptyBodyNotRendered() {
+    assertEquals("", cache.comment(createComment("t1_a", null)))
+    assertEquals(0, rendered.size)
+  }
+
+  private fun createComment(fullName: String, bodyHtml: String?, edited: String = "false")
+      : Comment {
+    val comment = mock(Comment::class.java)
+    `when`(comment.fullName).thenReturn(fullName)
+    `when`(comment.data("body_html")).thenReturn(bodyHtml)
+    `when`(comment.data("edited")).thenReturn(edited)
+    return comment
+  }
+}
@@ -0,0 +1,50 @@
+package com.gmail.jorgegilcavazos.ballislife.util;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Compares the chained replacements {@link RedditUtils#bindSnuDown} used to do against
+ * {@link SnuDownTransformer} on the comment bodies in test resources. Run manually, results are
+ * printed to stdout. Allocations are measured with HotSpot's per-thread allocation counter.
+ */
+@Ignore("Benchmark, run manually")
+public class SnuDownTransformerBenchmark {
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    @Test
+    public void commentBodies() throws Exception {
+        String[] corpus = SnuDownTransformerTest.loadCorpus();
+
+        measure("replace chain", corpus, SnuDownTransformerTest::replaceChain);
+        measure("single pass", corpus, SnuDownTransformer::transform);
+    }
+
+    private void measure(String name, String[] corpus, Transform transform) {
+        int sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += transform.run(corpus[i % corpus.length]).length();
+        }
+
+        long threadId = Thread.currentThread().getId();
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long startBytes = threads.getThreadAllocatedBytes(threadId);
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += transform.run(corpus[i % corpus.length]).length();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long allocatedBytes = threads.getThreadAllocatedBytes(threadId) - startBytes;
+
+        System.out.println(String.format("%-14s %10.0f comments/s %8d B/comment (%d)", name,
+                ITERATIONS / (elapsedNanos / 1e9), allocatedBytes / ITERATIONS, sink));
+    }
+
+    private interface Transform {
+        String run(String rawHtml);
+    }
+}
@@ -0,0 +1,83 @@
+package com.gmail.jorgegilcavazos.ballislife.util;
+
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+
+import static org.junit.Assert.assertEquals;
+
+public class SnuDownTransformerTest {
+
+    @Test
+    public void corpusMatchesReplaceChain() throws Exception {
+        for (String rawHtml : loadCorpus()) {
+            assertEquals(rawHtml, replaceChain(rawHtml), SnuDownTransformer.transform(rawHtml));
+        }
+    }
+
+    @Test
+    public void entitiesDecodedOnce() {
+        assertEquals("&lt; <", SnuDownTransformer.transform("&amp;lt; &lt;\n"));
+    }
+
+    @Test
+    public void listItemWithParagraph() {
+        String rawHtml = "&lt;li&gt;&lt;p&gt;one&lt;/p&gt;&lt;/li&gt;\n&lt;li class=&quot;x&quot;&gt;"
+                + "two&lt;/li&gt;\n&lt;/div&gt;";
+
+        assertEquals("<div>• one</div><br>\n•two<br>", SnuDownTransformer.transform(rawHtml));
+    }
+
+    @Test
+    public void listItemTagContainingListItemWithParagraph() {
+        String rawHtml = "&lt;li&lt;li&gt;&lt;p&gt;x\n";
+
+        assertEquals(replaceChain(rawHtml), SnuDownTransformer.transform(rawHtml));
+    }
+
+    @Test
+    public void listItemTagDoesNotSpanLines() {
+        String rawHtml = "&lt;li\n&gt;x\n";
+
+        assertEquals(replaceChain(rawHtml), SnuDownTransformer.transform(rawHtml));
+    }
+
+    @Test
+    public void trailingLineBreaksDropped() {
+        assertEquals("a", SnuDownTransformer.transform("a\n\n\n&lt;/div&gt;"));
+    }
+
+    @Test(expected = StringIndexOutOfBoundsException.class)
+    public void noLineBreak() {
+        SnuDownTransformer.transform("&lt;p&gt;a&lt;/p&gt;");
+    }
+
+    /**
+     * The string manipulation {@link RedditUtils#bindSnuDown} did before handing the HTML to
+     * {@link android.text.Html#fromHtml(String)}.
+     */
+    static String replaceChain(String rawHtml) {
+        rawHtml = rawHtml.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                .replace("&apos;", "'").replace("&amp;", "&").replace("<li><p>", "<p>• ")
+                .replace("</li>", "<br>").replaceAll("<li.*?>", "•").replace("<p>", "<div>")
+                .replace("</p>","</div>");
+        rawHtml = rawHtml.substring(0, rawHtml.lastIndexOf("\n") );
+        while (rawHtml.charAt(rawHtml.length() - 1) == '\n') {
+            rawHtml = rawHtml.substring(0, rawHtml.length() - 1);
+        }
+        return rawHtml;
+    }
+
+    /**
+     * Loads the escaped "body_html" of the comments in test resources.
+     */
+    static String[] loadCorpus() throws Exception {
+        try (Reader reader = new InputStreamReader(SnuDownTransformerTest.class.getClassLoader()
+                .getResourceAsStream("html/comment_bodies.json"), "UTF-8")) {
+            return new Gson().fromJson(reader, String[].class);
+        }
+    }
+}